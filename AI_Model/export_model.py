@@ -0,0 +1,101 @@
+"""
+Exports the strategic model to a portable JSON file for the backend's native
+(in-JVM) scorer.
+
+The export holds the StandardScaler parameters, every regression tree of the
+GradientBoostingClassifier as flat node arrays, and a set of recorded Python
+predictions. The Java scorer replays those samples at startup and refuses to
+load if any prediction differs, so the file doubles as the parity test data.
+
+Run after master_train.py:
+    python export_model.py
+
+With --fixture it writes the backend's parity test fixture instead: the
+first FIXTURE_STAGES stages only, with scikit-learn's predict_proba
+recorded for a copy of the model truncated to those stages, small enough
+to commit. Both files name the scikit-learn version that produced them.
+"""
+import copy
+import json
+import os
+import sys
+
+import joblib
+import pandas as pd
+import sklearn
+
+DIR_PATH = os.path.dirname(os.path.realpath(__file__))
+OUTPUT_PATH = os.path.join(DIR_PATH, "strategy_model.json")
+FIXTURE_PATH = os.path.join(DIR_PATH, "..", "backend", "src", "test", "resources", "ai", "strategy_model_fixture.json")
+FORMAT = "proxym-gbdt-v1"
+PARITY_SAMPLES = 500
+FIXTURE_STAGES = 10
+FIXTURE_SAMPLES = 40
+
+FEATURES = ['CreditScore', 'Age', 'Tenure', 'Balance', 'NumOfProducts',
+            'HasCrCard', 'IsActiveMember', 'EstimatedSalary', 'Satisfaction Score']
+
+def export_tree(regressor):
+    tree = regressor.tree_
+    return {
+        "left": tree.children_left.tolist(),
+        "right": tree.children_right.tolist(),
+        "feature": tree.feature.tolist(),
+        "threshold": tree.threshold.tolist(),
+        "value": tree.value[:, 0, 0].tolist(),
+    }
+
+def truncated(model, n_stages):
+    # The first n_stages only, so predict_proba scores exactly the exported trees
+    if n_stages == len(model.estimators_):
+        return model
+    model = copy.deepcopy(model)
+    model.estimators_ = model.estimators_[:n_stages]
+    model.n_estimators = n_stages
+    model.n_estimators_ = n_stages
+    return model
+
+def record_samples(model, scaler, n_samples):
+    # Real rows from the training source plus the edge of every feature range.
+    churn_df = pd.read_csv(os.path.join(DIR_PATH, 'Customer-Churn-Records.csv'))
+    rows = churn_df[FEATURES].sample(n=n_samples, random_state=7)
+    rows = pd.concat([rows, churn_df[FEATURES].min().to_frame().T, churn_df[FEATURES].max().to_frame().T])
+
+    scaled = scaler.transform(rows)
+    probabilities = model.predict_proba(scaled)
+    predictions = model.predict(scaled)
+    return [
+        {"features": [float(v) for v in row], "prediction": str(p), "probabilities": prob.tolist()}
+        for row, p, prob in zip(rows.values, predictions, probabilities)
+    ]
+
+def main(fixture):
+    model = joblib.load(os.path.join(DIR_PATH, "financial_recommender.pkl"))
+    scaler = joblib.load(os.path.join(DIR_PATH, "data_scaler.pkl"))
+
+    # Raw score before the first stage; identical for every input with the default 'prior' init.
+    reference = scaler.transform(pd.DataFrame([[0.0] * len(FEATURES)], columns=FEATURES))
+    init_raw = model._raw_predict_init(reference)[0].tolist()
+    n_stages = FIXTURE_STAGES if fixture else len(model.estimators_)
+    exported = truncated(model, n_stages)
+    output_path = FIXTURE_PATH if fixture else OUTPUT_PATH
+
+    export = {
+        "format": FORMAT,
+        "generator": f"scikit-learn {sklearn.__version__} predict_proba",
+        "features": FEATURES,
+        "scaler": {"mean": scaler.mean_.tolist(), "scale": scaler.scale_.tolist()},
+        "classes": [str(c) for c in model.classes_],
+        "learningRate": float(model.learning_rate),
+        "initRaw": init_raw,
+        # stages[stage][k]: one regression tree per output column (1 for binary, K for multiclass)
+        "stages": [[export_tree(tree) for tree in stage] for stage in exported.estimators_],
+        "samples": record_samples(exported, scaler, FIXTURE_SAMPLES if fixture else PARITY_SAMPLES),
+    }
+
+    with open(output_path, "w") as f:
+        json.dump(export, f)
+    print(f"✅ Exported {len(export['stages'])} stages and {len(export['samples'])} parity samples to {output_path}")
+
+if __name__ == "__main__":
+    main("--fixture" in sys.argv[1:])
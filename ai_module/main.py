@@ -49,10 +49,24 @@ class UserFinancials(BaseModel):
     salary: float
     satisfaction: int
 
+class BatchScoringRequest(BaseModel):
+    rows: List[UserFinancials]
+
 class ChatMessage(BaseModel):
     message: str
     user_context: Optional[dict] = None
 
+# Column order the scaler and model were fitted on (AI_Model/master_train.py)
+FEATURE_COLUMNS = ['CreditScore', 'Age', 'Tenure', 'Balance', 'NumOfProducts',
+                   'HasCrCard', 'IsActiveMember', 'EstimatedSalary', 'Satisfaction Score']
+
+def to_feature_row(user: UserFinancials):
+    return [
+        user.credit_score, user.age, user.tenure, user.balance,
+        user.num_products, user.has_crcard, user.is_active,
+        user.salary, user.satisfaction
+    ]
+
 # --- ENDPOINTS ---
 
 @app.get("/")
@@ -62,13 +76,8 @@ def health_check():
 @app.post("/recommend")
 def recommend_from_profile(user: UserFinancials):
     try:
-        features = pd.DataFrame([[
-            user.credit_score, user.age, user.tenure, user.balance,
-            user.num_products, user.has_crcard, user.is_active,
-            user.salary, user.satisfaction
-        ]], columns=['CreditScore', 'Age', 'Tenure', 'Balance', 'NumOfProducts', 
-                    'HasCrCard', 'IsActiveMember', 'EstimatedSalary', 'Satisfaction Score'])
-        
+        features = pd.DataFrame([to_feature_row(user)], columns=FEATURE_COLUMNS)
+
         features_scaled = data_scaler.transform(features)
         prediction = strategic_model.predict(features_scaled)[0]
         
@@ -79,6 +88,25 @@ def recommend_from_profile(user: UserFinancials):
     except Exception as e:
         raise HTTPException(status_code=500, detail=f"Recommendation Engine Error: {str(e)}")
 
+@app.post("/recommend/batch")
+def recommend_batch(request: BatchScoringRequest):
+    """Scores many profiles in one vectorized pass; output order matches input order."""
+    try:
+        if not request.rows:
+            return {"predictions": []}
+        features = pd.DataFrame([to_feature_row(u) for u in request.rows], columns=FEATURE_COLUMNS)
+        features_scaled = data_scaler.transform(features)
+        predictions = strategic_model.predict(features_scaled)
+        confidences = strategic_model.predict_proba(features_scaled).max(axis=1)
+
+        return {
+            "predictions": [
+                {"prediction": p, "confidence": float(c)} for p, c in zip(predictions, confidences)
+            ]
+        }
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=f"Recommendation Engine Error: {str(e)}")
+
 @app.post("/chat")
 def intelligent_chat(request: ChatMessage):
     try:
@@ -93,8 +121,18 @@ def intelligent_chat(request: ChatMessage):
         risk = context.get('risk_profile', 'Medium')
         
         # --- PROACTIVE INTELLIGENCE: Transaction Analysis ---
+        # Prefer the backend's pre-aggregated summary; fall back to the shipped rows
         txs = context.get('transactions', [])
-        total_spent = sum(t.get('amount', 0) for t in txs if t.get('amount', 0) > 0)
+        summary = context.get('spending_summary') or {}
+        categories = summary.get('byCategory') or []
+        if categories:
+            tx_count = summary.get('count', 0)
+            total_spent = sum(c.get('total', 0) for c in categories if c.get('total', 0) > 0)
+            top_category = categories[0].get('key', 'Entertainment')
+        else:
+            tx_count = len(txs)
+            total_spent = sum(t.get('amount', 0) for t in txs if t.get('amount', 0) > 0)
+            top_category = 'Entertainment'
         
         # --- HYBRID ROUTING ---
         
@@ -109,9 +147,9 @@ def intelligent_chat(request: ChatMessage):
             return {"response": f"Your current status is {status.upper()} (${balance:,.2f}). {advice}"}
 
         if any(w in msg_low for w in ["spend", "analyze", "history", "transactions", "buying"]):
-            if not txs:
+            if not tx_count:
                 return {"response": "I see no recent transactions to analyze. Start by adding one in your dashboard!"}
-            return {"response": f"Analysis Complete: You've had {len(txs)} interactions recently, totaling ${total_spent:,.2f}. Your balance is currently ${balance:,.2f}. Recommended: Reduce Entertainment spending to improve your health score."}
+            return {"response": f"Analysis Complete: You've had {tx_count} interactions recently, totaling ${total_spent:,.2f}. Your balance is currently ${balance:,.2f}. Recommended: Reduce {top_category} spending to improve your health score."}
 
         # 3. Strategy & Expert Advice (RAG + Strategic Model Intelligence)
         if any(w in msg_low for w in ["advice", "invest", "suggest", "help", "loan", "how can i"]):
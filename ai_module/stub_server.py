@@ -0,0 +1,74 @@
+"""
+Lightweight stand-in for the AI module, for local development and backend tests.
+
+Serves the same /recommend, /recommend/batch and /chat contracts as main.py but
+needs no model files or ML libraries: predictions follow the labelling rules
+used to train the strategic model (AI_Model/master_train.py).
+
+    python stub_server.py            # port 8005
+    STUB_LATENCY_MS=50 python stub_server.py
+"""
+import asyncio
+import os
+from typing import List, Optional
+
+from fastapi import FastAPI
+from pydantic import BaseModel
+
+LATENCY_SECONDS = float(os.environ.get("STUB_LATENCY_MS", "0")) / 1000.0
+
+app = FastAPI(title="Proxym AI Module Stub")
+
+class UserFinancials(BaseModel):
+    credit_score: int
+    age: int
+    tenure: int
+    balance: float
+    num_products: int
+    has_crcard: int
+    is_active: int
+    salary: float
+    satisfaction: int
+
+class BatchScoringRequest(BaseModel):
+    rows: List[UserFinancials]
+
+class ChatMessage(BaseModel):
+    message: str
+    user_context: Optional[dict] = None
+
+def determine_target(user: UserFinancials):
+    if user.balance > 50000 and user.salary > 80000 and user.is_active == 1:
+        return "INVESTMENT"
+    if user.balance < 5000 and user.num_products >= 2:
+        return "LOAN"
+    if 20000 < user.balance < 50000:
+        return "SAVINGS"
+    return "INSURANCE"
+
+async def simulate_latency():
+    if LATENCY_SECONDS > 0:
+        await asyncio.sleep(LATENCY_SECONDS)
+
+@app.get("/")
+def health_check():
+    return {"status": "AI Banking Engine Stub Online", "version": "stub"}
+
+@app.post("/recommend")
+async def recommend_from_profile(user: UserFinancials):
+    await simulate_latency()
+    return {"prediction": determine_target(user), "confidence": 1.0}
+
+@app.post("/recommend/batch")
+async def recommend_batch(request: BatchScoringRequest):
+    await simulate_latency()
+    return {"predictions": [{"prediction": determine_target(u), "confidence": 1.0} for u in request.rows]}
+
+@app.post("/chat")
+async def intelligent_chat(request: ChatMessage):
+    await simulate_latency()
+    return {"response": f"[stub] {request.message}"}
+
+if __name__ == "__main__":
+    import uvicorn
+    uvicorn.run(app, host="0.0.0.0", port=8005)
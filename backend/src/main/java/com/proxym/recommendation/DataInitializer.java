@@ -1,69 +1,57 @@
 package com.proxym.recommendation;
 
-import com.proxym.recommendation.dto.UserDTO;
-import com.proxym.recommendation.model.User;
-import com.proxym.recommendation.service.UserService;
+import com.proxym.recommendation.model.Transaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * Maintenance component. No longer creates hardcoded data.
- * Purely handles system health and security migrations for the existing
- * PostgreSQL data.
+ * Purely handles system health for the existing PostgreSQL data; the
+ * legacy-password migration runs in the background once the application is
+ * ready (see LegacyPasswordMigration).
  */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
-    private final UserService userService;
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
 
-    public DataInitializer(UserService userService) {
-        this.userService = userService;
+    public DataInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        System.out.println("🚀 [System Check] Backend online. Connecting to PostgreSQL...");
+        log.info("Backend online, checking the database");
+        alignTransactionSequence();
 
-        if (userService.getAllUsers().isEmpty()) {
-            System.out.println("ℹ️ [System Check] Database is currently empty. Please add users via the API or SQL.");
+        if (jdbcTemplate.queryForList("SELECT id FROM users LIMIT 1", Long.class).isEmpty()) {
+            log.info("Database is currently empty. Please add users via the API or SQL.");
         } else {
-            System.out.println("🔒 [System Check] Database records found. Running security audit...");
-            migrateLegacyPasswords();
+            log.info("Database records found. Security audit will run in the background.");
         }
 
-        System.out.println("✅ [System Check] System is ready and synchronized with PostgreSQL.");
+        log.info("System is ready");
     }
 
     /**
-     * Audits existing database users and ensures their passwords are encrypted.
-     * This is required to keep the database accessible as security standards
-     * evolve.
+     * Transaction ids used to come from an IDENTITY column. Moves the pooled
+     * sequence past any existing id so new blocks never collide; it is never
+     * moved backwards.
      */
-    private void migrateLegacyPasswords() {
-        List<UserDTO> users = userService.getAllUsers();
-        int count = 0;
-
-        for (UserDTO userDto : users) {
-            User entity = userService.getUserEntityById(userDto.getId());
-            String password = entity.getPassword();
-
-            if (isLegacyPassword(password)) {
-                System.out.println("🛡️ [Security Update] Encrypting password for: " + entity.getEmail());
-                // Passing the entity back through the service triggers the PasswordEncoder
-                userService.updateUser(entity.getId(), entity);
-                count++;
-            }
+    private void alignTransactionSequence() {
+        String sequence = Transaction.ID_SEQUENCE;
+        try {
+            jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST("
+                    + "(SELECT COALESCE(MAX(id), 0) FROM transactions), "
+                    + "(SELECT last_value FROM " + sequence + ")))", Long.class);
+        } catch (DataAccessException e) {
+            log.info("Skipped {} alignment: {}", sequence, e.getMostSpecificCause().getMessage());
         }
-
-        if (count > 0) {
-            System.out.println("✨ [Security Update] Finished. " + count + " records are now secure.");
-        }
-    }
-
-    private boolean isLegacyPassword(String password) {
-        // BCrypt hashes always start with $2a$ or $2b$
-        return password != null && !password.startsWith("$2");
     }
 }
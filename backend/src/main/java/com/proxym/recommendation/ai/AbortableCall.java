@@ -0,0 +1,56 @@
+package com.proxym.recommendation.ai;
+
+import org.apache.hc.core5.concurrent.Cancellable;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets the thread that gave up waiting abort an AI module call still running
+ * on a worker. The HTTP request the call sends is attached to it, and
+ * {@link #abort()} cancels that request, which closes its connection, frees
+ * the pool and bulkhead slots, and makes the call fail at once instead of
+ * holding them until the read timeout. A call aborted before it starts
+ * never reaches the module.
+ */
+public final class AbortableCall {
+
+    private static final ThreadLocal<AbortableCall> CURRENT = new ThreadLocal<>();
+
+    private Cancellable request;
+    private boolean aborted;
+
+    /**
+     * Runs {@code call} on the current thread with this handle attached; yields null once aborted.
+     */
+    public <T> T run(Supplier<T> call) {
+        if (isAborted()) return null;
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public synchronized void abort() {
+        aborted = true;
+        if (request != null) request.cancel();
+    }
+
+    public synchronized boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Called by the HTTP client for every request it sends; a no-op outside {@link #run}.
+     */
+    public static void attach(Cancellable request) {
+        AbortableCall call = CURRENT.get();
+        if (call != null) call.bind(request);
+    }
+
+    private synchronized void bind(Cancellable request) {
+        this.request = request;
+        if (aborted) request.cancel();
+    }
+}
@@ -0,0 +1,231 @@
+package com.proxym.recommendation.ai;
+
+import com.proxym.recommendation.dto.AiClientStatusDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Guarded client for the Python AI module. Every call passes a circuit
+ * breaker and a bulkhead that caps concurrent in-flight requests; when either
+ * rejects, or the call fails or times out, the caller gets an empty result and
+ * applies its own fallback immediately.
+ * <p>
+ * Meters: {@code ai.module.requests} (timer, tags {@code operation} and
+ * {@code outcome} = success | error), {@code ai.module.rejected} (counter,
+ * tags {@code operation} and {@code reason} = circuit_open | bulkhead_full),
+ * and the {@code ai.module.in_flight} and {@code ai.module.circuit.state} gauges.
+ */
+@Component
+public class AiModuleClient {
+
+    private static final Logger log = LoggerFactory.getLogger(AiModuleClient.class);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final RestTemplate restTemplate;
+    private final String aiModuleUrl;
+    private final String aiModuleBatchUrl;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long bulkheadWaitMs;
+
+    private final Meters single;
+    private final Meters batch;
+    private final AtomicLong maxLatencyNanos = new AtomicLong(); // All-time, unlike the timer's decaying max
+
+    public AiModuleClient(RestTemplate restTemplate, MeterRegistry meterRegistry,
+            @Value("${ai.module.url:http://localhost:8005/recommend}") String aiModuleUrl,
+            @Value("${ai.module.batch-url:http://localhost:8005/recommend/batch}") String aiModuleBatchUrl,
+            @Value("${ai.module.client.max-concurrent-calls:32}") int maxConcurrentCalls,
+            @Value("${ai.module.client.bulkhead-wait-ms:50}") long bulkheadWaitMs,
+            @Value("${ai.module.breaker.window-size:50}") int windowSize,
+            @Value("${ai.module.breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${ai.module.breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${ai.module.breaker.open-duration-ms:10000}") long openDurationMs,
+            @Value("${ai.module.breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.restTemplate = restTemplate;
+        this.aiModuleUrl = aiModuleUrl;
+        this.aiModuleBatchUrl = aiModuleBatchUrl;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDurationMs, halfOpenCalls);
+        this.single = new Meters(meterRegistry, "single");
+        this.batch = new Meters(meterRegistry, "batch");
+        Gauge.builder("ai.module.in_flight", bulkhead, permits -> maxConcurrentCalls - permits.availablePermits())
+                .description("AI module calls currently holding a bulkhead permit")
+                .register(meterRegistry);
+        Gauge.builder("ai.module.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scores one feature vector. Empty means "use the fallback", never "retry".
+     */
+    public Optional<AiPrediction> recommend(double[] features) {
+        return guarded(single, () -> toPrediction(post(aiModuleUrl, StrategyFeatures.toRequest(features))));
+    }
+
+    /**
+     * Scores a micro-batch in one round trip; predictions come back in input
+     * order. One guarded call, so a batch counts once towards the breaker.
+     */
+    public Optional<List<AiPrediction>> recommendBatch(List<double[]> rows) {
+        List<Map<String, Object>> requests = new ArrayList<>(rows.size());
+        for (double[] features : rows) {
+            requests.add(StrategyFeatures.toRequest(features));
+        }
+        return guarded(batch, () -> toPredictions(post(aiModuleBatchUrl, Map.of("rows", requests)), rows.size()));
+    }
+
+    public AiClientStatusDTO status() {
+        long callCount = single.calls() + batch.calls();
+        return AiClientStatusDTO.builder()
+                .circuitState(circuitBreaker.getState().name())
+                .failureRate(circuitBreaker.failureRate())
+                .inFlight(maxConcurrentCalls - bulkhead.availablePermits())
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .calls(callCount)
+                .failures(single.error.count() + batch.error.count())
+                .shortCircuited((long) (single.circuitOpen.count() + batch.circuitOpen.count()))
+                .bulkheadRejected((long) (single.bulkheadFull.count() + batch.bulkheadFull.count()))
+                .averageLatencyMs(callCount == 0 ? 0
+                        : (single.totalMs() + batch.totalMs()) / callCount)
+                .maxLatencyMs(maxLatencyNanos.get() / NANOS_PER_MILLI)
+                .build();
+    }
+
+    private <T> Optional<T> guarded(Meters meters, Supplier<T> call) {
+        long permission = circuitBreaker.tryAcquirePermission();
+        if (permission == CircuitBreaker.NOT_PERMITTED) {
+            meters.circuitOpen.increment();
+            return Optional.empty();
+        }
+        if (!acquireBulkhead()) {
+            circuitBreaker.releasePermission(permission);
+            meters.bulkheadFull.increment();
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(execute(meters, permission, call));
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> T execute(Meters meters, long permission, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(permission);
+            recordLatency(meters.success, System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            circuitBreaker.onError(permission);
+            recordLatency(meters.error, System.nanoTime() - start);
+            log.atWarn().addKeyValue("operation", meters.operation)
+                    .log("AI module unreachable, using fallback: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> post(String url, Object body) {
+        return restTemplate.postForObject(url, body, Map.class);
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private AiPrediction toPrediction(Map<?, ?> response) {
+        if (response == null || !(response.get("prediction") instanceof String prediction)) {
+            throw new IllegalStateException("AI response without prediction: " + response);
+        }
+        Object confidence = response.get("confidence");
+        return new AiPrediction(prediction, confidence instanceof Number n ? n.doubleValue() : 0);
+    }
+
+    private List<AiPrediction> toPredictions(Map<String, Object> response, int expected) {
+        if (response == null || !(response.get("predictions") instanceof List<?> rows) || rows.size() != expected) {
+            throw new IllegalStateException("AI batch response does not match the " + expected + " submitted rows");
+        }
+        List<AiPrediction> predictions = new ArrayList<>(expected);
+        for (Object row : rows) {
+            predictions.add(toPrediction(row instanceof Map<?, ?> map ? map : null));
+        }
+        return predictions;
+    }
+
+    private void recordLatency(Timer timer, long nanos) {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Meters of one call type, registered once so the hot path does no lookups.
+     */
+    private static final class Meters {
+        final String operation;
+        final Timer success;
+        final Timer error;
+        final Counter circuitOpen;
+        final Counter bulkheadFull;
+
+        Meters(MeterRegistry registry, String operation) {
+            this.operation = operation;
+            this.success = timer(registry, operation, "success");
+            this.error = timer(registry, operation, "error");
+            this.circuitOpen = rejected(registry, operation, "circuit_open");
+            this.bulkheadFull = rejected(registry, operation, "bulkhead_full");
+        }
+
+        long calls() {
+            return success.count() + error.count();
+        }
+
+        double totalMs() {
+            return success.totalTime(TimeUnit.MILLISECONDS) + error.totalTime(TimeUnit.MILLISECONDS);
+        }
+
+        private static Timer timer(MeterRegistry registry, String operation, String outcome) {
+            return Timer.builder("ai.module.requests")
+                    .description("Round trips to the AI module, including failed ones")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        private static Counter rejected(MeterRegistry registry, String operation, String reason) {
+            return Counter.builder("ai.module.rejected")
+                    .description("Calls answered with the fallback without reaching the AI module")
+                    .tag("operation", operation)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+    }
+}
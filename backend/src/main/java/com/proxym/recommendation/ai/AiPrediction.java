@@ -0,0 +1,8 @@
+package com.proxym.recommendation.ai;
+
+/**
+ * Output of the strategic model: the suggested product type and the model's
+ * probability for it.
+ */
+public record AiPrediction(String prediction, double confidence) {
+}
@@ -0,0 +1,129 @@
+package com.proxym.recommendation.ai;
+
+import java.util.Arrays;
+
+/**
+ * Count-based circuit breaker. While CLOSED it tracks the outcome of the last
+ * {@code windowSize} calls; once at least {@code minimumCalls} were recorded
+ * and the failure rate reaches the threshold it OPENs and rejects calls for
+ * {@code openDurationMs}. It then lets {@code halfOpenCalls} trial calls
+ * through: all must succeed to close again, any failure re-opens it.
+ * <p>
+ * Every state change starts a new generation. A permission carries the
+ * generation it was granted in, and outcomes reported for an older one are
+ * ignored, so a slow call admitted while CLOSED cannot count as a trial.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public static final long NOT_PERMITTED = -1;
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMs;
+    private final int halfOpenCalls;
+
+    private final boolean[] window; // true = failure
+    private int windowIndex;
+    private int recordedCalls;
+    private int failuresInWindow;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int trialPermits;
+    private int trialSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+            long openDurationMs, int halfOpenCalls) {
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Returns the generation to report the outcome against, or {@link #NOT_PERMITTED}.
+     */
+    public synchronized long tryAcquirePermission() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            state = State.HALF_OPEN;
+            generation++;
+            trialPermits = halfOpenCalls;
+            trialSuccesses = 0;
+        }
+        if (state == State.CLOSED) return generation;
+        if (state == State.HALF_OPEN && trialPermits > 0) {
+            trialPermits--;
+            return generation;
+        }
+        return NOT_PERMITTED;
+    }
+
+    /**
+     * Returns a permission that was acquired but never used for a call.
+     */
+    public synchronized void releasePermission(long permission) {
+        if (permission == generation && state == State.HALF_OPEN) trialPermits++;
+    }
+
+    public synchronized void onSuccess(long permission) {
+        if (permission != generation) return;
+        if (state == State.HALF_OPEN) {
+            if (++trialSuccesses >= halfOpenCalls) close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onError(long permission) {
+        if (permission != generation) return;
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recordedCalls >= minimumCalls && failureRate() >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Failure percentage over the current window (0-100).
+     */
+    public synchronized double failureRate() {
+        return recordedCalls == 0 ? 0 : 100.0 * failuresInWindow / recordedCalls;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) failuresInWindow--;
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) failuresInWindow++;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        generation++;
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        generation++;
+        Arrays.fill(window, false);
+        windowIndex = 0;
+        recordedCalls = 0;
+        failuresInWindow = 0;
+    }
+}
@@ -0,0 +1,188 @@
+package com.proxym.recommendation.ai;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxym.recommendation.cache.RecommendationCache;
+import com.proxym.recommendation.datasource.DataSourceRouting;
+import com.proxym.recommendation.dto.FeatureVectorDTO;
+import com.proxym.recommendation.dto.UserActivityDTO;
+import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.repository.SpendingAggregateRepository;
+import com.proxym.recommendation.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user model input vectors, computed once from the user row and their
+ * spending aggregates and then served by a single keyed lookup. Entries are
+ * invalidated when the user or their transactions change, and expire after
+ * {@code features.store.max-age} so time-dependent fields (tenure, is_active)
+ * never drift far. Hit rate and size are published as the
+ * {@code feature-vectors} cache meters.
+ * <p>
+ * Misses load in a read-only transaction, so they can be served by the read
+ * replica; right after this instance wrote, they read from the primary
+ * instead, so an invalidated vector is not refilled from a replica that has
+ * not seen the write yet.
+ */
+@Component
+public class FeatureStore {
+
+    private final Cache<Long, FeatureVector> vectors;
+    private final UserRepository userRepository;
+    private final SpendingAggregateRepository spendingAggregateRepository;
+    private final RecommendationCache recommendationCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock = Clock.systemUTC();
+    private final AtomicLong versions = new AtomicLong();
+
+    public FeatureStore(UserRepository userRepository, SpendingAggregateRepository spendingAggregateRepository,
+            RecommendationCache recommendationCache, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${features.store.max-size:100000}") long maxSize,
+            @Value("${features.store.max-age:15m}") Duration maxAge) {
+        this.userRepository = userRepository;
+        this.spendingAggregateRepository = spendingAggregateRepository;
+        this.recommendationCache = recommendationCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.vectors = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, vectors, "feature-vectors");
+    }
+
+    /**
+     * @throws ResourceNotFoundException when the user does not exist.
+     */
+    public FeatureVector get(Long userId) {
+        return vectors.get(userId, this::load);
+    }
+
+    /**
+     * Bulk variant: all misses are loaded with two queries. Unknown ids are
+     * absent from the result.
+     */
+    public Map<Long, FeatureVector> getAll(Collection<Long> userIds) {
+        return vectors.getAll(userIds, this::loadAll);
+    }
+
+    /**
+     * Bulk load that neither reads nor fills the cache, for jobs that walk
+     * every user and would otherwise evict the hot entries. Unknown ids are
+     * absent from the result.
+     */
+    public Map<Long, FeatureVector> computeAll(Collection<Long> userIds) {
+        return loadAll(Set.copyOf(userIds));
+    }
+
+    /**
+     * Drops the vectors of users whose profile or transactions changed, and
+     * the recommendation cache's memory of their last profile. Inside a
+     * transaction this waits for the commit, so a concurrent reader cannot
+     * cache the pre-commit state again.
+     */
+    public void invalidate(Collection<Long> userIds) {
+        if (userIds.isEmpty()) return;
+        Set<Long> ids = Set.copyOf(userIds);
+        afterCommit(() -> {
+            vectors.invalidateAll(ids);
+            ids.forEach(recommendationCache::evictUser);
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommit(() -> {
+            vectors.invalidateAll();
+            recommendationCache.evictAllUsers();
+        });
+    }
+
+    /**
+     * Whether {@code vector} is still the stored entry for its user, i.e. not
+     * invalidated, expired or replaced since it was read.
+     */
+    public boolean isCurrent(FeatureVector vector) {
+        FeatureVector current = vectors.getIfPresent(vector.userId());
+        return current != null && current.version() == vector.version();
+    }
+
+    public FeatureVectorDTO describe(Long userId) {
+        FeatureVector vector = get(userId);
+        Map<String, Double> features = new LinkedHashMap<>();
+        for (int i = 0; i < StrategyFeatures.SIZE; i++) {
+            features.put(StrategyFeatures.NAMES[i], vector.values()[i]);
+        }
+        long ageMs = Duration.between(vector.computedAt(), clock.instant()).toMillis();
+        return new FeatureVectorDTO(userId, features, vector.version(), vector.computedAt(), ageMs);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private FeatureVector load(Long userId) {
+        return DataSourceRouting.readYourWrites(userId, () -> readOnlyTransaction.execute(status -> query(userId)));
+    }
+
+    private Map<Long, FeatureVector> loadAll(Set<? extends Long> userIds) {
+        return DataSourceRouting.readYourWrites(userIds, () -> readOnlyTransaction.execute(status -> queryAll(userIds)));
+    }
+
+    private FeatureVector query(Long userId) {
+        UserDTO user = userRepository.findDTOById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        List<UserActivityDTO> activity = spendingAggregateRepository.findActivity(List.of(userId));
+        return toVector(user, activity.isEmpty() ? null : activity.get(0));
+    }
+
+    private Map<Long, FeatureVector> queryAll(Set<? extends Long> userIds) {
+        List<UserDTO> users = userRepository.findDTOsByIds(Set.copyOf(userIds));
+        if (users.isEmpty()) return Map.of();
+        Map<Long, UserActivityDTO> activity = spendingAggregateRepository
+                .findActivity(users.stream().map(UserDTO::getId).toList()).stream()
+                .collect(Collectors.toMap(UserActivityDTO::getUserId, Function.identity()));
+        return users.stream().collect(Collectors.toMap(UserDTO::getId,
+                user -> toVector(user, activity.get(user.getId()))));
+    }
+
+    private FeatureVector toVector(UserDTO user, UserActivityDTO activity) {
+        Instant now = clock.instant();
+        double[] values = StrategyFeatures.of(user, activity, YearMonth.now(clock));
+        long fingerprint = 31 * StrategyFeatures.fingerprint(values) + Objects.hashCode(user.getRiskProfile());
+        return new FeatureVector(user.getId(), values, user.getRiskProfile(), fingerprint,
+                versions.incrementAndGet(), now);
+    }
+}
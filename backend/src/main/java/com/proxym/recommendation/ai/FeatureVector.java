@@ -0,0 +1,17 @@
+package com.proxym.recommendation.ai;
+
+import java.time.Instant;
+
+/**
+ * One user's model input as stored in the {@link FeatureStore}: the raw
+ * vector in {@link StrategyFeatures#NAMES} order, the risk profile used to
+ * rank products, and a fingerprint of both (users with equal fingerprints
+ * get equal recommendations). The array is never mutated after construction.
+ */
+public record FeatureVector(long userId, double[] values, String riskProfile, long fingerprint, long version,
+        Instant computedAt) {
+
+    public double balance() {
+        return values[StrategyFeatures.BALANCE];
+    }
+}
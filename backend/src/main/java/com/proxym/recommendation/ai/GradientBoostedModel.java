@@ -0,0 +1,161 @@
+package com.proxym.recommendation.ai;
+
+import java.util.List;
+
+/**
+ * Java evaluation of the exported scikit-learn StandardScaler +
+ * GradientBoostingClassifier pair (see {@code AI_Model/export_model.py}).
+ * All trees are flattened into shared primitive arrays, and callers pass
+ * their own scratch buffers, so a prediction allocates nothing.
+ */
+public final class GradientBoostedModel {
+
+    public static final String FORMAT = "proxym-gbdt-v1";
+
+    private final double[] mean;
+    private final double[] scale;
+    private final String[] classes;
+    private final int outputs; // Trees per stage: 1 for binary, one per class otherwise
+    private final double learningRate;
+    private final double[] initRaw;
+
+    private final int[] roots; // Index of each tree's root node, stage-major
+    private final int[] left;
+    private final int[] right;
+    private final int[] feature;
+    private final double[] threshold;
+    private final double[] value;
+
+    private GradientBoostedModel(Export export) {
+        this.mean = toArray(export.scaler().mean());
+        this.scale = toArray(export.scaler().scale());
+        this.classes = export.classes().toArray(new String[0]);
+        this.outputs = export.initRaw().size();
+        this.learningRate = export.learningRate();
+        this.initRaw = toArray(export.initRaw());
+
+        int trees = 0;
+        int nodes = 0;
+        for (List<Tree> stage : export.stages()) {
+            for (Tree tree : stage) {
+                trees++;
+                nodes += tree.value().size();
+            }
+        }
+        this.roots = new int[trees];
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.feature = new int[nodes];
+        this.threshold = new double[nodes];
+        this.value = new double[nodes];
+        flatten(export.stages());
+    }
+
+    public static GradientBoostedModel from(Export export) {
+        if (!FORMAT.equals(export.format())) {
+            throw new IllegalArgumentException("Unsupported model format: " + export.format());
+        }
+        if (export.scaler().mean().size() != StrategyFeatures.SIZE) {
+            throw new IllegalArgumentException("Model expects " + export.scaler().mean().size()
+                    + " features, backend sends " + StrategyFeatures.SIZE);
+        }
+        return new GradientBoostedModel(export);
+    }
+
+    public int outputs() {
+        return outputs;
+    }
+
+    public String className(int index) {
+        return classes[index];
+    }
+
+    /**
+     * Fills {@code probabilities} (one slot per class) and returns the index
+     * of the predicted class.
+     *
+     * @param scaled scratch buffer of {@link StrategyFeatures#SIZE} slots
+     * @param raw    scratch buffer of {@link #outputs()} slots
+     */
+    public int predict(double[] features, double[] scaled, double[] raw, double[] probabilities) {
+        for (int i = 0; i < scaled.length; i++) {
+            // Trees were fitted on float32 inputs; round the same way sklearn does.
+            scaled[i] = (float) ((features[i] - mean[i]) / scale[i]);
+        }
+        System.arraycopy(initRaw, 0, raw, 0, outputs);
+        for (int tree = 0; tree < roots.length; tree++) {
+            raw[tree % outputs] += learningRate * leafValue(roots[tree], scaled);
+        }
+        return outputs == 1 ? binomial(raw[0], probabilities) : multinomial(raw, probabilities);
+    }
+
+    private double leafValue(int node, double[] scaled) {
+        while (left[node] >= 0) {
+            node = scaled[feature[node]] <= threshold[node] ? left[node] : right[node];
+        }
+        return value[node];
+    }
+
+    private int binomial(double raw, double[] probabilities) {
+        probabilities[1] = 1.0 / (1.0 + Math.exp(-raw));
+        probabilities[0] = 1.0 - probabilities[1];
+        return probabilities[1] > probabilities[0] ? 1 : 0;
+    }
+
+    private int multinomial(double[] raw, double[] probabilities) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double r : raw) max = Math.max(max, r);
+        double sum = 0;
+        for (int k = 0; k < outputs; k++) {
+            probabilities[k] = Math.exp(raw[k] - max);
+            sum += probabilities[k];
+        }
+        int best = 0;
+        for (int k = 0; k < outputs; k++) {
+            probabilities[k] /= sum;
+            if (probabilities[k] > probabilities[best]) best = k;
+        }
+        return best;
+    }
+
+    private void flatten(List<List<Tree>> stages) {
+        int tree = 0;
+        int offset = 0;
+        for (List<Tree> stage : stages) {
+            for (Tree t : stage) {
+                roots[tree++] = offset;
+                for (int n = 0; n < t.value().size(); n++) {
+                    int childLeft = t.left().get(n);
+                    left[offset + n] = childLeft < 0 ? -1 : offset + childLeft;
+                    right[offset + n] = childLeft < 0 ? -1 : offset + t.right().get(n);
+                    feature[offset + n] = t.feature().get(n);
+                    threshold[offset + n] = t.threshold().get(n);
+                    value[offset + n] = t.value().get(n);
+                }
+                offset += t.value().size();
+            }
+        }
+    }
+
+    private static double[] toArray(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    // --- Export file schema ---
+
+    // generator: the library and version that recorded the sample predictions
+    public record Export(String format, String generator, List<String> features, Scaler scaler,
+            List<String> classes, double learningRate, List<Double> initRaw, List<List<Tree>> stages,
+            List<Sample> samples) {
+    }
+
+    public record Scaler(List<Double> mean, List<Double> scale) {
+    }
+
+    public record Tree(List<Integer> left, List<Integer> right, List<Integer> feature,
+            List<Double> threshold, List<Double> value) {
+    }
+
+    public record Sample(double[] features, String prediction, double[] probabilities) {
+    }
+}
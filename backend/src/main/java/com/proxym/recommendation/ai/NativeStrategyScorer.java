@@ -0,0 +1,83 @@
+package com.proxym.recommendation.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Scores in-process from the portable export written by
+ * {@code AI_Model/export_model.py}, removing the HTTP hop. On startup it
+ * replays the Python predictions recorded in the export and refuses to start
+ * if any of them disagree; GradientBoostedModelTest replays a committed
+ * fixture the same way on every build.
+ */
+@Component
+@ConditionalOnProperty(name = "strategy.scorer", havingValue = "native")
+public class NativeStrategyScorer implements StrategyScorer {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeStrategyScorer.class);
+    private static final double PROBABILITY_TOLERANCE = 1e-6;
+
+    private final GradientBoostedModel model;
+    private final ThreadLocal<Scratch> scratch;
+
+    public NativeStrategyScorer(ObjectMapper objectMapper,
+            @Value("${strategy.native.model-location:file:../AI_Model/strategy_model.json}") Resource modelLocation)
+            throws IOException {
+        GradientBoostedModel.Export export;
+        try (InputStream in = modelLocation.getInputStream()) {
+            export = objectMapper.readValue(in, GradientBoostedModel.Export.class);
+        }
+        this.model = GradientBoostedModel.from(export);
+        int outputs = model.outputs();
+        int classes = export.classes().size(); // Captured alone: the export's trees and samples can be dropped
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(outputs, classes));
+        verifyParity(export);
+        log.info("Native scorer loaded {} stages; {} recorded predictions ({}) matched",
+                export.stages().size(), export.samples().size(), export.generator());
+    }
+
+    @Override
+    public Optional<AiPrediction> score(double[] features) {
+        Scratch buffers = scratch.get();
+        int predicted = model.predict(features, buffers.scaled, buffers.raw, buffers.probabilities);
+        return Optional.of(new AiPrediction(model.className(predicted), buffers.probabilities[predicted]));
+    }
+
+    private void verifyParity(GradientBoostedModel.Export export) {
+        Scratch buffers = scratch.get();
+        for (int i = 0; i < export.samples().size(); i++) {
+            GradientBoostedModel.Sample sample = export.samples().get(i);
+            int predicted = model.predict(sample.features(), buffers.scaled, buffers.raw, buffers.probabilities);
+            if (!model.className(predicted).equals(sample.prediction())) {
+                throw new IllegalStateException("Native scorer disagrees with Python on sample " + i + ": "
+                        + model.className(predicted) + " vs " + sample.prediction());
+            }
+            for (int k = 0; k < sample.probabilities().length; k++) {
+                if (Math.abs(buffers.probabilities[k] - sample.probabilities()[k]) > PROBABILITY_TOLERANCE) {
+                    throw new IllegalStateException("Native scorer probability drift on sample " + i
+                            + ", class " + export.classes().get(k));
+                }
+            }
+        }
+    }
+
+    private static final class Scratch {
+        final double[] scaled = new double[StrategyFeatures.SIZE];
+        final double[] raw;
+        final double[] probabilities;
+
+        Scratch(int outputs, int classes) {
+            this.raw = new double[outputs];
+            this.probabilities = new double[Math.max(classes, 2)];
+        }
+    }
+}
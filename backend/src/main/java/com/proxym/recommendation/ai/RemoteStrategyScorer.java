@@ -0,0 +1,31 @@
+package com.proxym.recommendation.ai;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Scores through the Python AI module over HTTP (the default).
+ */
+@Component
+@ConditionalOnProperty(name = "strategy.scorer", havingValue = "remote", matchIfMissing = true)
+public class RemoteStrategyScorer implements StrategyScorer {
+
+    private final AiModuleClient aiModuleClient;
+
+    public RemoteStrategyScorer(AiModuleClient aiModuleClient) {
+        this.aiModuleClient = aiModuleClient;
+    }
+
+    @Override
+    public Optional<AiPrediction> score(double[] features) {
+        return aiModuleClient.recommend(features);
+    }
+
+    @Override
+    public Optional<List<AiPrediction>> scoreBatch(List<double[]> rows) {
+        return aiModuleClient.recommendBatch(rows);
+    }
+}
@@ -0,0 +1,106 @@
+package com.proxym.recommendation.ai;
+
+import com.proxym.recommendation.dto.UserActivityDTO;
+import com.proxym.recommendation.dto.UserDTO;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The strategic model's input vector, kept as a primitive array in the exact
+ * column order used by {@code AI_Model/master_train.py}.
+ */
+public final class StrategyFeatures {
+
+    public static final String[] NAMES = {
+            "credit_score", "age", "tenure", "balance", "num_products",
+            "has_crcard", "is_active", "salary", "satisfaction"
+    };
+    public static final int SIZE = NAMES.length;
+    public static final int BALANCE = 3;
+
+    // Integer-typed fields in the /recommend request schema.
+    private static final boolean[] INTEGER = { true, true, true, false, true, true, true, false, true };
+
+    // Defaults for fields no data source carries yet.
+    private static final double DEFAULT_CREDIT_SCORE = 700;
+    private static final double DEFAULT_HAS_CRCARD = 1;
+    private static final double DEFAULT_SATISFACTION = 5;
+
+    // Ranges of the churn dataset the model was trained on.
+    private static final int MAX_TENURE_YEARS = 10;
+    private static final int MAX_PRODUCTS = 4;
+    private static final int ACTIVE_WITHIN_MONTHS = 2; // Spent this month or in the two before
+
+    private StrategyFeatures() {
+    }
+
+    /**
+     * Derives the behavioural fields from the spending aggregates: tenure is
+     * years since the first transaction, num_products the number of distinct
+     * spending categories, is_active whether there was spending recently.
+     *
+     * @param activity null for a user without transactions
+     */
+    public static double[] of(UserDTO user, UserActivityDTO activity, YearMonth now) {
+        return new double[] {
+                DEFAULT_CREDIT_SCORE,
+                valueOf(user.getAge()),
+                tenureYears(activity, now),
+                valueOf(user.getBalance()),
+                numProducts(activity),
+                DEFAULT_HAS_CRCARD,
+                isActive(activity, now),
+                valueOf(user.getMonthlyIncome()),
+                DEFAULT_SATISFACTION
+        };
+    }
+
+    /**
+     * Builds the JSON body expected by the AI module's /recommend endpoint.
+     */
+    public static Map<String, Object> toRequest(double[] features) {
+        Map<String, Object> request = new LinkedHashMap<>();
+        for (int i = 0; i < SIZE; i++) {
+            request.put(NAMES[i], INTEGER[i] ? (Object) Math.round(features[i]) : (Object) features[i]);
+        }
+        return request;
+    }
+
+    /**
+     * 64-bit FNV-1a over the raw IEEE bits, so identical vectors always share a key.
+     */
+    public static long fingerprint(double[] features) {
+        long hash = 0xcbf29ce484222325L;
+        for (double feature : features) {
+            long bits = Double.doubleToLongBits(feature);
+            for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                hash ^= (bits >>> shift) & 0xff;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private static double tenureYears(UserActivityDTO activity, YearMonth now) {
+        if (activity == null) return 0;
+        long years = ChronoUnit.YEARS.between(YearMonth.parse(activity.getFirstPeriod()), now);
+        return Math.max(0, Math.min(MAX_TENURE_YEARS, years));
+    }
+
+    private static double numProducts(UserActivityDTO activity) {
+        if (activity == null) return 1;
+        return Math.max(1, Math.min(MAX_PRODUCTS, activity.getCategories()));
+    }
+
+    private static double isActive(UserActivityDTO activity, YearMonth now) {
+        if (activity == null) return 0;
+        return YearMonth.parse(activity.getLastPeriod()).isBefore(now.minusMonths(ACTIVE_WITHIN_MONTHS)) ? 0 : 1;
+    }
+
+    private static double valueOf(Number value) {
+        return value == null ? 0 : value.doubleValue();
+    }
+}
@@ -0,0 +1,26 @@
+package com.proxym.recommendation.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Evaluates the strategic model on a {@link StrategyFeatures} vector.
+ * Implementations are selected with {@code strategy.scorer}.
+ * An empty result means the model could not be evaluated and the caller
+ * should apply its fallback.
+ */
+public interface StrategyScorer {
+
+    Optional<AiPrediction> score(double[] features);
+
+    default Optional<List<AiPrediction>> scoreBatch(List<double[]> rows) {
+        List<AiPrediction> predictions = new ArrayList<>(rows.size());
+        for (double[] features : rows) {
+            Optional<AiPrediction> prediction = score(features);
+            if (prediction.isEmpty()) return Optional.empty();
+            predictions.add(prediction.get());
+        }
+        return Optional.of(predictions);
+    }
+}
@@ -0,0 +1,21 @@
+package com.proxym.recommendation.cache;
+
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.ranking.RankedProduct;
+
+import java.util.List;
+
+/**
+ * A computed recommendation: the AI strategy and the eligible products it
+ * resolved to, best first.
+ */
+public record CachedRecommendation(String strategy, List<RankedProduct> ranked) {
+
+    public CachedRecommendation {
+        ranked = List.copyOf(ranked);
+    }
+
+    public List<FinancialProductDTO> products(int limit) {
+        return ranked.stream().limit(limit).map(RankedProduct::product).toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.proxym.recommendation.cache;
+
+import com.proxym.recommendation.dto.EmailFilterStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Membership filter over registered emails, so signups with a definitely-new
+ * address skip the uniqueness probe. The unique index on users.email stays
+ * the source of truth: the filter may only answer "maybe", never "free" for
+ * a taken address. Deleted emails cannot be removed from a Bloom filter;
+ * they remain as false positives until the next restart rebuilds it.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailBloomFilter.class);
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final BloomFilter filter;
+    private final JdbcTemplate scanTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile boolean ready;
+    private final LongAdder loaded = new LongAdder();
+    private final LongAdder added = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder skippedProbes = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public EmailBloomFilter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.scanTemplate.setFetchSize(SCAN_FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams every email once (a cursor inside a read-only transaction, so
+     * PostgreSQL honours the fetch size). Signups racing with the scan are
+     * added directly, so nothing is missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        readOnlyTransaction.executeWithoutResult(tx -> scanTemplate.query("SELECT email FROM users", rs -> {
+            String email = rs.getString(1);
+            if (email != null) {
+                filter.put(normalize(email));
+                loaded.increment();
+            }
+        }));
+        ready = true;
+        log.info("Email filter loaded {} emails in {} ms ({} KiB)",
+                loaded.sum(), System.currentTimeMillis() - start, filter.bitCount() / 8 / 1024);
+    }
+
+    /**
+     * False means the email is definitely not registered and the database
+     * probe can be skipped. Always true until the startup scan has finished.
+     */
+    public boolean mightContain(String email) {
+        if (email == null) return false;
+        if (ready && !filter.mightContain(normalize(email))) {
+            skippedProbes.increment();
+            return false;
+        }
+        probes.increment();
+        return true;
+    }
+
+    public void add(String email) {
+        if (email == null) return;
+        filter.put(normalize(email));
+        added.increment();
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void recordDeletion() {
+        deleted.increment();
+    }
+
+    public EmailFilterStatsDTO stats() {
+        return EmailFilterStatsDTO.builder()
+                .ready(ready)
+                .expectedInsertions(expectedInsertions)
+                .configuredFalsePositiveRate(falsePositiveRate)
+                .estimatedFalsePositiveRate(filter.estimatedFalsePositiveRate())
+                .bits(filter.bitCount())
+                .memoryBytes(filter.bitCount() / 8)
+                .hashFunctions(filter.hashFunctions())
+                .loaded(loaded.sum())
+                .added(added.sum())
+                .deletedSinceBuild(deleted.sum())
+                .skippedProbes(skippedProbes.sum())
+                .probes(probes.sum())
+                .falsePositives(falsePositives.sum())
+                .build();
+    }
+
+    // Case-folded: a superset of the index's exact matching, so still safe
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,309 @@
+package com.proxym.recommendation.cache;
+
+import com.proxym.recommendation.ai.AiPrediction;
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.ai.FeatureVector;
+import com.proxym.recommendation.ai.StrategyScorer;
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.dto.PrecomputeProgressDTO;
+import com.proxym.recommendation.model.Recommendation;
+import com.proxym.recommendation.ranking.ProductRanker;
+import com.proxym.recommendation.ranking.RankedProduct;
+import com.proxym.recommendation.repository.RecommendationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recommendations computed ahead of time into the {@code recommendations}
+ * table, so cold requests read a few rows instead of waiting for the model.
+ * <p>
+ * A scheduled run walks the users in keyset chunks. Each chunk loads its
+ * feature vectors in bulk (bypassing the feature cache), keeps only users
+ * whose vector or the product catalog changed since their rows were written,
+ * scores their distinct profiles in one model round trip, ranks the
+ * products as the live path does and replaces their rows in one
+ * transaction. Chunks run on a per-run pool of {@code parallelism} threads,
+ * which also bounds the model calls in flight. When the model is unavailable
+ * a chunk is left as it was and retried on the next run; fallback answers
+ * are never stored. Users with no eligible product get one {@code EMPTY}
+ * marker row, so their fingerprint is kept and they are not scored again
+ * until it changes.
+ * <p>
+ * The run is coordinated on its own single-thread executor, so it never
+ * takes a thread from request handling.
+ */
+@Component
+public class PrecomputedRecommendations {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecomputedRecommendations.class);
+
+    private static final String PAGE_SQL = "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private final FeatureStore featureStore;
+    private final StrategyScorer strategyScorer;
+    private final ProductCatalog productCatalog;
+    private final ProductRanker productRanker;
+    private final RecommendationRepository recommendationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Counter rescoredUsers;
+    private final Counter unchangedUsers;
+    private final Counter failedUsers;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile CatalogFingerprint catalogFingerprint = new CatalogFingerprint(-1, 0);
+    private volatile String status = "IDLE";
+    private volatile long scanned;
+    private volatile long rescored;
+    private volatile long unchanged;
+    private volatile long failed;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public PrecomputedRecommendations(FeatureStore featureStore, StrategyScorer strategyScorer,
+            ProductCatalog productCatalog, ProductRanker productRanker,
+            RecommendationRepository recommendationRepository,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Qualifier("recommendationPrecomputeExecutor") Executor taskExecutor, MeterRegistry meterRegistry,
+            @Value("${recommendation.precompute.enabled:true}") boolean enabled,
+            @Value("${recommendation.precompute.chunk-size:256}") int chunkSize,
+            @Value("${recommendation.precompute.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int parallelism) {
+        this.featureStore = featureStore;
+        this.strategyScorer = strategyScorer;
+        this.productCatalog = productCatalog;
+        this.productRanker = productRanker;
+        this.recommendationRepository = recommendationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.rescoredUsers = userCounter(meterRegistry, "rescored");
+        this.unchangedUsers = userCounter(meterRegistry, "unchanged");
+        this.failedUsers = userCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * The stored recommendation of this user, if it was computed from these
+     * exact features and the current catalog. Products removed from the
+     * catalog since are left out; an {@code EMPTY} marker yields no products.
+     */
+    public Optional<CachedRecommendation> find(FeatureVector features) {
+        List<Recommendation> rows = recommendationRepository.findByUserIdOrderByProductRank(features.userId());
+        if (rows.isEmpty() || rows.get(0).getInputFingerprint() != inputFingerprint(features)) {
+            return Optional.empty();
+        }
+        List<RankedProduct> ranked = rows.stream()
+                .filter(row -> Recommendation.ACTIVE.equals(row.getStatus()))
+                .map(row -> productCatalog.find(row.getProductId()))
+                .flatMap(Optional::stream)
+                .map(product -> new RankedProduct(product, productRanker.score(product)))
+                .toList();
+        return Optional.of(new CachedRecommendation(rows.get(0).getStrategy(), ranked));
+    }
+
+    @Scheduled(initialDelayString = "${recommendation.precompute.initial-delay-ms:60000}",
+            fixedDelayString = "${recommendation.precompute.interval-ms:600000}")
+    public void scheduledRun() {
+        if (enabled) start();
+    }
+
+    /**
+     * @return false when a run is already in progress.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) return false;
+        taskExecutor.execute(this::runGuarded);
+        return true;
+    }
+
+    public PrecomputeProgressDTO progress() {
+        return PrecomputeProgressDTO.builder()
+                .status(status)
+                .scanned(scanned)
+                .rescored(rescored)
+                .unchanged(unchanged)
+                .failed(failed)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+
+    private void runGuarded() {
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism,
+                new CustomizableThreadFactory("reco-precompute-"));
+        status = "RUNNING";
+        scanned = rescored = unchanged = failed = 0;
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        try {
+            precomputeAll(pool);
+            status = "COMPLETED";
+            log.atInfo().addKeyValue("scanned", scanned).addKeyValue("rescored", rescored)
+                    .addKeyValue("failed", failed).log("Recommendation precompute finished");
+        } catch (Exception e) {
+            log.error("Recommendation precompute stopped after {} users", scanned, e);
+            status = "FAILED";
+            error = e.getMessage();
+        } finally {
+            pool.shutdownNow();
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Reads the next page of ids only when a chunk slot frees up, so at most
+     * {@code parallelism} chunks are held in memory.
+     */
+    private void precomputeAll(ExecutorService pool) throws InterruptedException, ExecutionException {
+        CompletionService<ChunkResult> completion = new ExecutorCompletionService<>(pool);
+        long lastId = 0;
+        boolean exhausted = false;
+        int inFlight = 0;
+        while (true) {
+            while (!exhausted && inFlight < parallelism) {
+                List<Long> chunk = jdbcTemplate.queryForList(PAGE_SQL, Long.class, lastId, chunkSize);
+                if (chunk.isEmpty()) {
+                    exhausted = true;
+                    break;
+                }
+                lastId = chunk.get(chunk.size() - 1);
+                completion.submit(() -> precomputeChunk(chunk));
+                inFlight++;
+            }
+            if (inFlight == 0) return;
+            ChunkResult result = completion.take().get();
+            inFlight--;
+            record(result);
+        }
+    }
+
+    private ChunkResult precomputeChunk(List<Long> userIds) {
+        Map<Long, FeatureVector> users = featureStore.computeAll(userIds);
+        Map<Long, Long> stored = new HashMap<>();
+        for (Object[] row : recommendationRepository.findInputFingerprints(userIds)) {
+            stored.put((Long) row[0], (Long) row[1]);
+        }
+
+        Map<Long, Long> changed = new LinkedHashMap<>(); // userId -> input fingerprint
+        Map<Long, double[]> profiles = new LinkedHashMap<>(); // feature fingerprint -> values, one per distinct profile
+        for (FeatureVector features : users.values()) {
+            long input = inputFingerprint(features);
+            if (!Long.valueOf(input).equals(stored.get(features.userId()))) {
+                changed.put(features.userId(), input);
+                profiles.putIfAbsent(features.fingerprint(), features.values());
+            }
+        }
+        int unchangedCount = users.size() - changed.size();
+        if (changed.isEmpty()) return new ChunkResult(users.size(), 0, unchangedCount, 0);
+
+        List<Long> fingerprints = new ArrayList<>(profiles.keySet());
+        Optional<List<AiPrediction>> predictions = strategyScorer.scoreBatch(new ArrayList<>(profiles.values()));
+        if (predictions.isEmpty()) return new ChunkResult(users.size(), 0, unchangedCount, changed.size());
+        Map<Long, AiPrediction> byProfile = new HashMap<>();
+        for (int i = 0; i < fingerprints.size(); i++) {
+            byProfile.put(fingerprints.get(i), predictions.get().get(i));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Recommendation> rows = new ArrayList<>();
+        changed.forEach((userId, input) -> {
+            FeatureVector features = users.get(userId);
+            AiPrediction prediction = byProfile.get(features.fingerprint());
+            List<RankedProduct> ranked = productRanker.rank(prediction.prediction(), features);
+            if (ranked.isEmpty()) {
+                rows.add(new Recommendation(null, userId, Recommendation.NO_PRODUCT, 0,
+                        prediction.prediction(), prediction.confidence(), Recommendation.EMPTY, input, now));
+            }
+            for (int rank = 0; rank < ranked.size(); rank++) {
+                rows.add(new Recommendation(null, userId, ranked.get(rank).product().getId(), rank + 1,
+                        prediction.prediction(), prediction.confidence(), Recommendation.ACTIVE, input, now));
+            }
+        });
+        transactionTemplate.executeWithoutResult(tx -> recommendationRepository.replaceForUsers(changed.keySet(), rows));
+        return new ChunkResult(users.size(), changed.size(), unchangedCount, 0);
+    }
+
+    private void record(ChunkResult result) {
+        scanned += result.scanned();
+        rescored += result.rescored();
+        unchanged += result.unchanged();
+        failed += result.failed();
+        rescoredUsers.increment(result.rescored());
+        unchangedUsers.increment(result.unchanged());
+        failedUsers.increment(result.failed());
+    }
+
+    /**
+     * Combines the feature fingerprint with the catalog's, so any product
+     * change that could alter a ranking makes every row stale.
+     */
+    private long inputFingerprint(FeatureVector features) {
+        return 31 * features.fingerprint() + catalogFingerprint().value();
+    }
+
+    /**
+     * Derived from the product contents (not the in-memory version counter),
+     * so it is stable across restarts and instances.
+     */
+    private CatalogFingerprint catalogFingerprint() {
+        CatalogFingerprint current = catalogFingerprint;
+        long version = productCatalog.version();
+        if (current.version() == version) return current;
+        long value = 17;
+        for (FinancialProductDTO product : productCatalog.all().stream()
+                .sorted(Comparator.comparing(FinancialProductDTO::getId)).toList()) {
+            value = 31 * value + product.hashCode();
+        }
+        current = new CatalogFingerprint(version, value);
+        catalogFingerprint = current;
+        return current;
+    }
+
+    private static Counter userCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("recommendation.precompute.users")
+                .description("Users visited by the recommendation precompute job")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record ChunkResult(int scanned, int rescored, int unchanged, int failed) {
+    }
+
+    private record CatalogFingerprint(long version, long value) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.proxym.recommendation.cache;
+
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.repository.FinancialProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the product catalog. Readers dereference one volatile
+ * snapshot without locking; writers build a new snapshot and swap it in
+ * (copy-on-write). Each swap evicts recommendation results for the product
+ * types whose contents actually changed.
+ */
+@Component
+public class ProductCatalog {
+
+    private final FinancialProductRepository productRepository;
+    private final RecommendationCache recommendationCache;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ProductCatalog(FinancialProductRepository productRepository, RecommendationCache recommendationCache,
+            MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.recommendationCache = recommendationCache;
+        Gauge.builder("catalog.products", this, catalog -> catalog.snapshot.all.size())
+                .description("Products in the in-memory catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.version", this, catalog -> catalog.snapshot.version)
+                .description("Snapshot swaps since startup")
+                .register(meterRegistry);
+    }
+
+    public List<FinancialProductDTO> all() {
+        return snapshot.all;
+    }
+
+    public Optional<FinancialProductDTO> find(Long id) {
+        return Optional.ofNullable(snapshot.byId.get(id));
+    }
+
+    public List<FinancialProductDTO> byType(String type) {
+        return snapshot.byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Products of the type whose minimum entry is at most {@code budget},
+     * cheapest first: a binary search in the type's entry-sorted array,
+     * built once per snapshot. A missing minimum entry counts as 0.
+     */
+    public List<FinancialProductDTO> byTypeWithin(String type, double budget) {
+        EntryIndex index = snapshot.byEntry.get(type);
+        if (index == null) return List.of();
+        int low = 0;
+        int high = index.minimumEntries.length;
+        while (low < high) { // First position whose entry exceeds the budget
+            int mid = (low + high) >>> 1;
+            if (index.minimumEntries[mid] <= budget) low = mid + 1;
+            else high = mid;
+        }
+        return index.products.subList(0, low);
+    }
+
+    /**
+     * Incremented on every swap; lets derived views detect that they are stale.
+     */
+    public long version() {
+        return snapshot.version;
+    }
+
+    /**
+     * Full reload from the database. Also runs periodically so that changes
+     * made through other backend instances are picked up.
+     */
+    @PostConstruct
+    @Scheduled(initialDelayString = "${catalog.refresh-interval-ms:300000}",
+            fixedDelayString = "${catalog.refresh-interval-ms:300000}")
+    public synchronized void reload() {
+        swap(productRepository.findAllAsDTO());
+    }
+
+    public synchronized void upsert(FinancialProductDTO product) {
+        Map<Long, FinancialProductDTO> products = new LinkedHashMap<>(snapshot.byId);
+        products.put(product.getId(), product);
+        swap(products.values());
+    }
+
+    public synchronized void remove(Long id) {
+        Map<Long, FinancialProductDTO> products = new LinkedHashMap<>(snapshot.byId);
+        if (products.remove(id) != null) {
+            swap(products.values());
+        }
+    }
+
+    private void swap(Collection<FinancialProductDTO> products) {
+        Snapshot previous = snapshot;
+        Snapshot next = Snapshot.of(products, previous.version + 1);
+        if (next.all.equals(previous.all)) {
+            return; // Periodic reload without changes: keep the version, so derived views stay valid
+        }
+        snapshot = next;
+
+        Set<String> changedTypes = changedTypes(previous, next);
+        if (!changedTypes.isEmpty()) {
+            recommendationCache.evictStrategies(changedTypes);
+        }
+    }
+
+    private Set<String> changedTypes(Snapshot previous, Snapshot next) {
+        Set<String> types = new HashSet<>(previous.byType.keySet());
+        types.addAll(next.byType.keySet());
+        types.removeIf(type -> Objects.equals(previous.byType.get(type), next.byType.get(type)));
+        return types;
+    }
+
+    private record EntryIndex(double[] minimumEntries, List<FinancialProductDTO> products) {
+
+        static EntryIndex of(List<FinancialProductDTO> products) {
+            List<FinancialProductDTO> sorted = new ArrayList<>(products);
+            sorted.sort(Comparator.comparingDouble(EntryIndex::minimumEntry)); // Stable: id order within equal entries
+            double[] entries = new double[sorted.size()];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = minimumEntry(sorted.get(i));
+            }
+            return new EntryIndex(entries, List.copyOf(sorted));
+        }
+
+        private static double minimumEntry(FinancialProductDTO product) {
+            return product.getMinimumEntry() == null ? 0 : product.getMinimumEntry();
+        }
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), Map.of(), 0);
+
+        final List<FinancialProductDTO> all;
+        final Map<Long, FinancialProductDTO> byId;
+        final Map<String, List<FinancialProductDTO>> byType;
+        final Map<String, EntryIndex> byEntry;
+        final long version;
+
+        private Snapshot(List<FinancialProductDTO> all, Map<Long, FinancialProductDTO> byId,
+                Map<String, List<FinancialProductDTO>> byType, long version) {
+            this.all = all;
+            this.byId = byId;
+            this.byType = byType;
+            this.byEntry = byType.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> EntryIndex.of(e.getValue())));
+            this.version = version;
+        }
+
+        static Snapshot of(Collection<FinancialProductDTO> products, long version) {
+            List<FinancialProductDTO> sorted = new ArrayList<>(products);
+            sorted.sort(Comparator.comparing(FinancialProductDTO::getId));
+
+            Map<Long, FinancialProductDTO> byId = new LinkedHashMap<>();
+            Map<String, List<FinancialProductDTO>> byType = new LinkedHashMap<>();
+            for (FinancialProductDTO product : sorted) {
+                byId.put(product.getId(), product);
+                if (product.getType() != null) {
+                    byType.computeIfAbsent(product.getType(), type -> new ArrayList<>()).add(product);
+                }
+            }
+            return new Snapshot(List.copyOf(sorted), Collections.unmodifiableMap(byId), byType.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> List.copyOf(e.getValue()))),
+                    version);
+        }
+    }
+}
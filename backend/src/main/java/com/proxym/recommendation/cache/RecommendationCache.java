@@ -0,0 +1,118 @@
+package com.proxym.recommendation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.proxym.recommendation.dto.CacheStatsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-evicting cache of recommendation results keyed by the
+ * fingerprint of the feature vector sent to the AI, so users with identical
+ * profiles share one entry. A second index maps user ids to their last known
+ * fingerprint, which lets repeat requests skip the user lookup entirely.
+ * Both are published as Micrometer cache meters ({@code cache.gets},
+ * {@code cache.size}, ...) named {@code recommendations} and
+ * {@code recommendation-users}.
+ */
+@Component
+public class RecommendationCache {
+
+    private final Cache<Long, CachedRecommendation> byFingerprint;
+    private final Cache<Long, Long> fingerprintByUser;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RecommendationCache(MeterRegistry meterRegistry,
+            @Value("${recommendation.cache.max-size:100000}") long maxSize,
+            @Value("${recommendation.cache.ttl:10m}") Duration ttl) {
+        this.byFingerprint = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((key, value, cause) -> evictions.increment())
+                .recordStats()
+                .build();
+        this.fingerprintByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byFingerprint, "recommendations");
+        CaffeineCacheMetrics.monitor(meterRegistry, fingerprintByUser, "recommendation-users");
+    }
+
+    /**
+     * Fast path for a user whose profile has not changed since their last
+     * request. Only hits are counted here; a miss falls through to
+     * {@link #findByFingerprint(long)}, which records it.
+     */
+    public Optional<CachedRecommendation> findByUser(Long userId) {
+        Long fingerprint = fingerprintByUser.getIfPresent(userId);
+        if (fingerprint == null) return Optional.empty();
+        CachedRecommendation cached = byFingerprint.getIfPresent(fingerprint);
+        if (cached != null) hits.increment();
+        return Optional.ofNullable(cached);
+    }
+
+    public Optional<CachedRecommendation> findByFingerprint(long fingerprint) {
+        CachedRecommendation cached = byFingerprint.getIfPresent(fingerprint);
+        (cached != null ? hits : misses).increment();
+        return Optional.ofNullable(cached);
+    }
+
+    public void put(Long userId, long fingerprint, CachedRecommendation recommendation) {
+        byFingerprint.put(fingerprint, recommendation);
+        fingerprintByUser.put(userId, fingerprint);
+    }
+
+    /**
+     * Undoes a {@link #put} whose user mapping turned out to be stale; a
+     * newer mapping of the same user is left alone. Not counted as an
+     * invalidation.
+     */
+    public void forgetUser(Long userId, long fingerprint) {
+        fingerprintByUser.asMap().remove(userId, fingerprint);
+    }
+
+    /**
+     * Forgets which profile a user had. Shared entries stay valid because they
+     * only depend on the feature vector and the catalog.
+     */
+    public void evictUser(Long userId) {
+        if (fingerprintByUser.asMap().remove(userId) != null) invalidations.increment();
+    }
+
+    public void evictAllUsers() {
+        invalidations.add(fingerprintByUser.estimatedSize());
+        fingerprintByUser.invalidateAll();
+    }
+
+    /**
+     * Drops every result that resolved to one of the given product types.
+     */
+    public void evictStrategies(Set<String> strategies) {
+        byFingerprint.asMap().values().removeIf(cached -> {
+            boolean stale = strategies.contains(cached.strategy());
+            if (stale) invalidations.increment();
+            return stale;
+        });
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return new CacheStatsDTO(hitCount, missCount, evictions.sum(), invalidations.sum(),
+                byFingerprint.estimatedSize(), lookups == 0 ? 0 : (double) hitCount / lookups);
+    }
+}
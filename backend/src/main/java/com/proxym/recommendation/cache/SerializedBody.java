@@ -0,0 +1,56 @@
+package com.proxym.recommendation.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body rendered once: the raw bytes, a gzipped copy when that
+ * is actually smaller (otherwise {@code null}), and a strong ETag derived
+ * from the content, so it stays valid across restarts and instances.
+ */
+public record SerializedBody(byte[] json, byte[] gzip, String etag) {
+
+    private static final String GZIP_SUFFIX = "-gzip\"";
+
+    public static SerializedBody of(byte[] json) {
+        byte[] gzip = gzip(json);
+        return new SerializedBody(json, gzip.length < json.length ? gzip : null,
+                "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+    }
+
+    /**
+     * Tag of the gzipped representation; a different encoding is a different
+     * representation, so it gets its own strong validator.
+     */
+    public String gzipEtag() {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX;
+    }
+
+    /**
+     * True when an {@code If-None-Match} header names either representation
+     * of this body, or is {@code *}.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2); // Weak comparison, as GET allows
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag())) return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
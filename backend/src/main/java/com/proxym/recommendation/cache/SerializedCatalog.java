@@ -0,0 +1,81 @@
+package com.proxym.recommendation.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response bytes of the catalog endpoints, serialized and gzipped once per
+ * {@link ProductCatalog} version instead of on every poll. A catalog swap
+ * makes the next request render a fresh set; nothing is evicted eagerly.
+ */
+@Component
+public class SerializedCatalog {
+
+    private final ProductCatalog productCatalog;
+    private final ObjectMapper objectMapper;
+
+    private volatile Rendering rendering = new Rendering(-1);
+
+    public SerializedCatalog(ProductCatalog productCatalog, ObjectMapper objectMapper) {
+        this.productCatalog = productCatalog;
+        this.objectMapper = objectMapper;
+    }
+
+    public SerializedBody all() {
+        Rendering current = current();
+        SerializedBody body = current.all;
+        if (body == null) {
+            body = serialize(productCatalog.all());
+            current.all = body;
+        }
+        return body;
+    }
+
+    public Optional<SerializedBody> find(Long id) {
+        Rendering current = current();
+        SerializedBody cached = current.products.get(id);
+        if (cached != null) return Optional.of(cached);
+        return productCatalog.find(id).map(product -> {
+            SerializedBody body = serialize(product);
+            current.products.put(id, body);
+            return body;
+        });
+    }
+
+    /**
+     * The version is read before the products, so a set is at worst labelled
+     * older than its content and gets rendered again, never the reverse.
+     */
+    private Rendering current() {
+        long version = productCatalog.version();
+        Rendering current = rendering;
+        if (current.version != version) {
+            current = new Rendering(version);
+            rendering = current;
+        }
+        return current;
+    }
+
+    private SerializedBody serialize(Object value) {
+        try {
+            return SerializedBody.of(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the product catalog", e);
+        }
+    }
+
+    private static final class Rendering {
+        final long version;
+        final Map<Long, SerializedBody> products = new ConcurrentHashMap<>();
+        volatile SerializedBody all; // Racing renders produce identical bytes; last write wins
+
+        Rendering(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -1,13 +1,212 @@
 package com.proxym.recommendation.config;
 
+import com.proxym.recommendation.ai.AbortableCall;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
+
+    @Value("${ai.module.client.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${ai.module.client.connect-timeout-ms:500}")
+    private long connectTimeoutMs;
+
+    @Value("${ai.module.client.read-timeout-ms:2000}")
+    private long readTimeoutMs;
+
+    @Value("${ai.module.client.pool-acquire-timeout-ms:200}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${ai.module.client.idle-eviction-seconds:30}")
+    private long idleEvictionSeconds;
+
+    @Value("${recommendation.batch.parallelism:4}")
+    private int batchParallelism;
+
+    @Value("${recommendation.async.pool-size:32}")
+    private int recommendationPoolSize;
+
+    @Value("${recommendation.async.queue-capacity:200}")
+    private int recommendationQueueCapacity;
+
+    @Value("${events.dispatch-threads:4}")
+    private int eventDispatchThreads;
+
+    @Value("${users.write.pool-size:8}")
+    private int userWritePoolSize;
+
+    @Value("${users.write.queue-capacity:64}")
+    private int userWriteQueueCapacity;
+
+    /**
+     * RestTemplate backed by a pool of persistent (keep-alive) connections with
+     * bounded connect, read and pool-acquire times, so a stalled AI module can
+     * never pin a request thread indefinitely. Pool usage is published as the
+     * {@code httpcomponents.httpclient.pool.*} meters tagged {@code httpclient=ai-module}.
+     * Requests attach to the running {@link AbortableCall} so a caller past its
+     * deadline can abort them.
+     */
+    @Bean
+    public RestTemplate restTemplate(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(idleEvictionSeconds / 2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "ai-module").bindTo(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictionSeconds))
+                .disableAutomaticRetries() // The circuit breaker decides, not a silent retry
+                .build();
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient) {
+            @Override
+            protected void postProcessHttpRequest(ClassicHttpRequest request) {
+                if (request instanceof Cancellable cancellable) AbortableCall.attach(cancellable);
+            }
+        });
+    }
+
+    /**
+     * Declaring our own executors makes Boot back off from its default one, so
+     * it is re-declared here. Only MVC async requests run on it: streamed
+     * responses (NDJSON listings, batch recommendations, exports) that can hold
+     * a thread for minutes. Sized by {@code spring.task.execution.pool.*};
+     * with no queue, a stream over the limit is answered 503 instead of
+     * waiting behind the open ones.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Database work that follows a password hash (saving a signup, storing an
+     * upgraded hash), kept off both the BCrypt pool and the streaming pool so
+     * neither can stall logins. A full queue fails the signup with a 503.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public ThreadPoolTaskExecutor userWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(userWritePoolSize);
+        executor.setMaxPoolSize(userWritePoolSize);
+        executor.setQueueCapacity(userWriteQueueCapacity);
+        executor.setThreadNamePrefix("user-write-");
+        return executor;
+    }
+
+    /**
+     * Coordinator thread of the legacy-password migration; the job hashes on
+     * its own per-run pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordMigrationExecutor() {
+        return jobExecutor("password-migration-job-");
+    }
+
+    /**
+     * Workers for batch recommendation micro-batches (user load, AI round trip,
+     * in-memory product join).
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchRecommendationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(batchParallelism);
+        executor.setMaxPoolSize(batchParallelism);
+        executor.setThreadNamePrefix("batch-reco-");
+        return executor;
+    }
+
+    /**
+     * Runs the stages of single-user recommendations (user load, AI call) so
+     * servlet threads are released while they wait. The bounded queue turns
+     * overload into an immediate 503 instead of an ever-growing backlog.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor recommendationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(recommendationPoolSize);
+        executor.setMaxPoolSize(recommendationPoolSize);
+        executor.setQueueCapacity(recommendationQueueCapacity);
+        executor.setThreadNamePrefix("reco-");
+        return executor;
+    }
+
+    /**
+     * Writes queued events to open event streams. A subscriber has at most one
+     * drain task queued at a time, so the queue is bounded by the number of
+     * subscribers.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor userEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(eventDispatchThreads);
+        executor.setMaxPoolSize(eventDispatchThreads);
+        executor.setThreadNamePrefix("events-");
+        return executor;
+    }
+
+    /**
+     * Coordinator thread of the recommendation precompute job; chunks run on
+     * its own per-run pool.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor recommendationPrecomputeExecutor() {
+        return jobExecutor("reco-precompute-job-");
+    }
+
+    /**
+     * Coordinator thread of the one-time balance reconciliation.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor balanceReconciliationExecutor() {
+        return jobExecutor("balance-reconciliation-");
+    }
+
+    /**
+     * One thread per background job. Jobs refuse to start while a run is in
+     * progress, so the one-slot queue only covers the moment a finishing run
+     * still holds the thread.
+     */
+    private static ThreadPoolTaskExecutor jobExecutor(String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
     }
 }
@@ -0,0 +1,86 @@
+package com.proxym.recommendation.config;
+
+import com.proxym.recommendation.datasource.ReadYourWritesAspect;
+import com.proxym.recommendation.datasource.ReplicaLagMonitor;
+import com.proxym.recommendation.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary/replica split, enabled with {@code datasource.replica.enabled=true}.
+ * Each side gets its own Hikari pool ({@code spring.datasource.hikari.*} and
+ * {@code datasource.replica.hikari.*}); the application sees a single
+ * {@link DataSource} that picks one per transaction. Without the flag Boot's
+ * single pooled DataSource is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true); // A write routed here by mistake fails instead of diverging
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${datasource.replica.max-lag:2s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primary, replica, maxLag, meterRegistry);
+    }
+
+    /**
+     * What JPA, JdbcTemplate and the transaction manager use.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routing) {
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${datasource.replica.lag-query}") String lagQuery,
+            ReplicaRoutingDataSource routing, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, lagQuery, routing, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesAspect readYourWritesAspect() {
+        return new ReadYourWritesAspect();
+    }
+}
@@ -1,7 +1,9 @@
 package com.proxym.recommendation.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -12,9 +14,32 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    @Value("${security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.bcrypt.pool-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int hashingPoolSize;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    /**
+     * CPU-bound BCrypt work only; at most one thread per core, and a bounded
+     * queue so overload is rejected rather than buffered.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hashingPoolSize);
+        executor.setMaxPoolSize(hashingPoolSize);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        return executor;
     }
 
     @Bean
@@ -1,13 +1,16 @@
 package com.proxym.recommendation.controller;
 
+import com.proxym.recommendation.dto.PasswordHashingStatsDTO;
 import com.proxym.recommendation.dto.UserDTO;
 import com.proxym.recommendation.model.User;
+import com.proxym.recommendation.security.PasswordHasher;
 import com.proxym.recommendation.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for authentication and user onboarding.
@@ -20,21 +23,33 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
     /**
      * Registers a new user with secure password hashing.
+     * Hashing runs on the bounded BCrypt pool; a full queue answers 429.
      */
     @PostMapping("/signup")
-    public ResponseEntity<UserDTO> registerUser(@RequestBody User user) {
-        return ResponseEntity.ok(userService.createUser(user));
+    public CompletableFuture<ResponseEntity<UserDTO>> registerUser(@RequestBody User user) {
+        return userService.createUser(user).thenApply(ResponseEntity::ok);
     }
 
     /**
      * Authenticates a user and returns their profile (sans sensitive data).
      */
     @PostMapping("/login")
-    public ResponseEntity<UserDTO> login(@RequestBody Map<String, String> credentials) {
+    public CompletableFuture<ResponseEntity<UserDTO>> login(@RequestBody Map<String, String> credentials) {
         String email = credentials.get("email");
         String password = credentials.get("password");
-        return ResponseEntity.ok(userService.login(email, password));
+        return userService.login(email, password).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Queue depth, rejections and hash times of the BCrypt pool.
+     */
+    @GetMapping("/hashing/stats")
+    public PasswordHashingStatsDTO getHashingStats() {
+        return passwordHasher.stats();
     }
 }
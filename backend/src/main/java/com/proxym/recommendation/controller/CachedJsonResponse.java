@@ -0,0 +1,57 @@
+package com.proxym.recommendation.controller;
+
+import com.proxym.recommendation.cache.SerializedBody;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+
+/**
+ * Conditional response for a pre-rendered JSON body: 304 when the client's
+ * {@code If-None-Match} is current, otherwise the stored bytes, gzipped ones
+ * if the client accepts them. {@code Cache-Control: no-cache} lets browsers
+ * keep the body but revalidate on every use.
+ */
+final class CachedJsonResponse {
+
+    private CachedJsonResponse() {
+    }
+
+    static ResponseEntity<byte[]> of(SerializedBody body, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = body.gzip() != null && acceptsGzip(acceptEncoding);
+        String etag = gzip ? body.gzipEtag() : body.etag();
+        if (body.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? body.gzip() : body.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equals("gzip")) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) return !"0".equals(param.substring(2).replaceFirst("\\.0*$", ""));
+            }
+            return true;
+        }
+        return false;
+    }
+}
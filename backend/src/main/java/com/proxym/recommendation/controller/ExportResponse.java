@@ -0,0 +1,42 @@
+package com.proxym.recommendation.controller;
+
+import com.proxym.recommendation.exporter.ExportFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Download response for an export: the body is produced while it is sent,
+ * optionally as a {@code .gz} file.
+ */
+final class ExportResponse {
+
+    private ExportResponse() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> of(String baseName, ExportFormat format, boolean gzip, Body body) {
+        String fileName = baseName + format.extension() + (gzip ? ".gz" : "");
+        StreamingResponseBody stream = out -> {
+            if (!gzip) {
+                body.write(out);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 1 << 16);
+            body.write(compressed);
+            compressed.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(stream);
+    }
+
+    interface Body {
+        void write(OutputStream out);
+    }
+}
@@ -4,11 +4,10 @@ import com.proxym.recommendation.dto.FinancialProductDTO;
 import com.proxym.recommendation.model.FinancialProduct;
 import com.proxym.recommendation.service.FinancialProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST controller for managing the financial product catalog.
  */
@@ -20,14 +19,22 @@ public class FinancialProductController {
     @Autowired
     private FinancialProductService productService;
 
+    /**
+     * Pre-rendered JSON (gzipped when the client accepts it) with a content
+     * ETag; a matching {@code If-None-Match} gets a bodyless 304.
+     */
     @GetMapping
-    public List<FinancialProductDTO> getAllProducts() {
-        return productService.getAllProducts();
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return CachedJsonResponse.of(productService.getAllProductsSerialized(), ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<FinancialProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return CachedJsonResponse.of(productService.getProductSerializedById(id), ifNoneMatch, acceptEncoding);
     }
 
     @PostMapping
@@ -0,0 +1,99 @@
+package com.proxym.recommendation.controller;
+
+import com.proxym.recommendation.cache.PrecomputedRecommendations;
+import com.proxym.recommendation.dto.BalanceReconciliationProgressDTO;
+import com.proxym.recommendation.dto.PasswordMigrationProgressDTO;
+import com.proxym.recommendation.dto.PrecomputeProgressDTO;
+import com.proxym.recommendation.dto.RebuildResultDTO;
+import com.proxym.recommendation.security.LegacyPasswordMigration;
+import com.proxym.recommendation.service.SpendingSummaryService;
+import com.proxym.recommendation.service.impl.BalanceReconciliation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for background maintenance jobs.
+ */
+@RestController
+@RequestMapping("/api/maintenance")
+@CrossOrigin(origins = "*")
+public class MaintenanceController {
+
+    @Autowired
+    private LegacyPasswordMigration legacyPasswordMigration;
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private PrecomputedRecommendations precomputedRecommendations;
+
+    @Autowired
+    private BalanceReconciliation balanceReconciliation;
+
+    /**
+     * Progress of the legacy-password migration (checkpoint, counts, status).
+     */
+    @GetMapping("/password-migration")
+    public PasswordMigrationProgressDTO getPasswordMigrationProgress() {
+        return legacyPasswordMigration.progress();
+    }
+
+    /**
+     * Starts another pass; resumes from the checkpoint if the last one did not finish.
+     */
+    @PostMapping("/password-migration")
+    public ResponseEntity<PasswordMigrationProgressDTO> startPasswordMigration() {
+        boolean started = legacyPasswordMigration.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(legacyPasswordMigration.progress());
+    }
+
+    /**
+     * Recomputes every spending aggregate from the transactions table in one
+     * set-based statement. Repairs drift; best run while writes are quiet.
+     */
+    @PostMapping("/spending-aggregates/rebuild")
+    public RebuildResultDTO rebuildSpendingAggregates() {
+        return spendingSummaryService.rebuildAll();
+    }
+
+    /**
+     * Progress of the last or current recommendation precompute run.
+     */
+    @GetMapping("/recommendation-precompute")
+    public PrecomputeProgressDTO getRecommendationPrecomputeProgress() {
+        return precomputedRecommendations.progress();
+    }
+
+    /**
+     * Starts a precompute run now instead of waiting for the schedule.
+     */
+    @PostMapping("/recommendation-precompute")
+    public ResponseEntity<PrecomputeProgressDTO> startRecommendationPrecompute() {
+        boolean started = precomputedRecommendations.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(precomputedRecommendations.progress());
+    }
+
+    /**
+     * Progress of the balance reconciliation of transactions recorded before
+     * balances followed them.
+     */
+    @GetMapping("/balance-reconciliation")
+    public BalanceReconciliationProgressDTO getBalanceReconciliationProgress() {
+        return balanceReconciliation.progress();
+    }
+
+    /**
+     * Starts another pass; resumes from the checkpoint if the last one did not finish.
+     */
+    @PostMapping("/balance-reconciliation")
+    public ResponseEntity<BalanceReconciliationProgressDTO> startBalanceReconciliation() {
+        boolean started = balanceReconciliation.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(balanceReconciliation.progress());
+    }
+}
@@ -0,0 +1,35 @@
+package com.proxym.recommendation.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one JSON document per line straight to a response stream, so
+ * nothing but the current row is ever held in memory.
+ */
+class NdjsonWriter {
+
+    private static final int NEWLINE = '\n';
+
+    private final ObjectWriter writer;
+    private final OutputStream out;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.out = out;
+    }
+
+    void write(Object value) {
+        try {
+            writer.writeValue(out, value);
+            out.write(NEWLINE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Client went away; abort the underlying cursor
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.proxym.recommendation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxym.recommendation.dto.AiClientStatusDTO;
+import com.proxym.recommendation.dto.CacheStatsDTO;
+import com.proxym.recommendation.dto.FeatureVectorDTO;
 import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.dto.RecommendationPageDTO;
 import com.proxym.recommendation.service.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for fetching personalized financial product recommendations.
@@ -18,14 +27,73 @@ public class RecommendationController {
     @Autowired
     private RecommendationService recommendationService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Generates and returns a list of recommended products for a user.
+     * Handled asynchronously: the servlet thread is released while the user
+     * load and the AI call run, so slow AI responses cannot starve other APIs.
      * 
      * @param userId The ID of the user.
+     * @param limit  Optional number of products, best first (default
+     *               {@code recommendation.ranking.default-limit}).
      * @return List of DTOs representing the recommended products.
      */
     @GetMapping("/{userId}")
-    public List<FinancialProductDTO> getRecommendations(@PathVariable Long userId) {
-        return recommendationService.getRecommendations(userId);
+    public CompletableFuture<List<FinancialProductDTO>> getRecommendations(@PathVariable Long userId,
+            @RequestParam(required = false) Integer limit) {
+        return recommendationService.getRecommendationsAsync(userId, limit);
+    }
+
+    /**
+     * The same ranking as a page with ranks and scores.
+     */
+    @GetMapping("/{userId}/ranked")
+    public CompletableFuture<RecommendationPageDTO> getRankedRecommendations(@PathVariable Long userId,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        return recommendationService.getRankedRecommendationsAsync(userId, offset, limit);
+    }
+
+    /**
+     * Recommendations for many users at once, streamed back as NDJSON (one
+     * result per line) as micro-batches complete.
+     *
+     * @param userIds The IDs of the users; unknown ids yield an error line.
+     */
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getBatchRecommendations(@RequestBody List<Long> userIds) {
+        recommendationService.validateBatchRequest(userIds);
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            recommendationService.streamBatchRecommendations(userIds, writer::write);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * The model input vector currently stored for a user, with its version
+     * and age.
+     */
+    @GetMapping("/features/{userId}")
+    public FeatureVectorDTO getFeatures(@PathVariable Long userId) {
+        return recommendationService.getFeatures(userId);
+    }
+
+    /**
+     * Hit/miss/eviction counters of the recommendation result cache.
+     */
+    @GetMapping("/cache/stats")
+    public CacheStatsDTO getCacheStats() {
+        return recommendationService.getCacheStats();
+    }
+
+    /**
+     * Circuit breaker state, bulkhead usage and latency of the AI module client.
+     */
+    @GetMapping("/ai/status")
+    public AiClientStatusDTO getAiStatus() {
+        return recommendationService.getAiStatus();
     }
 }
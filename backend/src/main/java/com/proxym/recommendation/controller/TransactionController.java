@@ -1,13 +1,31 @@
 package com.proxym.recommendation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxym.recommendation.dto.ImportReportDTO;
+import com.proxym.recommendation.dto.TransactionBatchResultDTO;
 import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.TransactionFilter;
+import com.proxym.recommendation.dto.TransactionPageDTO;
+import com.proxym.recommendation.exporter.DataExporter;
+import com.proxym.recommendation.exporter.ExportFormat;
+import com.proxym.recommendation.importer.ImportFormat;
+import com.proxym.recommendation.importer.TransactionImporter;
 import com.proxym.recommendation.model.Transaction;
 import com.proxym.recommendation.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 /**
  * REST controller for managing customer transactions.
@@ -20,16 +38,88 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionImporter transactionImporter;
+
+    @Autowired
+    private DataExporter dataExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public List<TransactionDTO> getAllTransactions() {
         return transactionService.getAllTransactions();
     }
 
+    /**
+     * Keyset-paginated listing, newest first. Pass the returned
+     * {@code nextCursor} back as {@code cursor} to fetch the following page.
+     */
+    @GetMapping("/page")
+    public TransactionPageDTO getTransactionPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String category) {
+        return transactionService.getTransactionPage(new TransactionFilter(null, from, to, category), cursor, size);
+    }
+
+    /**
+     * Unpaged listing streamed as NDJSON in constant memory.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String category) {
+        return ndjson(new TransactionFilter(null, from, to, category));
+    }
+
+    /**
+     * Compliance export as a CSV or NDJSON download, oldest first, read
+     * through a JDBC cursor so memory stays flat whatever the row count.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String category) {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        TransactionFilter filter = new TransactionFilter(userId, from, to, category);
+        return ExportResponse.of("transactions", exportFormat, gzip,
+                out -> dataExporter.exportTransactions(filter, exportFormat, out));
+    }
+
     @GetMapping("/user/{userId}")
     public List<TransactionDTO> getTransactionsByUserId(@PathVariable Long userId) {
         return transactionService.getTransactionsByUserId(userId);
     }
 
+    @GetMapping("/user/{userId}/page")
+    public TransactionPageDTO getTransactionPageByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String category) {
+        return transactionService.getTransactionPage(new TransactionFilter(userId, from, to, category), cursor, size);
+    }
+
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactionsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String category) {
+        return ndjson(new TransactionFilter(userId, from, to, category));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionDTO> getTransactionById(@PathVariable Long id) {
         return ResponseEntity.ok(transactionService.getTransactionById(id));
@@ -40,6 +130,35 @@ public class TransactionController {
         return ResponseEntity.ok(transactionService.createTransaction(transaction));
     }
 
+    /**
+     * Bulk ingestion for processor feeds. Items are validated as a group and
+     * the response reports the outcome of each item by its position.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<TransactionBatchResultDTO> createTransactions(@RequestBody List<TransactionDTO> transactions) {
+        return ResponseEntity.ok(transactionService.createTransactions(transactions));
+    }
+
+    /**
+     * Streams a CSV or NDJSON history file from the request body into the
+     * database (see TransactionImporter). The format comes from
+     * {@code format}, else the content type; gzip bodies are accepted with
+     * {@code Content-Encoding: gzip}.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE })
+    public ResponseEntity<ImportReportDTO> importTransactions(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "0") long startAfterLine) throws IOException {
+        InputStream input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 1 << 16) : body;
+        ImportReportDTO report = transactionImporter.importFrom(input, ImportFormat.resolve(format, contentType),
+                "request body", startAfterLine);
+        HttpStatus status = "COMPLETED".equals(report.getStatus()) ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(report);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TransactionDTO> updateTransaction(@PathVariable Long id,
             @RequestBody Transaction transactionDetails) {
@@ -51,4 +170,12 @@ public class TransactionController {
         transactionService.deleteTransaction(id);
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(TransactionFilter filter) {
+        StreamingResponseBody body = out -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+            transactionService.streamTransactions(filter, writer::write);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
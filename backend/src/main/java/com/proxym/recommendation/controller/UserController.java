@@ -1,13 +1,25 @@
 package com.proxym.recommendation.controller;
 
+import com.proxym.recommendation.cache.EmailBloomFilter;
+import com.proxym.recommendation.dto.EmailFilterStatsDTO;
+import com.proxym.recommendation.dto.RebuildResultDTO;
+import com.proxym.recommendation.dto.SpendingSummaryDTO;
 import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.event.UserEventHub;
+import com.proxym.recommendation.exporter.DataExporter;
+import com.proxym.recommendation.exporter.ExportFormat;
 import com.proxym.recommendation.model.User;
+import com.proxym.recommendation.service.SpendingSummaryService;
 import com.proxym.recommendation.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for administrative user management.
@@ -20,24 +32,91 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private DataExporter dataExporter;
+
+    @Autowired
+    private UserEventHub userEventHub;
+
     @GetMapping
     public List<UserDTO> getAllUsers() {
         return userService.getAllUsers();
     }
 
+    /**
+     * Compliance export of all users (never the password hash) as a CSV or
+     * NDJSON download, read through a JDBC cursor.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String role) {
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        return ExportResponse.of("users", exportFormat, gzip, out -> dataExporter.exportUsers(role, exportFormat, out));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
 
+    /**
+     * Server-Sent Events for this user: {@code transaction} (created, updated
+     * or deleted, once committed) and {@code recommendation} (the new product
+     * list, when a change alters it). The request is async, so an open stream
+     * holds no request thread.
+     */
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable Long id) {
+        userService.getUserById(id); // 404 before the stream opens
+        return userEventHub.subscribe(id);
+    }
+
+    /**
+     * Size, fill and hit counters of the email Bloom filter used by signups.
+     */
+    @GetMapping("/email-filter/stats")
+    public EmailFilterStatsDTO getEmailFilterStats() {
+        return emailBloomFilter.stats();
+    }
+
+    /**
+     * Totals per category and per month, read from the incrementally
+     * maintained aggregates (never a scan of the transactions).
+     *
+     * @param from Optional inclusive lower bound, yyyy-MM.
+     * @param to   Optional inclusive upper bound, yyyy-MM.
+     */
+    @GetMapping("/{id}/spending-summary")
+    public SpendingSummaryDTO getSpendingSummary(@PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        return spendingSummaryService.getSummary(id, from, to);
+    }
+
+    /**
+     * Recomputes this user's aggregates from their transactions to repair drift.
+     */
+    @PostMapping("/{id}/spending-summary/rebuild")
+    public RebuildResultDTO rebuildSpendingSummary(@PathVariable Long id) {
+        return spendingSummaryService.rebuildForUser(id);
+    }
+
     @PostMapping
-    public ResponseEntity<UserDTO> createUser(@RequestBody User user) {
-        return ResponseEntity.ok(userService.createUser(user));
+    public CompletableFuture<ResponseEntity<UserDTO>> createUser(@RequestBody User user) {
+        return userService.createUser(user).thenApply(ResponseEntity::ok);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<UserDTO> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
-        return ResponseEntity.ok(userService.updateUser(id, userDetails));
+    public CompletableFuture<ResponseEntity<UserDTO>> updateUser(@PathVariable Long id, @RequestBody User userDetails) {
+        return userService.updateUser(id, userDetails).thenApply(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{id}")
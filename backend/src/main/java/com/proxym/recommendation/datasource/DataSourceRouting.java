@@ -0,0 +1,160 @@
+package com.proxym.recommendation.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for the reads a block of code makes. Only
+ * read-only transactions are ever sent to the replica, and only when
+ * {@code datasource.replica.enabled} is set; without it these are no-ops.
+ * <p>
+ * Writes are tracked per user: services report the users whose data they
+ * changed, and a read pinned to a user goes to the primary only while that
+ * user has a commit the replica may not have applied yet.
+ */
+public final class DataSourceRouting {
+
+    record Pin(boolean primary, Set<Long> userIds) {
+    }
+
+    private static final Pin PRIMARY = new Pin(true, Set.of());
+    private static final int MIN_PRUNE_SIZE = 4096;
+
+    private static final ThreadLocal<Pin> PIN = new ThreadLocal<>();
+    private static final Map<Long, Long> LAST_WRITES = new ConcurrentHashMap<>(); // userId -> commit time, nanoTime
+
+    private static volatile long writeWindowNanos; // 0 while no replica is configured: nothing is tracked
+    private static volatile int pruneAt = MIN_PRUNE_SIZE;
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Reads inside {@code work} go to the primary while a write to this user,
+     * committed by this instance, may not have reached the replica yet.
+     */
+    public static <T> T readYourWrites(Long userId, Supplier<T> work) {
+        return pinned(new Pin(false, Set.of(userId)), work);
+    }
+
+    /**
+     * Same, for reads covering several users: any recent write among them
+     * sends the reads to the primary.
+     */
+    public static <T> T readYourWrites(Collection<? extends Long> userIds, Supplier<T> work) {
+        return pinned(new Pin(false, Set.<Long>copyOf(userIds)), work);
+    }
+
+    /**
+     * Reads inside {@code work} always go to the primary; for rows that are
+     * about to be modified and saved back.
+     */
+    public static <T> T primary(Supplier<T> work) {
+        return pinned(PRIMARY, work);
+    }
+
+    /**
+     * Records that the current transaction changed these users' data; the
+     * clock starts when it commits, which is when the replica can start
+     * applying it. Outside a transaction it starts now.
+     */
+    public static void recordWrites(Collection<? extends Long> userIds) {
+        if (writeWindowNanos == 0 || userIds.isEmpty()) return;
+        Set<Long> ids = Set.copyOf(userIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            markWritten(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWritten(ids);
+            }
+        });
+    }
+
+    /**
+     * Whether a read of this user's data should go to the primary.
+     */
+    public static boolean wroteRecently(Long userId) {
+        Long written = LAST_WRITES.get(userId);
+        return written != null && System.nanoTime() - written < writeWindowNanos;
+    }
+
+    static boolean wroteRecently(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            if (wroteRecently(userId)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Set by the routing data source to its tolerated replica lag.
+     */
+    static void trackWrites(Duration window) {
+        writeWindowNanos = window.toNanos();
+    }
+
+    static Pin current() {
+        return PIN.get();
+    }
+
+    /**
+     * Sets the pin and returns the previous one for {@link #restore(Pin)}. A
+     * primary pin already in place is kept; nested user pins add up.
+     */
+    static Pin enter(Pin pin) {
+        Pin previous = PIN.get();
+        if (previous == null) {
+            PIN.set(pin);
+        } else if (!previous.primary()) {
+            if (pin.primary()) {
+                PIN.set(pin);
+            } else {
+                Set<Long> userIds = new HashSet<>(previous.userIds());
+                userIds.addAll(pin.userIds());
+                PIN.set(new Pin(false, userIds));
+            }
+        }
+        return previous;
+    }
+
+    static void restore(Pin previous) {
+        if (previous == null) {
+            PIN.remove();
+        } else {
+            PIN.set(previous);
+        }
+    }
+
+    private static <T> T pinned(Pin pin, Supplier<T> work) {
+        Pin previous = enter(pin);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Entries older than the window are dropped once the map has doubled
+     * since the last sweep, so it stays proportional to the users written
+     * within one window.
+     */
+    private static void markWritten(Set<Long> userIds) {
+        long now = System.nanoTime();
+        userIds.forEach(userId -> LAST_WRITES.put(userId, now));
+        if (LAST_WRITES.size() < pruneAt) return;
+        long window = writeWindowNanos;
+        LAST_WRITES.values().removeIf(written -> now - written >= window);
+        pruneAt = Math.max(MIN_PRUNE_SIZE, 2 * LAST_WRITES.size());
+    }
+}
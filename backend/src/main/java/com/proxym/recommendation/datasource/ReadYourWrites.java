@@ -0,0 +1,25 @@
+package com.proxym.recommendation.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose callers expect to see what they
+ * just wrote (a profile after an edit, a list after an insert). It reads
+ * from the primary for {@code datasource.replica.max-lag} after this
+ * instance last committed a write to the user named by the parameter
+ * {@link #value()}, and from the replica otherwise.
+ *
+ * @see DataSourceRouting#readYourWrites(Long, java.util.function.Supplier)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadYourWrites {
+
+    /**
+     * Name of the parameter holding the user id.
+     */
+    String value() default "userId";
+}
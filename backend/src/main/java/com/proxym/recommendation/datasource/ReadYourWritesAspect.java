@@ -0,0 +1,39 @@
+package com.proxym.recommendation.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.util.Set;
+
+/**
+ * Applies {@link ReadYourWrites}. Runs around the transaction as well as
+ * inside it: the connection is only chosen when the first statement runs.
+ */
+@Aspect
+public class ReadYourWritesAspect {
+
+    @Around("@annotation(readYourWrites)")
+    public Object pin(ProceedingJoinPoint call, ReadYourWrites readYourWrites) throws Throwable {
+        DataSourceRouting.Pin previous = DataSourceRouting.enter(
+                new DataSourceRouting.Pin(false, userIds(call, readYourWrites.value())));
+        try {
+            return call.proceed();
+        } finally {
+            DataSourceRouting.restore(previous);
+        }
+    }
+
+    private static Set<Long> userIds(ProceedingJoinPoint call, String parameter) {
+        String[] names = ((MethodSignature) call.getSignature()).getParameterNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(parameter)) {
+                Long userId = (Long) call.getArgs()[i];
+                return userId == null ? Set.of() : Set.of(userId);
+            }
+        }
+        throw new IllegalStateException("@ReadYourWrites parameter " + parameter + " not found on "
+                + call.getSignature().toShortString());
+    }
+}
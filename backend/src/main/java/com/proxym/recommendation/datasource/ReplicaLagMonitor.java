@@ -0,0 +1,56 @@
+package com.proxym.recommendation.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica for its replay delay and takes it out of rotation while
+ * that exceeds the configured tolerance, or while the probe fails. The last
+ * reading is published as {@code datasource.replica.lag} (seconds).
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final ReplicaRoutingDataSource routing;
+
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, ReplicaRoutingDataSource routing,
+            MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.routing = routing;
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replay delay of the read replica at the last probe, NaN when it failed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.in_sync", routing, r -> r.isReplicaInSync() ? 1 : 0)
+                .description("1 while read-only transactions may use the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        try {
+            Double lag = replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag == null ? 0 : lag; // NULL: not replaying at all, e.g. pointed at a primary
+            routing.setReplicaInSync(lagSeconds * 1e9 <= routing.maxLag().toNanos());
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            if (routing.isReplicaInSync()) {
+                log.atWarn().addKeyValue("error", e.getMessage()).log("Replica lag probe failed");
+            }
+            routing.setReplicaInSync(false);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.proxym.recommendation.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Hands out replica connections to read-only transactions and primary
+ * connections to everything else. It must sit behind a
+ * {@link LazyConnectionDataSourceProxy}: the transaction manager opens the
+ * connection before the read-only flag is published, the proxy defers the
+ * choice to the first statement.
+ * <p>
+ * Reads stay on the primary while the replica lags more than
+ * {@code maxLag}. {@link DataSourceRouting Pinned} reads do as well for
+ * {@code maxLag} after this instance committed a write to one of their
+ * users, so one user's writes never move other users' reads. Choices are
+ * counted by the {@code datasource.routing} meter.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final long maxLagNanos;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    private volatile boolean replicaInSync = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag,
+            MeterRegistry meterRegistry) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.maxLagNanos = maxLag.toNanos();
+        DataSourceRouting.trackWrites(maxLag);
+        this.primaryRoutes = routes(meterRegistry, Target.PRIMARY);
+        this.replicaRoutes = routes(meterRegistry, Target.REPLICA);
+    }
+
+    public Duration maxLag() {
+        return Duration.ofNanos(maxLagNanos);
+    }
+
+    /**
+     * Called by the lag monitor; while {@code false} every read uses the primary.
+     */
+    public void setReplicaInSync(boolean inSync) {
+        if (inSync != replicaInSync) {
+            if (inSync) {
+                log.info("Replica caught up, read-only transactions use it again");
+            } else {
+                log.warn("Replica lags more than {} or is unreachable, reading from the primary", maxLag());
+            }
+        }
+        replicaInSync = inSync;
+    }
+
+    public boolean isReplicaInSync() {
+        return replicaInSync;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = route();
+        (target == Target.REPLICA ? replicaRoutes : primaryRoutes).increment();
+        return target;
+    }
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return Target.PRIMARY;
+        if (!replicaInSync) return Target.PRIMARY;
+        DataSourceRouting.Pin pin = DataSourceRouting.current();
+        if (pin == null) return Target.REPLICA;
+        return pin.primary() || DataSourceRouting.wroteRecently(pin.userIds()) ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out, by pool")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
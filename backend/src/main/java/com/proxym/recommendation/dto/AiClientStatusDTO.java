@@ -0,0 +1,23 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiClientStatusDTO {
+    private String circuitState; // CLOSED, OPEN, HALF_OPEN
+    private double failureRate; // Percentage over the breaker's sliding window
+    private int inFlight;
+    private int maxConcurrentCalls;
+    private long calls;
+    private long failures;
+    private long shortCircuited; // Rejected by the open breaker
+    private long bulkheadRejected; // Rejected because too many calls were in flight
+    private double averageLatencyMs;
+    private double maxLatencyMs;
+}
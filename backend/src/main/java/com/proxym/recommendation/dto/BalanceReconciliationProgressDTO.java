@@ -0,0 +1,22 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceReconciliationProgressDTO {
+    private String status; // IDLE, RUNNING, COMPLETED, FAILED
+    private Long lastId; // Checkpoint: transactions up to this id are done
+    private long applied; // Transactions whose amount was taken from the balance in the current pass
+    private long users; // Balances changed in the current pass (a user counts once per page)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,17 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long evictions; // Removed by size or TTL
+    private long invalidations; // Removed because the underlying data changed
+    private long size;
+    private double hitRate;
+}
@@ -0,0 +1,26 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmailFilterStatsDTO {
+    private boolean ready; // False until the startup scan finishes; every signup probes the database meanwhile
+    private long expectedInsertions;
+    private double configuredFalsePositiveRate;
+    private double estimatedFalsePositiveRate; // From the current fill ratio
+    private long bits;
+    private long memoryBytes;
+    private int hashFunctions;
+    private long loaded; // Emails read by the startup scan
+    private long added; // Emails added by signups and updates since
+    private long deletedSinceBuild; // Still present in the filter; they only cost a database probe
+    private long skippedProbes; // Definitely-new emails that never reached the database
+    private long probes;
+    private long falsePositives; // Probes that found no such email
+}
@@ -0,0 +1,19 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeatureVectorDTO {
+    private Long userId;
+    private Map<String, Double> features; // In model column order
+    private long version; // Store-wide sequence; higher means computed later
+    private Instant computedAt;
+    private long ageMs;
+}
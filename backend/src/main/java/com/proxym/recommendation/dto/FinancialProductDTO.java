@@ -14,4 +14,5 @@ public class FinancialProductDTO {
     private String description;
     private Double interestRate;
     private Double minimumEntry;
+    private String riskLevel;
 }
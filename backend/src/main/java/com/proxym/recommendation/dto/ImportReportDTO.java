@@ -0,0 +1,25 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReportDTO {
+    private String source; // File name, or "request body"
+    private String format; // CSV or NDJSON
+    private String writeMode; // COPY or JDBC_BATCH
+    private String status; // COMPLETED or FAILED
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long lastCommittedLine; // Input line of the last row in a committed chunk; resume after it on failure
+    private long durationMs;
+    private long rowsPerSecond; // Rows read per second of wall-clock time
+    private String rejectedFile; // CSV of rejected rows with reasons, null if none
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PasswordHashingStatsDTO {
+    private int strength; // BCrypt work factor (log2 rounds) used for new hashes
+    private int poolSize;
+    private int active;
+    private int queueDepth;
+    private int queueCapacity;
+    private long hashes; // encode + verify operations completed
+    private long rejected; // Shed with 429 because the queue was full
+    private long upgraded; // Stored hashes re-encoded at the current strength on login
+    private double averageHashMs;
+    private double maxHashMs;
+}
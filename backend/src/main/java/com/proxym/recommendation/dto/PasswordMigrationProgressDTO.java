@@ -0,0 +1,23 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PasswordMigrationProgressDTO {
+    private String status; // IDLE, RUNNING, COMPLETED, FAILED
+    private Long lastId; // Checkpoint: users up to this id are done
+    private long scanned; // Users read in the current pass (including resumed progress)
+    private long migrated; // Plain-text passwords replaced by BCrypt hashes
+    private long remaining; // Users after the checkpoint when this run started, minus those read since
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
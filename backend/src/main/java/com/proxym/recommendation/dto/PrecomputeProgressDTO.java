@@ -0,0 +1,23 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PrecomputeProgressDTO {
+    private String status; // IDLE, RUNNING, COMPLETED, FAILED
+    private long scanned; // Users read in the current run
+    private long rescored; // Users whose features or the catalog changed, scored and written
+    private long unchanged; // Users whose stored rows were still current
+    private long failed; // Changed users left as they were because the model was unavailable
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,13 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebuildResultDTO {
+    private long rows; // Derived rows written by the rebuild
+    private long durationMs;
+}
@@ -0,0 +1,21 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's ranked recommendations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationPageDTO {
+    private String strategy;
+    private List<ScoredProductDTO> items;
+    private int offset;
+    private int total; // Ranked products available, at most recommendation.ranking.max-results
+    private boolean hasMore;
+}
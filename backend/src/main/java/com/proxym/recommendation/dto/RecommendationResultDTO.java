@@ -0,0 +1,22 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationResultDTO {
+    private Long userId;
+    private String strategy;
+    private boolean fallback; // AI module unavailable, balance-based rule applied
+    private List<FinancialProductDTO> products;
+    private String error;
+
+    public static RecommendationResultDTO failed(Long userId, String error) {
+        return new RecommendationResultDTO(userId, null, false, List.of(), error);
+    }
+}
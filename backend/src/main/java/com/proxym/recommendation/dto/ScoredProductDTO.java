@@ -0,0 +1,14 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoredProductDTO {
+    private int rank; // 1 = best
+    private double score;
+    private FinancialProductDTO product;
+}
@@ -0,0 +1,14 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingBucketDTO {
+    private String key; // Category name or yyyy-MM period
+    private Double total;
+    private Long count;
+}
@@ -0,0 +1,20 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingSummaryDTO {
+    private Long userId;
+    private String from; // Inclusive yyyy-MM bound, null when open
+    private String to;
+    private double total;
+    private long count;
+    private List<SpendingBucketDTO> byCategory; // Largest total first
+    private List<SpendingBucketDTO> byMonth; // Oldest first
+}
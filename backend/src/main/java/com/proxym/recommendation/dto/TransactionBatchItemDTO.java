@@ -0,0 +1,26 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchItemDTO {
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index; // Position in the submitted batch
+    private String status;
+    private Long id;
+    private String error;
+
+    public static TransactionBatchItemDTO created(int index, Long id) {
+        return new TransactionBatchItemDTO(index, CREATED, id, null);
+    }
+
+    public static TransactionBatchItemDTO rejected(int index, String error) {
+        return new TransactionBatchItemDTO(index, REJECTED, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchResultDTO {
+    private int received;
+    private int created;
+    private int rejected;
+    private List<TransactionBatchItemDTO> items;
+}
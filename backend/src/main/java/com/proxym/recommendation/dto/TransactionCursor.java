@@ -0,0 +1,36 @@
+package com.proxym.recommendation.dto;
+
+import com.proxym.recommendation.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position on (date, id). Clients only ever echo back the
+ * encoded value they received as {@code nextCursor}.
+ */
+public record TransactionCursor(LocalDateTime date, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TransactionCursor of(TransactionDTO last) {
+        return new TransactionCursor(last.getDate(), last.getId());
+    }
+
+    public String encode() {
+        String raw = date + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransactionCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Malformed cursor: " + encoded);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Payload of a {@code transaction} event on {@code /api/users/{id}/events}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionEventDTO {
+    private String type; // CREATED, UPDATED or DELETED
+    private TransactionDTO transaction; // For DELETED, the row as it was
+}
@@ -0,0 +1,22 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for transaction listings. Null fields are not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionFilter {
+    private Long userId;
+    private LocalDateTime from; // inclusive
+    private LocalDateTime to; // exclusive
+    private String category;
+}
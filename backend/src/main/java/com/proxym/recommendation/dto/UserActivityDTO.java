@@ -0,0 +1,15 @@
+package com.proxym.recommendation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivityDTO {
+    private Long userId;
+    private String firstPeriod; // yyyy-MM of the oldest aggregated transaction
+    private String lastPeriod; // yyyy-MM of the newest
+    private Long categories; // Distinct spending categories
+}
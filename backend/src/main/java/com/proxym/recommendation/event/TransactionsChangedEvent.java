@@ -0,0 +1,19 @@
+package com.proxym.recommendation.event;
+
+import com.proxym.recommendation.dto.TransactionDTO;
+
+import java.util.List;
+
+/**
+ * Published by the transaction service once per call that created, updated
+ * or deleted transactions. Listeners that must only see committed changes
+ * use {@code @TransactionalEventListener}.
+ */
+public record TransactionsChangedEvent(ChangeType type, List<TransactionDTO> transactions) {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    public TransactionsChangedEvent {
+        transactions = List.copyOf(transactions);
+    }
+}
@@ -0,0 +1,243 @@
+package com.proxym.recommendation.event;
+
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.TransactionEventDTO;
+import com.proxym.recommendation.exception.TooManyRequestsException;
+import com.proxym.recommendation.service.RecommendationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Event streams of per-user changes: {@code transaction} events
+ * for committed creates, updates and deletes, and {@code recommendation}
+ * events carrying the new product list when a change alters it.
+ * <p>
+ * Open streams are async requests, not servlet threads. Each subscriber has
+ * a bounded queue drained by a small dispatch pool; a subscriber whose queue
+ * overflows is too slow to keep up and is disconnected (the browser's
+ * EventSource reconnects and reloads). Comment-only heartbeats keep idle
+ * connections from being closed by proxies and reveal dead ones.
+ * <p>
+ * A client that stops reading without closing its connection blocks the
+ * socket write of its dispatch thread. Completing the emitter does not
+ * release a write blocked in the connector; its write timeout
+ * ({@code server.tomcat.connection-timeout}) does, failing the send so the
+ * stream is dropped and the thread moves on.
+ * <p>
+ * Queues hold event factories, not built events: an {@link SseEventBuilder}
+ * is mutated by every send, so each subscriber sends a builder of its own.
+ */
+@Component
+public class UserEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventHub.class);
+    private static final long RECONNECT_MS = 3000;
+
+    private final RecommendationService recommendationService;
+    private final TaskExecutor dispatchExecutor;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final int maxSubscribers;
+    private final Map<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+
+    public UserEventHub(RecommendationService recommendationService,
+            @Qualifier("userEventExecutor") TaskExecutor dispatchExecutor, MeterRegistry meterRegistry,
+            @Value("${events.buffer-size:64}") int bufferSize,
+            @Value("${events.timeout-ms:1800000}") long timeoutMs,
+            @Value("${events.max-subscribers:5000}") int maxSubscribers) {
+        this.recommendationService = recommendationService;
+        this.dispatchExecutor = dispatchExecutor;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        Gauge.builder("events.subscribers", subscribers, AtomicInteger::get)
+                .description("Open event streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("events.subscribers.dropped")
+                .description("Streams closed because their buffer overflowed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user; the caller has checked that the user exists.
+     */
+    public SseEmitter subscribe(Long userId) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new TooManyRequestsException("Too many open event streams, please retry shortly");
+        }
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs), bufferSize);
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(error -> unsubscribe(subscriber));
+        topics.compute(userId, (id, topic) -> {
+            Topic current = topic != null ? topic : new Topic();
+            current.subscribers.add(subscriber);
+            return current;
+        });
+        // Commits the response headers now, so the client sees the stream open
+        enqueue(subscriber, () -> SseEmitter.event().reconnectTime(RECONNECT_MS).comment("connected"));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Runs after the writing transaction committed, so rolled-back changes
+     * are never announced, and after the feature store dropped the affected
+     * vectors, so the recommendation refresh sees the new data.
+     */
+    @TransactionalEventListener
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (topics.isEmpty()) return;
+        String type = event.type().name();
+        for (TransactionDTO transaction : event.transactions()) {
+            Topic topic = topics.get(transaction.getUserId());
+            if (topic == null) continue;
+            TransactionEventDTO data = new TransactionEventDTO(type, transaction);
+            Supplier<SseEventBuilder> message = () -> SseEmitter.event().name("transaction").data(data);
+            topic.subscribers.forEach(subscriber -> enqueue(subscriber, message));
+        }
+        event.transactions().stream().map(TransactionDTO::getUserId).distinct()
+                .forEach(userId -> {
+                    Topic topic = topics.get(userId);
+                    if (topic != null) refreshRecommendation(userId, topic);
+                });
+    }
+
+    @Scheduled(fixedRateString = "${events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Supplier<SseEventBuilder> heartbeat = () -> SseEmitter.event().comment("heartbeat");
+        topics.values().forEach(topic -> topic.subscribers.forEach(subscriber -> enqueue(subscriber, heartbeat)));
+    }
+
+    /**
+     * At most one refresh per user runs at a time; changes arriving during
+     * it mark the topic dirty and trigger one more pass afterwards, so the
+     * last change is always reflected.
+     */
+    private void refreshRecommendation(Long userId, Topic topic) {
+        topic.dirty.set(true);
+        if (topic.refreshing.compareAndSet(false, true)) {
+            runRefresh(userId, topic);
+        }
+    }
+
+    private void runRefresh(Long userId, Topic topic) {
+        topic.dirty.set(false);
+        CompletableFuture<List<FinancialProductDTO>> refresh;
+        try {
+            refresh = recommendationService.getRecommendationsAsync(userId);
+        } catch (RuntimeException e) {
+            refresh = CompletableFuture.failedFuture(e); // Pool saturated; the next change retries
+        }
+        refresh.whenComplete((products, error) -> {
+            if (error != null) {
+                log.atDebug().addKeyValue("userId", userId).log("Recommendation refresh failed: {}", error.toString());
+            } else if (!Objects.equals(products, topic.lastRecommendation)) {
+                topic.lastRecommendation = products;
+                Supplier<SseEventBuilder> message = () -> SseEmitter.event().name("recommendation").data(products);
+                topic.subscribers.forEach(subscriber -> enqueue(subscriber, message));
+            }
+            topic.refreshing.set(false);
+            if (topic.dirty.get() && topic.refreshing.compareAndSet(false, true)) {
+                runRefresh(userId, topic);
+            }
+        });
+    }
+
+    private void enqueue(Subscriber subscriber, Supplier<SseEventBuilder> message) {
+        if (subscriber.closed) return;
+        if (!subscriber.queue.offer(message)) {
+            dropped.increment();
+            log.atInfo().addKeyValue("userId", subscriber.userId).log("Event stream too slow, disconnecting");
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Supplier<SseEventBuilder> message;
+            while (!subscriber.closed && (message = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(message.get());
+            }
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscriber); // Client went away; the container completes the request
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            dispatchExecutor.execute(() -> drain(subscriber)); // Raced with an enqueue
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        unsubscribe(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.closed) return;
+        synchronized (subscriber) {
+            if (subscriber.closed) return;
+            subscriber.closed = true;
+        }
+        subscriber.queue.clear();
+        subscribers.decrementAndGet();
+        topics.computeIfPresent(subscriber.userId, (id, topic) -> {
+            topic.subscribers.remove(subscriber);
+            return topic.subscribers.isEmpty() ? null : topic;
+        });
+    }
+
+    private static final class Topic {
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        final AtomicBoolean dirty = new AtomicBoolean();
+        volatile List<FinancialProductDTO> lastRecommendation; // Last one pushed; null until the first change
+    }
+
+    private static final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Supplier<SseEventBuilder>> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
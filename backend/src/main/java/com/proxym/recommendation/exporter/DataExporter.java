@@ -0,0 +1,138 @@
+package com.proxym.recommendation.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxym.recommendation.dto.TransactionFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.proxym.recommendation.exporter.ExportColumn.Kind.DOUBLE;
+import static com.proxym.recommendation.exporter.ExportColumn.Kind.INTEGER;
+import static com.proxym.recommendation.exporter.ExportColumn.Kind.LONG;
+import static com.proxym.recommendation.exporter.ExportColumn.Kind.TEXT;
+import static com.proxym.recommendation.exporter.ExportColumn.Kind.TIMESTAMP;
+
+/**
+ * Full-table exports for compliance. Rows are read through a forward-only
+ * JDBC cursor (fetch size {@code exports.fetch-size}, inside a read-only
+ * transaction so PostgreSQL really uses a server-side cursor) and written to
+ * the output as they arrive; heap use does not depend on the row count.
+ */
+@Component
+public class DataExporter {
+
+    private static final List<ExportColumn> TRANSACTION_COLUMNS = List.of(
+            new ExportColumn("id", "id", LONG),
+            new ExportColumn("userId", "user_id", LONG),
+            new ExportColumn("amount", "amount", DOUBLE),
+            new ExportColumn("category", "category", TEXT),
+            new ExportColumn("date", "date", TIMESTAMP),
+            new ExportColumn("description", "description", TEXT));
+
+    // Same fields as UserDTO: the password hash is never exported
+    private static final List<ExportColumn> USER_COLUMNS = List.of(
+            new ExportColumn("id", "id", LONG),
+            new ExportColumn("name", "name", TEXT),
+            new ExportColumn("email", "email", TEXT),
+            new ExportColumn("role", "role", TEXT),
+            new ExportColumn("age", "age", INTEGER),
+            new ExportColumn("monthlyIncome", "monthly_income", DOUBLE),
+            new ExportColumn("balance", "balance", DOUBLE),
+            new ExportColumn("riskProfile", "risk_profile", TEXT),
+            new ExportColumn("financialGoals", "financial_goals", TEXT));
+
+    private final JdbcTemplate cursorTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DataExporter(DataSource dataSource, ObjectMapper objectMapper,
+            @Value("${exports.fetch-size:1000}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Oldest first by (date, id), the order the transaction indexes hold.
+     *
+     * @return the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportTransactions(TransactionFilter filter, ExportFormat format, OutputStream out) {
+        StringBuilder sql = select(TRANSACTION_COLUMNS, "transactions").append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            sql.append(" AND user_id = ?");
+            args.add(filter.getUserId());
+        }
+        if (filter.getCategory() != null) {
+            sql.append(" AND category = ?");
+            args.add(filter.getCategory());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND date >= ?");
+            args.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND date < ?");
+            args.add(Timestamp.valueOf(filter.getTo()));
+        }
+        sql.append(" ORDER BY date, id");
+        return export(sql.toString(), args, TRANSACTION_COLUMNS, format, out);
+    }
+
+    /**
+     * @return the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(String role, ExportFormat format, OutputStream out) {
+        StringBuilder sql = select(USER_COLUMNS, "users");
+        List<Object> args = new ArrayList<>();
+        if (role != null) {
+            sql.append(" WHERE role = ?");
+            args.add(role);
+        }
+        sql.append(" ORDER BY id");
+        return export(sql.toString(), args, USER_COLUMNS, format, out);
+    }
+
+    private long export(String sql, List<Object> args, List<ExportColumn> columns, ExportFormat format,
+            OutputStream out) {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        try {
+            ExportRowWriter rows = ExportRowWriter.open(format, columns, writer, objectMapper.getFactory());
+            long[] count = new long[1];
+            cursorTemplate.query(sql, rs -> {
+                try {
+                    rows.writeRow(rs);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // Client went away; abort the cursor
+                }
+            }, args.toArray());
+            rows.flush();
+            writer.flush();
+            return count[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StringBuilder select(List<ExportColumn> columns, String table) {
+        return new StringBuilder("SELECT ")
+                .append(columns.stream().map(ExportColumn::sqlColumn).collect(Collectors.joining(", ")))
+                .append(" FROM ").append(table);
+    }
+}
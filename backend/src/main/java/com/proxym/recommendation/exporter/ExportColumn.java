@@ -0,0 +1,12 @@
+package com.proxym.recommendation.exporter;
+
+/**
+ * One exported column: the name in the file, the SQL column it is read
+ * from, and how the value is read from the result set.
+ */
+record ExportColumn(String name, String sqlColumn, Kind kind) {
+
+    enum Kind {
+        LONG, INTEGER, DOUBLE, TEXT, TIMESTAMP
+    }
+}
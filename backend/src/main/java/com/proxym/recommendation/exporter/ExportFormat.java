@@ -0,0 +1,37 @@
+package com.proxym.recommendation.exporter;
+
+import com.proxym.recommendation.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Supported export file formats.
+ */
+public enum ExportFormat {
+    CSV("text/csv", ".csv"),
+    NDJSON("application/x-ndjson", ".ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unsupported export format: " + name + " (expected csv or ndjson)");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.proxym.recommendation.exporter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes the current result-set row straight to the output, column by
+ * column, without building an entity, DTO or map per row.
+ */
+abstract class ExportRowWriter {
+
+    protected final List<ExportColumn> columns;
+
+    protected ExportRowWriter(List<ExportColumn> columns) {
+        this.columns = columns;
+    }
+
+    static ExportRowWriter open(ExportFormat format, List<ExportColumn> columns, Writer out, JsonFactory jsonFactory)
+            throws IOException {
+        return format == ExportFormat.NDJSON ? new Ndjson(columns, out, jsonFactory) : new Csv(columns, out);
+    }
+
+    abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+    abstract void flush() throws IOException;
+
+    /**
+     * Text form of a non-text column, or null for SQL NULL. Timestamps use
+     * the same ISO form as the JSON API.
+     */
+    protected static String format(ResultSet rs, int index, ExportColumn.Kind kind) throws SQLException {
+        switch (kind) {
+            case LONG -> {
+                long value = rs.getLong(index);
+                return rs.wasNull() ? null : Long.toString(value);
+            }
+            case INTEGER -> {
+                int value = rs.getInt(index);
+                return rs.wasNull() ? null : Integer.toString(value);
+            }
+            case DOUBLE -> {
+                double value = rs.getDouble(index);
+                return rs.wasNull() ? null : Double.toString(value);
+            }
+            case TIMESTAMP -> {
+                Timestamp value = rs.getTimestamp(index);
+                return value == null ? null : value.toLocalDateTime().toString();
+            }
+            default -> {
+                return rs.getString(index);
+            }
+        }
+    }
+
+    private static final class Csv extends ExportRowWriter {
+        private final Writer out;
+
+        Csv(List<ExportColumn> columns, Writer out) throws IOException {
+            super(columns);
+            this.out = out;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) out.write(',');
+                out.write(columns.get(i).name());
+            }
+            out.write('\n');
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) out.write(',');
+                ExportColumn column = columns.get(i);
+                String value = format(rs, i + 1, column.kind());
+                if (value == null) continue; // Empty field
+                if (column.kind() == ExportColumn.Kind.TEXT) writeText(value);
+                else out.write(value);
+            }
+            out.write('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * Quoted only when needed; an empty string is quoted so it stays
+         * distinguishable from NULL.
+         */
+        private void writeText(String value) throws IOException {
+            boolean quote = value.isEmpty();
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private static final class Ndjson extends ExportRowWriter {
+        private final JsonGenerator generator;
+
+        Ndjson(List<ExportColumn> columns, Writer out, JsonFactory jsonFactory) throws IOException {
+            super(columns);
+            this.generator = jsonFactory.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null); // Rows are separated by the newline alone
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                ExportColumn column = columns.get(i);
+                generator.writeFieldName(column.name());
+                String value = format(rs, i + 1, column.kind());
+                if (value == null) {
+                    generator.writeNull();
+                } else if (column.kind() == ExportColumn.Kind.TEXT || column.kind() == ExportColumn.Kind.TIMESTAMP) {
+                    generator.writeString(value);
+                } else {
+                    generator.writeNumber(value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
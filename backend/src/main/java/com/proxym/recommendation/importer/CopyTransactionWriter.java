@@ -0,0 +1,61 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.model.Transaction;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL COPY: a whole chunk goes to the server as one CSV stream,
+ * without per-row statements or parameter binding. Sequence blocks for the
+ * chunk are fetched in a single query.
+ */
+class CopyTransactionWriter extends TransactionRowWriter {
+
+    private static final String COPY_SQL = "COPY " + COLUMNS + " FROM STDIN WITH (FORMAT csv)";
+    private static final String BLOCKS_SQL = "SELECT nextval('" + Transaction.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+    CopyTransactionWriter(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    @Override
+    String mode() {
+        return "COPY";
+    }
+
+    @Override
+    void write(List<ImportRow> rows, long[] ids) {
+        StringBuilder csv = new StringBuilder(rows.size() * 96);
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            csv.append(ids[i]).append(',')
+                    .append(row.userId()).append(',')
+                    .append(row.amount()).append(',')
+                    .append(CsvRecordReader.quote(row.category())).append(',')
+                    .append(row.date()).append(',');
+            if (row.description() != null) {
+                csv.append(CsvRecordReader.quote(row.description())); // Unquoted empty field is NULL
+            }
+            csv.append(",true\n");
+        }
+        // Runs on the transaction's connection, so the COPY commits with the chunk
+        jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into transactions failed", e);
+            }
+        });
+    }
+
+    @Override
+    protected List<Long> nextBlocks(int blocks) {
+        return jdbcTemplate.queryForList(BLOCKS_SQL, Long.class, blocks);
+    }
+}
@@ -0,0 +1,129 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Comma-separated reader with RFC 4180 quoting (quoted commas, doubled
+ * quotes and line breaks inside quotes). The header row maps columns by
+ * name once; unknown columns are skipped.
+ */
+class CsvRecordReader implements ImportRecordReader {
+
+    private static final int NONE = -2;
+
+    private final BufferedReader in;
+    private final int[] columnOf; // Input position -> column index, -1 if ignored
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private final StringBuilder raw = new StringBuilder();
+    private long line;
+    private int pushedBack = NONE;
+
+    CsvRecordReader(BufferedReader in) throws IOException {
+        this.in = in;
+        List<String> header = readFields();
+        if (header == null) throw new InvalidRequestException("Import file is empty");
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+        this.columnOf = header.stream().mapToInt(ImportRecordReader::columnIndex).toArray();
+        requireColumns();
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            long recordLine = line + 1;
+            List<String> values = readFields();
+            if (values == null) return null;
+            if (values.size() == 1 && values.get(0).isBlank()) continue;
+
+            String[] mapped = new String[COLUMNS.length];
+            for (int i = 0; i < values.size() && i < columnOf.length; i++) {
+                if (columnOf[i] >= 0) mapped[columnOf[i]] = values.get(i);
+            }
+            return new ImportRecord(recordLine, raw.toString(), mapped);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    static String quote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void requireColumns() {
+        boolean[] present = new boolean[COLUMNS.length];
+        Arrays.stream(columnOf).filter(i -> i >= 0).forEach(i -> present[i] = true);
+        if (!present[USER_ID] && !present[EMAIL]) {
+            throw new InvalidRequestException("CSV header needs a userId or an email column");
+        }
+        for (int required : new int[] { AMOUNT, CATEGORY, DATE }) {
+            if (!present[required]) {
+                throw new InvalidRequestException("CSV header is missing the " + COLUMNS[required] + " column");
+            }
+        }
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the input.
+     */
+    private List<String> readFields() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        raw.setLength(0);
+        boolean quoted = false;
+        boolean consumed = false;
+        int c;
+        while ((c = read()) != -1) {
+            consumed = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                        raw.append("\"\"");
+                        continue;
+                    }
+                    quoted = false;
+                    pushedBack = following;
+                } else {
+                    if (ch == '\n') line++;
+                    field.append(ch);
+                }
+                raw.append(ch);
+            } else if (ch == '"') {
+                quoted = true;
+                raw.append(ch);
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                raw.append(ch);
+            } else if (ch == '\n') {
+                line++;
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+                raw.append(ch);
+            }
+        }
+        if (!consumed) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack == NONE) return in.read();
+        int c = pushedBack;
+        pushedBack = NONE;
+        return c;
+    }
+}
@@ -0,0 +1,33 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Supported import file formats.
+ */
+public enum ImportFormat {
+    CSV, // Header row, comma separated, RFC 4180 quoting
+    NDJSON; // One JSON object per line, same field names as TransactionDTO
+
+    public static ImportFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unsupported import format: " + name + " (expected csv or ndjson)");
+        }
+    }
+
+    /**
+     * Explicit name first, then the content type or file name; CSV otherwise.
+     */
+    public static ImportFormat resolve(String name, String contentTypeOrFileName) {
+        if (name != null && !name.isBlank()) return fromName(name);
+        if (contentTypeOrFileName != null) {
+            String hint = contentTypeOrFileName.toLowerCase(Locale.ROOT);
+            if (hint.contains("ndjson") || hint.endsWith(".jsonl") || hint.endsWith(".jsonl.gz")) return NDJSON;
+        }
+        return CSV;
+    }
+}
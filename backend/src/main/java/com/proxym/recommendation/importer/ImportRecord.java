@@ -0,0 +1,14 @@
+package com.proxym.recommendation.importer;
+
+/**
+ * One raw input record. {@code values} follow the order of
+ * {@link ImportRecordReader#COLUMNS}; absent columns are null, and
+ * {@code values} itself is null when the line could not be parsed.
+ */
+record ImportRecord(long line, String raw, String[] values) {
+
+    String get(int column) {
+        String value = values[column];
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,44 @@
+package com.proxym.recommendation.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Pulls one record at a time from an import file, so memory does not grow
+ * with the file size.
+ */
+interface ImportRecordReader extends Closeable {
+
+    int USER_ID = 0;
+    int EMAIL = 1;
+    int AMOUNT = 2;
+    int CATEGORY = 3;
+    int DATE = 4;
+    int DESCRIPTION = 5;
+    String[] COLUMNS = { "userid", "email", "amount", "category", "date", "description" };
+
+    /**
+     * @return the next record, or null at the end of the input.
+     */
+    ImportRecord next() throws IOException;
+
+    static ImportRecordReader open(ImportFormat format, BufferedReader in, ObjectMapper objectMapper) throws IOException {
+        return format == ImportFormat.NDJSON ? new NdjsonRecordReader(in, objectMapper) : new CsvRecordReader(in);
+    }
+
+    /**
+     * Column index for a header or field name, ignoring case and separators
+     * ("user_id", "userId" and "User ID" are the same column); -1 if unknown.
+     */
+    static int columnIndex(String name) {
+        String normalized = name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (COLUMNS[i].equals(normalized)) return i;
+        }
+        return -1;
+    }
+}
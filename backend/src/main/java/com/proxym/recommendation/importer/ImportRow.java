@@ -0,0 +1,91 @@
+package com.proxym.recommendation.importer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * A validated import row. {@code userId} is null until the row's email has
+ * been resolved.
+ */
+record ImportRow(long line, String raw, Long userId, String email, double amount, String category,
+        LocalDateTime date, String description) {
+
+    static final int MAX_TEXT_LENGTH = 255; // Column size of category and description
+
+    ImportRow withUserId(Long resolvedUserId) {
+        return new ImportRow(line, raw, resolvedUserId, email, amount, category, date, description);
+    }
+
+    Rejection reject(String reason) {
+        return new Rejection(line, reason, raw);
+    }
+
+    /**
+     * @return the row, or null after adding the reason it was rejected.
+     */
+    static ImportRow parse(ImportRecord record, List<Rejection> rejections) {
+        String error = null;
+        Long userId = null;
+        Double amount = null;
+        LocalDateTime date = null;
+        if (record.values() == null) {
+            error = "Line is not a JSON object";
+        } else if (record.get(ImportRecordReader.USER_ID) == null && record.get(ImportRecordReader.EMAIL) == null) {
+            error = "userId or email is required";
+        } else if ((amount = parseAmount(record.get(ImportRecordReader.AMOUNT))) == null) {
+            error = "amount is required";
+        } else if (record.get(ImportRecordReader.CATEGORY) == null) {
+            error = "category is required";
+        } else if ((date = parseDate(record.get(ImportRecordReader.DATE))) == null) {
+            error = "date is required (ISO date or date-time)";
+        } else if (tooLong(record.get(ImportRecordReader.CATEGORY)) || tooLong(record.get(ImportRecordReader.DESCRIPTION))) {
+            error = "category and description are limited to " + MAX_TEXT_LENGTH + " characters";
+        } else if (record.get(ImportRecordReader.USER_ID) != null
+                && (userId = parseId(record.get(ImportRecordReader.USER_ID))) == null) {
+            error = "userId is not a number";
+        }
+        if (error != null) {
+            rejections.add(new Rejection(record.line(), error, record.raw()));
+            return null;
+        }
+        return new ImportRow(record.line(), record.raw(), userId, record.get(ImportRecordReader.EMAIL), amount,
+                record.get(ImportRecordReader.CATEGORY), date, record.get(ImportRecordReader.DESCRIPTION));
+    }
+
+    private static Double parseAmount(String value) {
+        if (value == null) return null;
+        try {
+            double amount = Double.parseDouble(value);
+            return Double.isFinite(amount) ? amount : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) return null;
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay()
+                    : LocalDateTime.parse(value.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_TEXT_LENGTH;
+    }
+
+    record Rejection(long line, String reason, String raw) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.model.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Portable fallback for databases without COPY (H2 in tests and local
+ * runs): one batched INSERT per chunk.
+ */
+class JdbcBatchTransactionWriter extends TransactionRowWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO " + COLUMNS + " VALUES (?, ?, ?, ?, ?, ?, TRUE)";
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('" + Transaction.ID_SEQUENCE + "')";
+
+    JdbcBatchTransactionWriter(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate);
+    }
+
+    @Override
+    String mode() {
+        return "JDBC_BATCH";
+    }
+
+    @Override
+    void write(List<ImportRow> rows, long[] ids) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            args.add(new Object[] { ids[i], row.userId(), row.amount(), row.category(),
+                    Timestamp.valueOf(row.date()), row.description() });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args,
+                new int[] { Types.BIGINT, Types.BIGINT, Types.DOUBLE, Types.VARCHAR, Types.TIMESTAMP, Types.VARCHAR });
+    }
+
+    @Override
+    protected List<Long> nextBlocks(int blocks) {
+        List<Long> tops = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            tops.add(jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class));
+        }
+        return tops;
+    }
+}
@@ -0,0 +1,58 @@
+package com.proxym.recommendation.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * One JSON object per line; field names match TransactionDTO, so the output
+ * of {@code /api/transactions/stream} imports as is. A line that is not a
+ * JSON object becomes a record with null values and is rejected downstream.
+ */
+class NdjsonRecordReader implements ImportRecordReader {
+
+    private final BufferedReader in;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    NdjsonRecordReader(BufferedReader in, ObjectMapper objectMapper) {
+        this.in = in;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String text;
+        while ((text = in.readLine()) != null) {
+            line++;
+            if (!text.isBlank()) return new ImportRecord(line, text, parse(text));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private String[] parse(String text) {
+        String[] values = new String[COLUMNS.length];
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (node == null || !node.isObject()) return null;
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext();) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                int column = ImportRecordReader.columnIndex(entry.getKey());
+                if (column >= 0 && !entry.getValue().isNull()) values[column] = entry.getValue().asText();
+            }
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,57 @@
+package com.proxym.recommendation.importer;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * CSV of rejected rows ({@code line,reason,record}) so they can be fixed and
+ * imported again. The file is only created once the first row is rejected.
+ */
+class RejectedRowsFile implements Closeable {
+
+    private final Path directory;
+    private Path path;
+    private BufferedWriter writer;
+
+    RejectedRowsFile(Path directory) {
+        this.directory = directory;
+    }
+
+    void write(List<ImportRow.Rejection> rejections) throws IOException {
+        if (rejections.isEmpty()) return;
+        if (writer == null) open();
+        for (ImportRow.Rejection rejection : rejections) {
+            writer.write(Long.toString(rejection.line()));
+            writer.write(',');
+            writer.write(CsvRecordReader.quote(rejection.reason()));
+            writer.write(',');
+            writer.write(CsvRecordReader.quote(rejection.raw()));
+            writer.newLine();
+        }
+    }
+
+    /**
+     * @return the file, or null when nothing was rejected.
+     */
+    String location() {
+        return path == null ? null : path.toAbsolutePath().toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) writer.close();
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        path = Files.createTempFile(directory, "transactions-import-", ".rejected.csv");
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write("line,reason,record");
+        writer.newLine();
+    }
+}
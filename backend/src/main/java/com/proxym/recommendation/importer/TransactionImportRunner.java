@@ -0,0 +1,60 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.dto.ImportReportDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line entry point: {@code --transactions.import.file=history.csv}
+ * imports the file once the application has started, prints the report and
+ * exits with 0 on success or 1 on failure. Add
+ * {@code --spring.main.web-application-type=none} to skip the web server.
+ */
+@Component
+@ConditionalOnProperty(name = "transactions.import.file")
+public class TransactionImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportRunner.class);
+
+    private final TransactionImporter importer;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+    private final long startAfterLine;
+
+    public TransactionImportRunner(TransactionImporter importer, ConfigurableApplicationContext context,
+            @Value("${transactions.import.file}") String file,
+            @Value("${transactions.import.format:}") String format,
+            @Value("${transactions.import.start-after-line:0}") long startAfterLine) {
+        this.importer = importer;
+        this.context = context;
+        this.file = Path.of(file);
+        this.format = format;
+        this.startAfterLine = startAfterLine;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String name = file.getFileName().toString();
+        ImportReportDTO report;
+        try (InputStream raw = Files.newInputStream(file);
+                InputStream input = name.endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw) {
+            report = importer.importFrom(input, ImportFormat.resolve(format, name), name, startAfterLine);
+        }
+        log.info("Import finished: {}", report);
+        int exitCode = "COMPLETED".equals(report.getStatus()) ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
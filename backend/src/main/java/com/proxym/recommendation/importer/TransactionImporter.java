@@ -0,0 +1,324 @@
+package com.proxym.recommendation.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.proxym.recommendation.datasource.DataSourceRouting;
+import com.proxym.recommendation.dto.ImportReportDTO;
+import com.proxym.recommendation.exception.TooManyRequestsException;
+import com.proxym.recommendation.repository.BalanceDelta;
+import com.proxym.recommendation.repository.SpendingDelta;
+import com.proxym.recommendation.repository.UserRepository;
+import com.proxym.recommendation.service.BalanceService;
+import com.proxym.recommendation.service.SpendingSummaryService;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams historical transactions from a CSV or NDJSON file into the
+ * database. The calling thread parses and validates records into chunks; a
+ * writer thread resolves the chunk's users with two bulk queries and writes
+ * it (COPY on PostgreSQL, batched INSERT elsewhere) together with its
+ * spending-aggregate and balance deltas in one transaction. The queue between the two is
+ * bounded, so memory stays at a few chunks whatever the file size, and a
+ * slow database slows the reader down instead of buffering the file.
+ */
+@Component
+public class TransactionImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImporter.class);
+    private static final Chunk END = new Chunk(List.of(), List.of(), 0);
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final SpendingSummaryService spendingSummaryService;
+    private final BalanceService balanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String mode;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final Path rejectDirectory;
+    private final Semaphore permits;
+
+    public TransactionImporter(JdbcTemplate jdbcTemplate, UserRepository userRepository,
+            SpendingSummaryService spendingSummaryService, BalanceService balanceService,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${transactions.import.mode:auto}") String mode,
+            @Value("${transactions.import.chunk-size:5000}") int chunkSize,
+            @Value("${transactions.import.queue-capacity:4}") int queueCapacity,
+            @Value("${transactions.import.max-concurrent:1}") int maxConcurrent,
+            @Value("${transactions.import.reject-dir:${java.io.tmpdir}/transaction-imports}") String rejectDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.spendingSummaryService = spendingSummaryService;
+        this.balanceService = balanceService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.mode = mode;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.rejectDirectory = Path.of(rejectDirectory);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Imports every record after {@code startAfterLine} (0 for the whole
+     * file). Chunks commit independently: after a failure the report's
+     * {@code lastCommittedLine} is where to resume.
+     *
+     * @throws TooManyRequestsException when {@code transactions.import.max-concurrent} imports are running.
+     */
+    public ImportReportDTO importFrom(InputStream input, ImportFormat format, String source, long startAfterLine) {
+        if (!permits.tryAcquire()) {
+            throw new TooManyRequestsException("Another transaction import is running, retry once it has finished");
+        }
+        try {
+            return run(input, format, source, startAfterLine);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private ImportReportDTO run(InputStream input, ImportFormat format, String source, long startAfterLine) {
+        Progress progress = new Progress(source, System.nanoTime());
+        TransactionRowWriter rowWriter = rowWriter();
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService writerThread = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("transaction-import-"));
+        Throwable failure = null;
+
+        BufferedReader text = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        try (ImportRecordReader reader = ImportRecordReader.open(format, text, objectMapper);
+                RejectedRowsFile rejects = new RejectedRowsFile(rejectDirectory)) {
+            Future<?> writing = writerThread.submit(() -> {
+                drain(queue, rowWriter, rejects, progress);
+                return null;
+            });
+            try {
+                read(reader, startAfterLine, queue, writing);
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                put(queue, END, writing);
+            }
+            try {
+                writing.get();
+            } catch (ExecutionException e) {
+                failure = failure != null ? failure : e.getCause();
+            }
+            rejects.close();
+            return report(format, rowWriter, progress, rejects, failure);
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            return report(format, rowWriter, progress, null, e);
+        } finally {
+            writerThread.shutdownNow();
+        }
+    }
+
+    private void read(ImportRecordReader reader, long startAfterLine, BlockingQueue<Chunk> queue, Future<?> writing)
+            throws IOException, InterruptedException {
+        List<ImportRow> rows = new ArrayList<>(chunkSize);
+        List<ImportRow.Rejection> rejections = new ArrayList<>();
+        long lastLine = 0;
+        ImportRecord record;
+        while (!writing.isDone() && (record = reader.next()) != null) {
+            if (record.line() <= startAfterLine) continue;
+            ImportRow row = ImportRow.parse(record, rejections);
+            if (row != null) rows.add(row);
+            lastLine = record.line();
+            if (rows.size() + rejections.size() >= chunkSize) {
+                put(queue, new Chunk(rows, rejections, lastLine), writing);
+                rows = new ArrayList<>(chunkSize);
+                rejections = new ArrayList<>();
+            }
+        }
+        if (!rows.isEmpty() || !rejections.isEmpty()) {
+            put(queue, new Chunk(rows, rejections, lastLine), writing);
+        }
+    }
+
+    /**
+     * Blocks while the writer is behind; gives up once it has stopped, since
+     * its failure is what gets reported.
+     */
+    private void put(BlockingQueue<Chunk> queue, Chunk chunk, Future<?> writing) throws InterruptedException {
+        while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+            if (writing.isDone()) return;
+        }
+    }
+
+    private void drain(BlockingQueue<Chunk> queue, TransactionRowWriter rowWriter, RejectedRowsFile rejects,
+            Progress progress) throws InterruptedException, IOException {
+        while (true) {
+            Chunk chunk = queue.take();
+            if (chunk == END) return;
+            List<ImportRow.Rejection> rejections = new ArrayList<>(chunk.rejections());
+            List<ImportRow> rows = resolveUsers(chunk.rows(), rejections);
+            if (!rows.isEmpty()) {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    rowWriter.write(rows, rowWriter.allocateIds(rows.size()));
+                    spendingSummaryService.applyDeltas(spendingDeltas(rows));
+                    balanceService.applyHistoricalDeltas(balanceDeltas(rows));
+                    DataSourceRouting.recordWrites(rows.stream().map(ImportRow::userId).distinct().toList());
+                });
+            }
+            rejects.write(rejections);
+            progress.committed(chunk, rows.size(), rejections.size());
+        }
+    }
+
+    /**
+     * Rows naming a user id are checked with one IN query, rows naming only
+     * an email are mapped with another; unknown users are rejected.
+     */
+    private List<ImportRow> resolveUsers(List<ImportRow> rows, List<ImportRow.Rejection> rejections) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.userId() != null) ids.add(row.userId());
+            else emails.add(row.email());
+        }
+        Set<Long> knownIds = ids.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(ids));
+        Map<String, Long> idsByEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (Object[] match : userRepository.findIdsByEmails(emails)) {
+                idsByEmail.put((String) match[0], (Long) match[1]);
+            }
+        }
+
+        List<ImportRow> resolved = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (row.userId() != null) {
+                if (knownIds.contains(row.userId())) resolved.add(row);
+                else rejections.add(row.reject("User not found with id: " + row.userId()));
+            } else {
+                Long userId = idsByEmail.get(row.email());
+                if (userId != null) resolved.add(row.withUserId(userId));
+                else rejections.add(row.reject("User not found with email: " + row.email()));
+            }
+        }
+        return resolved;
+    }
+
+    private List<SpendingDelta> spendingDeltas(List<ImportRow> rows) {
+        List<SpendingDelta> deltas = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            deltas.add(new SpendingDelta(row.userId(), row.category(), YearMonth.from(row.date()).toString(),
+                    row.amount(), 1));
+        }
+        return deltas; // Merged per (user, category, month) by the service
+    }
+
+    private List<BalanceDelta> balanceDeltas(List<ImportRow> rows) {
+        List<BalanceDelta> deltas = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            deltas.add(new BalanceDelta(row.userId(), -row.amount())); // Amounts are spending
+        }
+        return deltas; // Merged per user by the service
+    }
+
+    private TransactionRowWriter rowWriter() {
+        boolean copy = switch (mode) {
+            case "copy" -> true;
+            case "batch" -> false;
+            default -> Boolean.TRUE.equals(jdbcTemplate.execute(
+                    (ConnectionCallback<Boolean>) con -> con.isWrapperFor(PGConnection.class)));
+        };
+        return copy ? new CopyTransactionWriter(jdbcTemplate) : new JdbcBatchTransactionWriter(jdbcTemplate);
+    }
+
+    private ImportReportDTO report(ImportFormat format, TransactionRowWriter rowWriter, Progress progress,
+            RejectedRowsFile rejects, Throwable failure) {
+        long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - progress.started));
+        ImportReportDTO report = ImportReportDTO.builder()
+                .source(progress.source)
+                .format(format.name())
+                .writeMode(rowWriter.mode())
+                .status(failure == null ? "COMPLETED" : "FAILED")
+                .rowsRead(progress.rowsRead)
+                .imported(progress.imported)
+                .rejected(progress.rejected)
+                .lastCommittedLine(progress.lastCommittedLine)
+                .durationMs(durationMs)
+                .rowsPerSecond(progress.rowsRead * 1000 / durationMs)
+                .rejectedFile(rejects != null ? rejects.location() : null)
+                .error(failure != null ? String.valueOf(failure.getMessage()) : null)
+                .build();
+        if (failure == null) {
+            log.info("Import {}: {} imported, {} rejected in {} ms ({} rows/s, {})", report.getSource(),
+                    report.getImported(), report.getRejected(), durationMs, report.getRowsPerSecond(),
+                    report.getWriteMode());
+        } else {
+            log.error("Import {} stopped after line {}: {}", report.getSource(), report.getLastCommittedLine(),
+                    report.getError(), failure);
+        }
+        return report;
+    }
+
+    private record Chunk(List<ImportRow> rows, List<ImportRow.Rejection> rejections, long lastLine) {
+    }
+
+    /**
+     * Counters owned by the writer thread; read by the caller after the
+     * writer has finished.
+     */
+    private static final class Progress {
+        private final String source;
+        private final long started;
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private long lastCommittedLine;
+        private long lastLogged;
+
+        Progress(String source, long started) {
+            this.source = source;
+            this.started = started;
+            this.lastLogged = started;
+        }
+
+        void committed(Chunk chunk, int importedRows, int rejectedRows) {
+            rowsRead += importedRows + rejectedRows;
+            imported += importedRows;
+            rejected += rejectedRows;
+            lastCommittedLine = chunk.lastLine();
+            long now = System.nanoTime();
+            if (now - lastLogged >= PROGRESS_INTERVAL_NANOS) {
+                lastLogged = now;
+                long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - started));
+                log.info("Import {}: {} rows read, {} imported ({} rows/s)", source, rowsRead, imported,
+                        rowsRead * 1000 / elapsedMs);
+            }
+        }
+    }
+}
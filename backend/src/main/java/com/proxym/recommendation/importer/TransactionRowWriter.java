@@ -0,0 +1,53 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.model.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Writes resolved import rows into {@code transactions}. Ids come from the
+ * same pooled sequence Hibernate uses: every nextval reserves a block of
+ * {@link Transaction#ID_ALLOCATION_SIZE} ids ending at the returned value,
+ * so imported rows never collide with ids handed out by the application.
+ */
+abstract class TransactionRowWriter {
+
+    // Imported rows are written with balance_applied set: the importer takes their amounts from the balances
+    protected static final String COLUMNS =
+            "transactions (id, user_id, amount, category, date, description, balance_applied)";
+
+    protected final JdbcTemplate jdbcTemplate;
+
+    protected TransactionRowWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    abstract String mode();
+
+    /**
+     * Runs inside the caller's transaction; {@code ids[i]} belongs to {@code rows.get(i)}.
+     */
+    abstract void write(List<ImportRow> rows, long[] ids);
+
+    /**
+     * @return {@code blocks} fresh sequence values, each the top of a block.
+     */
+    protected abstract List<Long> nextBlocks(int blocks);
+
+    long[] allocateIds(int count) {
+        int blockSize = Transaction.ID_ALLOCATION_SIZE;
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            int blocks = (count - filled + blockSize - 1) / blockSize;
+            for (long top : nextBlocks(blocks)) {
+                // The very first value of a fresh sequence is 1, which only covers itself
+                for (long id = Math.max(1, top - blockSize + 1); id <= top && filled < count; id++) {
+                    ids[filled++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,46 @@
+package com.proxym.recommendation.mapper;
+
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.model.Transaction;
+import com.proxym.recommendation.model.User;
+
+/**
+ * Entity-to-DTO mapping shared by the services. Plain static methods, so
+ * the benchmarks module can measure it on prebuilt entities.
+ */
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    /**
+     * Never copies the password hash.
+     */
+    public static UserDTO toDTO(User user) {
+        return UserDTO.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .age(user.getAge())
+                .monthlyIncome(user.getMonthlyIncome())
+                .balance(user.getBalance())
+                .riskProfile(user.getRiskProfile())
+                .financialGoals(user.getFinancialGoals())
+                .build();
+    }
+
+    /**
+     * Reads only the owner's id, so a lazy {@code user} proxy is not initialized.
+     */
+    public static TransactionDTO toDTO(Transaction t) {
+        return new TransactionDTO(
+                t.getId(),
+                t.getUser().getId(),
+                t.getAmount(),
+                t.getCategory(),
+                t.getDate(),
+                t.getDescription());
+    }
+}
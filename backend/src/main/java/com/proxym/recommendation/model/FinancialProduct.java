@@ -20,4 +20,5 @@ public class FinancialProduct {
     private String description;
     private Double interestRate;
     private Double minimumEntry;
+    private String riskLevel; // Low, Medium, High; null suits every risk profile
 }
@@ -0,0 +1,28 @@
+package com.proxym.recommendation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resume point of a restartable background job: everything up to and
+ * including {@code lastId} has been processed.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    @Id
+    private String jobName;
+
+    private Long lastId;
+    private String status; // RUNNING, COMPLETED, FAILED
+    private Long processed; // Rows scanned in the current pass
+    private Long updated; // Rows changed in the current pass
+    private LocalDateTime updatedAt;
+}
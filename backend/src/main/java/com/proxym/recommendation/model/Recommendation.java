@@ -0,0 +1,56 @@
+package com.proxym.recommendation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One precomputed recommendation: a product for a user, in rank order, with
+ * the model's confidence in the strategy that selected it. Rows are replaced
+ * per user by the precompute job; {@code inputFingerprint} identifies the
+ * features and catalog they were computed from, so stale rows are detected
+ * without scoring again. A user with no eligible product gets a single
+ * {@code EMPTY} row instead, so that result carries its fingerprint too.
+ */
+@Entity
+@Table(name = "recommendations", uniqueConstraints = @UniqueConstraint(
+        name = "uk_recommendations_user_product", columnNames = { "user_id", "product_id" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recommendation {
+    public static final String ACTIVE = "ACTIVE";
+    public static final String EMPTY = "EMPTY";
+    public static final long NO_PRODUCT = 0; // product_id of EMPTY rows; the column is NOT NULL in existing schemas
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_rank", nullable = false)
+    private Integer productRank; // 1 = first shown
+
+    @Column(nullable = false)
+    private String strategy;
+
+    @Column(name = "confidence_score")
+    private Double confidenceScore;
+
+    @Column(nullable = false)
+    private String status; // ACTIVE, or EMPTY for the marker of an empty result
+
+    @Column(name = "input_fingerprint", nullable = false)
+    private Long inputFingerprint;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
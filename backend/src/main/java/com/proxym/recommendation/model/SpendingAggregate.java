@@ -0,0 +1,41 @@
+package com.proxym.recommendation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running total of one user's transactions in one category and calendar
+ * month. Maintained by delta on every transaction write, so summaries read
+ * a handful of rows instead of the whole history.
+ */
+@Entity
+@Table(name = "spending_aggregates", uniqueConstraints = @UniqueConstraint(
+        name = "uk_spending_user_category_period", columnNames = { "user_id", "category", "period" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingAggregate {
+    public static final String UNCATEGORIZED = "Uncategorized";
+    public static final String PERIOD_PATTERN = "yyyy-MM";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false, length = 7)
+    private String period; // yyyy-MM
+
+    @Column(nullable = false)
+    private Double total;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long transactionCount;
+}
@@ -3,25 +3,44 @@ package com.proxym.recommendation.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Keyset pagination walks (date, id) backwards; each filter gets a matching prefix.
+        @Index(name = "idx_transactions_date_id", columnList = "date, id"),
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, date, id"),
+        @Index(name = "idx_transactions_category_date_id", columnList = "category, date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY forces one round trip per row.
+    public static final String ID_SEQUENCE = "transactions_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
-    private User user;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user; // Lazy: reads go through DTO projections and only need the FK
 
     private Double amount;
     private String category; // e.g., Food, Rent, Investment, Insurance
     private LocalDateTime date;
     private String description;
+
+    // Whether the amount has been taken from users.balance; only such rows give it back when edited or deleted.
+    // Null on rows recorded before balances followed transactions, until BalanceReconciliation applies them.
+    @Column(name = "balance_applied")
+    private Boolean balanceApplied;
 }
@@ -7,12 +7,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class User {
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -23,6 +25,8 @@ public class User {
     private String role; // USER, ADMIN
     private Integer age;
     private Double monthlyIncome;
+    // Set at signup, then only moved by relative UPDATEs (BalanceService); never written back from an entity
+    @Column(updatable = false)
     private Double balance;
     private String riskProfile; // Low, Medium, High
     private String financialGoals; // Savings, Investment, Loan
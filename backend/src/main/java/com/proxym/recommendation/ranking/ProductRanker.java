@@ -0,0 +1,119 @@
+package com.proxym.recommendation.ranking;
+
+import com.proxym.recommendation.ai.FeatureVector;
+import com.proxym.recommendation.cache.ProductCatalog;
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Turns the model's product type into an ordered shortlist.
+ * <p>
+ * Eligibility: the user's balance covers the minimum entry (read as a
+ * prefix of the catalog's entry-sorted array, so unaffordable products are
+ * never visited), and the product's risk level does not exceed the user's
+ * risk profile. Credit products skip the balance check; their minimum entry
+ * is the smallest amount lent, not a deposit.
+ * <p>
+ * Score: the interest rate, negated for credit products, so the best rate
+ * for the customer ranks first; ties go to the lower minimum entry, then the
+ * lower id. Only the best {@code recommendation.ranking.max-results} are
+ * kept, through a bounded heap: O(n log k) instead of sorting every candidate.
+ */
+@Component
+public class ProductRanker {
+
+    private static final Set<String> CREDIT_TYPES = Set.of("LOAN");
+
+    private static final Comparator<RankedProduct> BEST_FIRST = Comparator
+            .comparingDouble(RankedProduct::score).reversed()
+            .thenComparingDouble(ranked -> minimumEntry(ranked.product()))
+            .thenComparing(ranked -> ranked.product().getId(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ProductCatalog productCatalog;
+    private final int maxResults;
+
+    public ProductRanker(ProductCatalog productCatalog,
+            @Value("${recommendation.ranking.max-results:50}") int maxResults) {
+        this.productCatalog = productCatalog;
+        this.maxResults = maxResults;
+    }
+
+    public List<RankedProduct> rank(String type, FeatureVector features) {
+        boolean credit = isCredit(type);
+        List<FinancialProductDTO> candidates = credit
+                ? productCatalog.byType(type)
+                : productCatalog.byTypeWithin(type, features.balance());
+        RiskLevel tolerance = RiskLevel.ofProfile(features.riskProfile());
+
+        PriorityQueue<RankedProduct> top = new PriorityQueue<>(maxResults + 1, BEST_FIRST.reversed()); // Worst on top
+        for (FinancialProductDTO product : candidates) {
+            if (RiskLevel.ofProduct(product.getRiskLevel()).compareTo(tolerance) > 0) continue;
+            top.add(new RankedProduct(product, score(product, credit)));
+            if (top.size() > maxResults) top.poll();
+        }
+        List<RankedProduct> ranked = new ArrayList<>(top);
+        ranked.sort(BEST_FIRST);
+        return List.copyOf(ranked);
+    }
+
+    /**
+     * Score of a product already known to be eligible, e.g. one read back
+     * from precomputed rows.
+     */
+    public double score(FinancialProductDTO product) {
+        return score(product, isCredit(product.getType()));
+    }
+
+    private static double score(FinancialProductDTO product, boolean credit) {
+        double rate = product.getInterestRate() == null ? 0 : product.getInterestRate();
+        return credit ? -rate : rate;
+    }
+
+    private static boolean isCredit(String type) {
+        return type != null && CREDIT_TYPES.contains(type.toUpperCase(Locale.ROOT));
+    }
+
+    private static double minimumEntry(FinancialProductDTO product) {
+        return product.getMinimumEntry() == null ? 0 : product.getMinimumEntry();
+    }
+
+    private enum RiskLevel {
+        LOW, MEDIUM, HIGH;
+
+        /**
+         * Users without a (recognised) profile are treated as risk-averse.
+         */
+        static RiskLevel ofProfile(String profile) {
+            RiskLevel level = parse(profile);
+            return level != null ? level : LOW;
+        }
+
+        /**
+         * Products without a level suit everyone; an unrecognised level is
+         * treated as the riskiest.
+         */
+        static RiskLevel ofProduct(String level) {
+            if (level == null || level.isBlank()) return LOW;
+            RiskLevel parsed = parse(level);
+            return parsed != null ? parsed : HIGH;
+        }
+
+        private static RiskLevel parse(String value) {
+            if (value == null) return null;
+            return switch (value.trim().toUpperCase(Locale.ROOT)) {
+                case "LOW" -> LOW;
+                case "MEDIUM" -> MEDIUM;
+                case "HIGH" -> HIGH;
+                default -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.proxym.recommendation.ranking;
+
+import com.proxym.recommendation.dto.FinancialProductDTO;
+
+/**
+ * A product that passed the eligibility filters, with its ranking score.
+ */
+public record RankedProduct(FinancialProductDTO product, double score) {
+}
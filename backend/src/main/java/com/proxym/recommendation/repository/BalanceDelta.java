@@ -0,0 +1,8 @@
+package com.proxym.recommendation.repository;
+
+/**
+ * Amount to add to one user's balance; spending is recorded as a negative
+ * delta, refunds and retractions as positive ones.
+ */
+public record BalanceDelta(long userId, double amount) {
+}
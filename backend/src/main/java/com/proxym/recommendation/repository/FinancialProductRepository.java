@@ -1,12 +1,29 @@
 package com.proxym.recommendation.repository;
 
+import com.proxym.recommendation.dto.FinancialProductDTO;
 import com.proxym.recommendation.model.FinancialProduct;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FinancialProductRepository extends JpaRepository<FinancialProduct, Long> {
+
+    String SELECT_DTO = "SELECT new com.proxym.recommendation.dto.FinancialProductDTO("
+            + "p.id, p.name, p.type, p.description, p.interestRate, p.minimumEntry, p.riskLevel) FROM FinancialProduct p";
+
     List<FinancialProduct> findByType(String type);
+
+    @Query(SELECT_DTO + " ORDER BY p.id")
+    List<FinancialProductDTO> findAllAsDTO();
+
+    @Query(SELECT_DTO + " WHERE p.id = :id")
+    Optional<FinancialProductDTO> findDTOById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " WHERE p.type = :type ORDER BY p.id")
+    List<FinancialProductDTO> findDTOsByType(@Param("type") String type);
 }
@@ -0,0 +1,27 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.model.Recommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecommendationRepository extends JpaRepository<Recommendation, Long>, RecommendationRepositoryCustom {
+
+    List<Recommendation> findByUserIdOrderByProductRank(Long userId);
+
+    // Rows of [userId, inputFingerprint]; all rows of a user share one fingerprint
+    @Query("SELECT r.userId, MIN(r.inputFingerprint) FROM Recommendation r WHERE r.userId IN :userIds GROUP BY r.userId")
+    List<Object[]> findInputFingerprints(@Param("userIds") Collection<Long> userIds);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Recommendation r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,17 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.model.Recommendation;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk writes of precomputed recommendations through plain JDBC.
+ */
+public interface RecommendationRepositoryCustom {
+    /**
+     * Replaces all rows of the given users with {@code rows}; users without
+     * rows in the list end up with none. Call inside a transaction.
+     */
+    void replaceForUsers(Collection<Long> userIds, List<Recommendation> rows);
+}
@@ -0,0 +1,44 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.model.Recommendation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A user's recommendation set is replaced as a whole: one batched DELETE by
+ * user, then one batched INSERT. Unlike a per-row upsert this also drops
+ * products that are no longer recommended, and it runs unchanged on
+ * PostgreSQL and H2.
+ */
+public class RecommendationRepositoryCustomImpl implements RecommendationRepositoryCustom {
+
+    private static final String DELETE_SQL = "DELETE FROM recommendations WHERE user_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO recommendations (user_id, product_id, product_rank, strategy, "
+            + "confidence_score, status, input_fingerprint, computed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void replaceForUsers(Collection<Long> userIds, List<Recommendation> rows) {
+        if (userIds.isEmpty()) return;
+        List<Long> ids = new ArrayList<>(userIds);
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(), (ps, userId) -> ps.setLong(1, userId));
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.getUserId());
+            ps.setLong(2, row.getProductId());
+            ps.setInt(3, row.getProductRank());
+            ps.setString(4, row.getStrategy());
+            ps.setObject(5, row.getConfidenceScore());
+            ps.setString(6, row.getStatus());
+            ps.setLong(7, row.getInputFingerprint());
+            ps.setTimestamp(8, Timestamp.valueOf(row.getComputedAt()));
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.dto.SpendingBucketDTO;
+import com.proxym.recommendation.dto.UserActivityDTO;
+import com.proxym.recommendation.model.SpendingAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SpendingAggregateRepository
+        extends JpaRepository<SpendingAggregate, Long>, SpendingAggregateRepositoryCustom {
+
+    // Periods are yyyy-MM strings, so lexical comparison is chronological.
+    String USER_PERIOD_RANGE = " FROM SpendingAggregate a WHERE a.userId = :userId"
+            + " AND a.period >= :from AND a.period <= :to";
+
+    @Query("SELECT new com.proxym.recommendation.dto.SpendingBucketDTO(a.category, SUM(a.total), SUM(a.transactionCount))"
+            + USER_PERIOD_RANGE + " GROUP BY a.category ORDER BY SUM(a.total) DESC")
+    List<SpendingBucketDTO> sumByCategory(@Param("userId") Long userId, @Param("from") String from,
+            @Param("to") String to);
+
+    @Query("SELECT new com.proxym.recommendation.dto.SpendingBucketDTO(a.period, SUM(a.total), SUM(a.transactionCount))"
+            + USER_PERIOD_RANGE + " GROUP BY a.period ORDER BY a.period")
+    List<SpendingBucketDTO> sumByMonth(@Param("userId") Long userId, @Param("from") String from,
+            @Param("to") String to);
+
+    // Users without any aggregated transaction are absent from the result.
+    @Query("SELECT new com.proxym.recommendation.dto.UserActivityDTO("
+            + "a.userId, MIN(a.period), MAX(a.period), COUNT(DISTINCT a.category)) "
+            + "FROM SpendingAggregate a WHERE a.userId IN :userIds GROUP BY a.userId")
+    List<UserActivityDTO> findActivity(@Param("userIds") Collection<Long> userIds);
+}
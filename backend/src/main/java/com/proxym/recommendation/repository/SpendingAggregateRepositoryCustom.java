@@ -0,0 +1,14 @@
+package com.proxym.recommendation.repository;
+
+import java.util.List;
+
+/**
+ * Set-based maintenance of spending aggregates through plain JDBC.
+ */
+public interface SpendingAggregateRepositoryCustom {
+    void applyDeltas(List<SpendingDelta> deltas); // Sorted, one delta per key
+
+    int rebuildForUser(Long userId); // Returns the number of aggregate rows written
+
+    int rebuildAll();
+}
@@ -0,0 +1,153 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.model.SpendingAggregate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deltas go UPDATE-first: after a key's first month, every write is a plain
+ * row update, batched for runs of keys that already have a row. Keys without
+ * a row are inserted one by one with ON CONFLICT DO NOTHING; losing that race
+ * to a concurrent writer just means the row now exists, so the delta is
+ * applied as an update instead. Inserts are not batched because rewritten
+ * batch inserts do not report per-row counts.
+ * <p>
+ * Rows are written strictly in key order, inserts included: a writer that
+ * inserted a key after updating later ones could wait on a concurrent insert
+ * of that key while holding the rows the other writer needs next.
+ * <p>
+ * A key without a row has nothing to retract: a delta that would create a
+ * row with no transactions (or fewer than none) is skipped and logged, and
+ * a rebuild repairs whatever drift led to it.
+ */
+public class SpendingAggregateRepositoryCustomImpl implements SpendingAggregateRepositoryCustom {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendingAggregateRepositoryCustomImpl.class);
+    private static final int KEY_LOOKUP_CHUNK = 300; // 900 bind parameters per lookup
+
+    private static final String UPDATE_SQL = "UPDATE spending_aggregates SET total = total + ?, tx_count = tx_count + ? "
+            + "WHERE user_id = ? AND category = ? AND period = ?";
+    private static final String INSERT_SQL = "INSERT INTO spending_aggregates (user_id, category, period, total, tx_count) "
+            + "VALUES (?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String DELETE_EMPTY_SQL = "DELETE FROM spending_aggregates "
+            + "WHERE user_id = ? AND category = ? AND period = ? AND tx_count = 0";
+    private static final String REBUILD_SELECT = "SELECT user_id, COALESCE(category, '" + SpendingAggregate.UNCATEGORIZED
+            + "'), TO_CHAR(date, 'YYYY-MM'), SUM(COALESCE(amount, 0)), COUNT(*) FROM transactions";
+    private static final String REBUILD_GROUP = " GROUP BY user_id, COALESCE(category, '"
+            + SpendingAggregate.UNCATEGORIZED + "'), TO_CHAR(date, 'YYYY-MM')";
+    private static final String REBUILD_INSERT = "INSERT INTO spending_aggregates (user_id, category, period, total, tx_count) ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyDeltas(List<SpendingDelta> deltas) {
+        if (deltas.isEmpty()) return;
+        Set<List<Object>> existing = existingKeys(deltas);
+        List<SpendingDelta> run = new ArrayList<>();
+        for (SpendingDelta delta : deltas) {
+            if (existing.contains(key(delta))) {
+                run.add(delta);
+                continue;
+            }
+            updateRun(run);
+            insertOrUpdate(delta);
+        }
+        updateRun(run);
+        deleteEmptied(deltas);
+    }
+
+    @Override
+    public int rebuildForUser(Long userId) {
+        jdbcTemplate.update("DELETE FROM spending_aggregates WHERE user_id = ?", userId);
+        return jdbcTemplate.update(REBUILD_INSERT + REBUILD_SELECT + " WHERE user_id = ? AND date IS NOT NULL" + REBUILD_GROUP, userId);
+    }
+
+    @Override
+    public int rebuildAll() {
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        return jdbcTemplate.update(REBUILD_INSERT + REBUILD_SELECT + " WHERE user_id IS NOT NULL AND date IS NOT NULL" + REBUILD_GROUP);
+    }
+
+    /**
+     * Retractions can leave a bucket with no transactions; drop it so
+     * summaries only list categories and months that still have activity.
+     */
+    private void deleteEmptied(List<SpendingDelta> deltas) {
+        List<SpendingDelta> retracted = deltas.stream().filter(delta -> delta.count() < 0).toList();
+        if (retracted.isEmpty()) return;
+        jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, retracted, retracted.size(), (ps, delta) -> {
+            ps.setLong(1, delta.userId());
+            ps.setString(2, delta.category());
+            ps.setString(3, delta.period());
+        });
+    }
+
+    /**
+     * Non-locking read of which keys already have a row, looked up by exact
+     * key in chunks, so each query has a bounded parameter list and returns
+     * at most one row per key. A row created after it is taken by the
+     * insert's conflict; a row emptied and deleted after it is recreated by
+     * the update falling back to an insert.
+     */
+    private Set<List<Object>> existingKeys(List<SpendingDelta> deltas) {
+        Set<List<Object>> keys = new HashSet<>();
+        for (int from = 0; from < deltas.size(); from += KEY_LOOKUP_CHUNK) {
+            List<SpendingDelta> chunk = deltas.subList(from, Math.min(from + KEY_LOOKUP_CHUNK, deltas.size()));
+            String sql = "SELECT user_id, category, period FROM spending_aggregates "
+                    + "WHERE (user_id, category, period) IN (" + String.join(", ", Collections.nCopies(chunk.size(),
+                    "(?, ?, ?)")) + ")";
+            Object[] args = chunk.stream().flatMap(delta -> key(delta).stream()).toArray();
+            jdbcTemplate.query(sql, rs -> {
+                keys.add(List.of(rs.getLong(1), rs.getString(2), rs.getString(3)));
+            }, args);
+        }
+        return keys;
+    }
+
+    private void updateRun(List<SpendingDelta> run) {
+        if (run.isEmpty()) return;
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, run, run.size(), (ps, delta) -> {
+            ps.setDouble(1, delta.amount());
+            ps.setLong(2, delta.count());
+            ps.setLong(3, delta.userId());
+            ps.setString(4, delta.category());
+            ps.setString(5, delta.period());
+        })[0];
+        for (int i = 0; i < run.size(); i++) {
+            if (updated[i] == 0) insertOrUpdate(run.get(i)); // Emptied and deleted since the read
+        }
+        run.clear();
+    }
+
+    private void update(SpendingDelta delta) {
+        jdbcTemplate.update(UPDATE_SQL, delta.amount(), delta.count(), delta.userId(), delta.category(), delta.period());
+    }
+
+    private static List<Object> key(SpendingDelta delta) {
+        return List.of(delta.userId(), delta.category(), delta.period());
+    }
+
+    private void insertOrUpdate(SpendingDelta delta) {
+        if (delta.count() <= 0) {
+            log.atWarn().addKeyValue("userId", delta.userId()).addKeyValue("category", delta.category())
+                    .addKeyValue("period", delta.period()).addKeyValue("count", delta.count())
+                    .log("Skipped a retraction from a spending aggregate that does not exist");
+            return;
+        }
+        if (!insert(delta)) update(delta);
+    }
+
+    private boolean insert(SpendingDelta delta) {
+        return jdbcTemplate.update(INSERT_SQL, delta.userId(), delta.category(), delta.period(),
+                delta.amount(), delta.count()) == 1;
+    }
+}
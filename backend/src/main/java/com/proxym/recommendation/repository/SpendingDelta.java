@@ -0,0 +1,32 @@
+package com.proxym.recommendation.repository;
+
+import java.util.Comparator;
+
+/**
+ * Change to apply to one (user, category, period) aggregate row. Deltas are
+ * applied in natural order so concurrent writers lock rows in the same order.
+ */
+public record SpendingDelta(long userId, String category, String period, double amount, long count)
+        implements Comparable<SpendingDelta> {
+
+    private static final Comparator<SpendingDelta> KEY_ORDER = Comparator.comparingLong(SpendingDelta::userId)
+            .thenComparing(SpendingDelta::category)
+            .thenComparing(SpendingDelta::period);
+
+    public boolean sameKey(SpendingDelta other) {
+        return KEY_ORDER.compare(this, other) == 0;
+    }
+
+    public SpendingDelta plus(SpendingDelta other) {
+        return new SpendingDelta(userId, category, period, amount + other.amount, count + other.count);
+    }
+
+    public boolean isNoOp() {
+        return amount == 0 && count == 0;
+    }
+
+    @Override
+    public int compareTo(SpendingDelta other) {
+        return KEY_ORDER.compare(this, other);
+    }
+}
@@ -1,11 +1,34 @@
 package com.proxym.recommendation.repository;
 
+import com.proxym.recommendation.dto.TransactionDTO;
 import com.proxym.recommendation.model.Transaction;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    List<Transaction> findByUserId(Long userId);
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
+
+    // Read-only projection: t.user.id resolves to the FK column, so no users join or hydration.
+    String SELECT_DTO = "SELECT new com.proxym.recommendation.dto.TransactionDTO("
+            + "t.id, t.user.id, t.amount, t.category, t.date, t.description) FROM Transaction t";
+
+    @Query(SELECT_DTO + " ORDER BY t.id")
+    List<TransactionDTO> findAllAsDTO();
+
+    @Query(SELECT_DTO + " WHERE t.user.id = :userId ORDER BY t.id")
+    List<TransactionDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + " WHERE t.id = :id")
+    Optional<TransactionDTO> findDTOById(@Param("id") Long id);
+
+    // Row lock for edits: concurrent edits of one transaction (or its reconciliation) retract its amount only once.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.id = :id")
+    Optional<Transaction> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,17 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.dto.TransactionCursor;
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.TransactionFilter;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keyset (seek) queries over transactions ordered newest first by (date, id).
+ */
+public interface TransactionRepositoryCustom {
+    List<TransactionDTO> findPage(TransactionFilter filter, TransactionCursor after, int limit);
+
+    Stream<TransactionDTO> streamAll(TransactionFilter filter); // Must be consumed inside a transaction and closed
+}
@@ -0,0 +1,83 @@
+package com.proxym.recommendation.repository;
+
+import com.proxym.recommendation.dto.TransactionCursor;
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.TransactionFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Builds only the predicates that are actually requested so every variant
+ * keeps a static shape the (user_id|category, date, id) indexes can serve.
+ * Rows are selected straight into DTOs, never into managed entities.
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TransactionDTO> findPage(TransactionFilter filter, TransactionCursor after, int limit) {
+        TypedQuery<TransactionDTO> query = buildQuery(filter, after);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<TransactionDTO> streamAll(TransactionFilter filter) {
+        TypedQuery<TransactionDTO> query = buildQuery(filter, null);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return query.getResultStream();
+    }
+
+    private TypedQuery<TransactionDTO> buildQuery(TransactionFilter filter, TransactionCursor after) {
+        StringBuilder jpql = new StringBuilder(TransactionRepository.SELECT_DTO).append(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        appendFilter(jpql, params, filter);
+        appendCursor(jpql, params, after);
+        jpql.append(" ORDER BY t.date DESC, t.id DESC");
+
+        TypedQuery<TransactionDTO> query = entityManager.createQuery(jpql.toString(), TransactionDTO.class);
+        params.forEach(query::setParameter);
+        return query;
+    }
+
+    private void appendFilter(StringBuilder jpql, Map<String, Object> params, TransactionFilter filter) {
+        if (filter == null) return;
+        if (filter.getUserId() != null) {
+            jpql.append(" AND t.user.id = :userId");
+            params.put("userId", filter.getUserId());
+        }
+        if (filter.getCategory() != null) {
+            jpql.append(" AND t.category = :category");
+            params.put("category", filter.getCategory());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" AND t.date >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND t.date < :to");
+            params.put("to", filter.getTo());
+        }
+    }
+
+    private void appendCursor(StringBuilder jpql, Map<String, Object> params, TransactionCursor after) {
+        if (after == null) return;
+        // Row-value comparison lets the planner seek directly into the index.
+        jpql.append(" AND (t.date, t.id) < (:cursorDate, :cursorId)");
+        params.put("cursorDate", after.date());
+        params.put("cursorId", after.id());
+    }
+}
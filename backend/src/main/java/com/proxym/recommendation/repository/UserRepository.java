@@ -1,10 +1,48 @@
 package com.proxym.recommendation.repository;
 
+import com.proxym.recommendation.dto.UserDTO;
 import com.proxym.recommendation.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    java.util.Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // Read-only projection that never selects the password hash.
+    String SELECT_DTO = "SELECT new com.proxym.recommendation.dto.UserDTO("
+            + "u.id, u.name, u.email, u.role, u.age, u.monthlyIncome, u.balance, u.riskProfile, u.financialGoals) "
+            + "FROM User u";
+
+    Optional<User> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    @Query(SELECT_DTO + " ORDER BY u.id")
+    List<UserDTO> findAllAsDTO();
+
+    @Query(SELECT_DTO + " WHERE u.id = :id")
+    Optional<UserDTO> findDTOById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " WHERE u.id IN :ids")
+    List<UserDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Rows of [email, id]; emails are matched exactly, as stored
+    @Query("SELECT u.email, u.id FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmails(@Param("emails") Collection<String> emails);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
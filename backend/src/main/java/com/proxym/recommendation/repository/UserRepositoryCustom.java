@@ -0,0 +1,15 @@
+package com.proxym.recommendation.repository;
+
+import java.util.List;
+
+/**
+ * Relative balance updates through plain JDBC.
+ */
+public interface UserRepositoryCustom {
+    /**
+     * Adds each delta to the user's balance. With a {@code floor}, a debit
+     * that would take the balance below it leaves the row untouched. Returns
+     * the updated row count per delta: 0 for unknown users and refused debits.
+     */
+    int[] applyBalanceDeltas(List<BalanceDelta> deltas, Double floor);
+}
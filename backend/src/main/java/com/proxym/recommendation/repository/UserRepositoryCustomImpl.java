@@ -0,0 +1,36 @@
+package com.proxym.recommendation.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Balances change with relative updates: the row lock is held only for the
+ * statement's own read-add-write, never across a round trip to the
+ * application, so concurrent postings to one account cannot overwrite each
+ * other. The overdraft check is part of the same statement.
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String UPDATE_SQL = "UPDATE users SET balance = COALESCE(balance, 0) + ? WHERE id = ?";
+    private static final String UPDATE_WITH_FLOOR_SQL = UPDATE_SQL + " AND (? >= 0 OR COALESCE(balance, 0) + ? >= ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] applyBalanceDeltas(List<BalanceDelta> deltas, Double floor) {
+        if (deltas.isEmpty()) return new int[0];
+        return jdbcTemplate.batchUpdate(floor == null ? UPDATE_SQL : UPDATE_WITH_FLOOR_SQL, deltas, deltas.size(),
+                (ps, delta) -> {
+                    ps.setDouble(1, delta.amount());
+                    ps.setLong(2, delta.userId());
+                    if (floor != null) {
+                        ps.setDouble(3, delta.amount());
+                        ps.setDouble(4, delta.amount());
+                        ps.setDouble(5, floor);
+                    }
+                })[0];
+    }
+}
@@ -0,0 +1,226 @@
+package com.proxym.recommendation.security;
+
+import com.proxym.recommendation.dto.PasswordMigrationProgressDTO;
+import com.proxym.recommendation.model.JobCheckpoint;
+import com.proxym.recommendation.repository.JobCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replaces plain-text passwords left over from before BCrypt with hashes.
+ * Runs in the background once the application is ready: users are read in
+ * keyset pages (id and password only), hashed in parallel on a small
+ * dedicated pool and written back with one batched UPDATE per page. The
+ * checkpoint is committed with each page, so a restart resumes after the
+ * last finished page instead of starting over.
+ */
+@Component
+public class LegacyPasswordMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyPasswordMigration.class);
+    static final String JOB_NAME = "legacy-password-migration";
+
+    private static final String PAGE_SQL = "SELECT id, password FROM users WHERE id > ? ORDER BY id LIMIT ?";
+    // Guarded by the old value: a password changed meanwhile is left alone
+    private static final String UPDATE_SQL = "UPDATE users SET password = ? WHERE id = ? AND password = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int threads;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String status = "IDLE";
+    private volatile Long lastId;
+    private volatile long scanned;
+    private volatile long migrated;
+    private volatile long remaining;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public LegacyPasswordMigration(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+            JobCheckpointRepository checkpointRepository, TransactionTemplate transactionTemplate,
+            @Qualifier("passwordMigrationExecutor") Executor taskExecutor,
+            @Value("${maintenance.password-migration.enabled:true}") boolean enabled,
+            @Value("${maintenance.password-migration.page-size:500}") int pageSize,
+            @Value("${maintenance.password-migration.threads:#{T(java.lang.Math).max(1, T(java.lang.Runtime).getRuntime().availableProcessors() / 2)}}") int threads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.threads = threads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAfterReady() {
+        if (enabled) start();
+    }
+
+    /**
+     * @return false when a run is already in progress.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) return false;
+        taskExecutor.execute(this::runGuarded);
+        return true;
+    }
+
+    public PasswordMigrationProgressDTO progress() {
+        return PasswordMigrationProgressDTO.builder()
+                .status(status)
+                .lastId(lastId)
+                .scanned(scanned)
+                .migrated(migrated)
+                .remaining(remaining)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+
+    private void runGuarded() {
+        ExecutorService hashPool = Executors.newFixedThreadPool(threads,
+                new CustomizableThreadFactory("password-migration-"));
+        JobCheckpoint checkpoint = null;
+        try {
+            checkpoint = resumeOrStartPass();
+            migrateFrom(checkpoint, hashPool);
+            finish(checkpoint, "COMPLETED", null);
+            if (migrated > 0) {
+                log.info("Password migration finished, {} records are now hashed", migrated);
+            }
+        } catch (Exception e) {
+            log.error("Password migration stopped at id {}", lastId, e);
+            if (checkpoint != null) {
+                finish(checkpoint, "FAILED", e.getMessage());
+            } else {
+                status = "FAILED";
+                error = e.getMessage();
+            }
+        } finally {
+            hashPool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * An unfinished pass (crash, FAILED) continues from its checkpoint; after
+     * a completed one the next start audits the whole table again.
+     */
+    private JobCheckpoint resumeOrStartPass() {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .filter(c -> !"COMPLETED".equals(c.getStatus()))
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME, 0L, null, 0L, 0L, null));
+        checkpoint.setStatus("RUNNING");
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        status = "RUNNING";
+        lastId = checkpoint.getLastId();
+        scanned = checkpoint.getProcessed();
+        migrated = checkpoint.getUpdated();
+        remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE id > ?", Long.class, lastId);
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        if (lastId > 0) {
+            log.info("Resuming password migration after id {}", lastId);
+        }
+        return checkpoint;
+    }
+
+    private void migrateFrom(JobCheckpoint checkpoint, ExecutorService hashPool)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            List<StoredPassword> page = jdbcTemplate.query(PAGE_SQL,
+                    (rs, row) -> new StoredPassword(rs.getLong("id"), rs.getString("password")),
+                    checkpoint.getLastId(), pageSize);
+            if (page.isEmpty()) return;
+
+            List<Object[]> updates = hashLegacyPasswords(page, hashPool);
+            commitPage(checkpoint, page, updates);
+        }
+    }
+
+    private List<Object[]> hashLegacyPasswords(List<StoredPassword> page, ExecutorService hashPool)
+            throws InterruptedException, ExecutionException {
+        List<Callable<Object[]>> hashing = new ArrayList<>();
+        for (StoredPassword stored : page) {
+            if (isLegacyPassword(stored.password())) {
+                hashing.add(() -> new Object[] { passwordEncoder.encode(stored.password()), stored.id(), stored.password() });
+            }
+        }
+        List<Object[]> updates = new ArrayList<>(hashing.size());
+        for (Future<Object[]> hashed : hashPool.invokeAll(hashing)) {
+            updates.add(hashed.get());
+        }
+        return updates;
+    }
+
+    /**
+     * The UPDATE batch and the checkpoint commit together, so a crash can
+     * never skip a page or record one that was not written.
+     */
+    private void commitPage(JobCheckpoint checkpoint, List<StoredPassword> page, List<Object[]> updates) {
+        long pageLastId = page.get(page.size() - 1).id();
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            }
+            checkpoint.setLastId(pageLastId);
+            checkpoint.setProcessed(checkpoint.getProcessed() + page.size());
+            checkpoint.setUpdated(checkpoint.getUpdated() + updates.size());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+        });
+        lastId = pageLastId;
+        scanned = checkpoint.getProcessed();
+        migrated = checkpoint.getUpdated();
+        remaining = Math.max(0, remaining - page.size());
+    }
+
+    private void finish(JobCheckpoint checkpoint, String finalStatus, String failure) {
+        checkpoint.setStatus(finalStatus);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        status = finalStatus;
+        error = failure;
+        finishedAt = LocalDateTime.now();
+    }
+
+    private static boolean isLegacyPassword(String password) {
+        // BCrypt hashes always start with $2a$ or $2b$
+        return password != null && !password.startsWith("$2");
+    }
+
+    private record StoredPassword(long id, String password) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.proxym.recommendation.security;
+
+import com.proxym.recommendation.dto.PasswordHashingStatsDTO;
+import com.proxym.recommendation.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the cores, so a login storm
+ * competes only with itself. Admission is decided at submit time: once the
+ * queue is full the caller gets a {@link TooManyRequestsException} (429)
+ * instead of waiting behind thousands of hashes.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final int strength;
+    private final int queueCapacity;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder upgraded = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${security.bcrypt.strength:10}") int strength,
+            @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.strength = strength;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the stored hash was produced with a lower work factor than
+     * the configured one. Cheap: only parses the hash prefix.
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public void recordUpgrade() {
+        upgraded.increment();
+    }
+
+    public PasswordHashingStatsDTO stats() {
+        long hashCount = hashes.sum();
+        return PasswordHashingStatsDTO.builder()
+                .strength(strength)
+                .poolSize(executor.getMaxPoolSize())
+                .active(executor.getActiveCount())
+                .queueDepth(executor.getThreadPoolExecutor().getQueue().size())
+                .queueCapacity(queueCapacity)
+                .hashes(hashCount)
+                .rejected(rejected.sum())
+                .upgraded(upgraded.sum())
+                .averageHashMs(hashCount == 0 ? 0 : totalHashNanos.sum() / NANOS_PER_MILLI / hashCount)
+                .maxHashMs(maxHashNanos.get() / NANOS_PER_MILLI)
+                .build();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> hashing) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(hashing), executor);
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Authentication is busy, please retry shortly");
+        }
+    }
+
+    private <T> T timed(Supplier<T> hashing) {
+        long start = System.nanoTime();
+        try {
+            return hashing.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            hashes.increment();
+            totalHashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+}
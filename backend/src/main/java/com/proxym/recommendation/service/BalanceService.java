@@ -0,0 +1,13 @@
+package com.proxym.recommendation.service;
+
+import com.proxym.recommendation.repository.BalanceDelta;
+
+import java.util.List;
+
+public interface BalanceService {
+    void applyDeltas(List<BalanceDelta> deltas); // Joins the caller's transaction; used by TransactionService
+
+    void applyHistoricalDeltas(List<BalanceDelta> deltas); // Same, without the overdraft check: imports, reconciliation
+
+    int flushPending(); // Coalesced mode: writes the accumulated deltas now, returns the users updated
+}
@@ -1,5 +1,6 @@
 package com.proxym.recommendation.service;
 
+import com.proxym.recommendation.cache.SerializedBody;
 import com.proxym.recommendation.dto.FinancialProductDTO;
 import com.proxym.recommendation.model.FinancialProduct;
 import java.util.List;
@@ -7,6 +8,8 @@ import java.util.List;
 public interface FinancialProductService {
     List<FinancialProductDTO> getAllProducts();
     FinancialProductDTO getProductById(Long id);
+    SerializedBody getAllProductsSerialized();
+    SerializedBody getProductSerializedById(Long id);
     FinancialProductDTO createProduct(FinancialProduct product);
     FinancialProductDTO updateProduct(Long id, FinancialProduct productDetails);
     void deleteProduct(Long id);
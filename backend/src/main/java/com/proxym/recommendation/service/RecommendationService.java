@@ -1,8 +1,31 @@
 package com.proxym.recommendation.service;
 
+import com.proxym.recommendation.dto.AiClientStatusDTO;
+import com.proxym.recommendation.dto.CacheStatsDTO;
+import com.proxym.recommendation.dto.FeatureVectorDTO;
 import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.dto.RecommendationPageDTO;
+import com.proxym.recommendation.dto.RecommendationResultDTO;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface RecommendationService {
     List<FinancialProductDTO> getRecommendations(Long userId);
+
+    CompletableFuture<List<FinancialProductDTO>> getRecommendationsAsync(Long userId);
+
+    CompletableFuture<List<FinancialProductDTO>> getRecommendationsAsync(Long userId, Integer limit);
+
+    CompletableFuture<RecommendationPageDTO> getRankedRecommendationsAsync(Long userId, Integer offset, Integer limit);
+
+    void validateBatchRequest(List<Long> userIds); // Called before any result is streamed
+
+    void streamBatchRecommendations(List<Long> userIds, Consumer<RecommendationResultDTO> sink);
+
+    FeatureVectorDTO getFeatures(Long userId);
+
+    CacheStatsDTO getCacheStats();
+
+    AiClientStatusDTO getAiStatus();
 }
@@ -0,0 +1,16 @@
+package com.proxym.recommendation.service;
+
+import com.proxym.recommendation.dto.RebuildResultDTO;
+import com.proxym.recommendation.dto.SpendingSummaryDTO;
+import com.proxym.recommendation.repository.SpendingDelta;
+import java.util.List;
+
+public interface SpendingSummaryService {
+    SpendingSummaryDTO getSummary(Long userId, String from, String to); // yyyy-MM bounds, both optional
+
+    void applyDeltas(List<SpendingDelta> deltas); // Joins the caller's transaction; used by TransactionService
+
+    RebuildResultDTO rebuildForUser(Long userId);
+
+    RebuildResultDTO rebuildAll();
+}
@@ -1,18 +1,28 @@
 package com.proxym.recommendation.service;
 
+import com.proxym.recommendation.dto.TransactionBatchResultDTO;
 import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.TransactionFilter;
+import com.proxym.recommendation.dto.TransactionPageDTO;
 import com.proxym.recommendation.model.Transaction;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TransactionService {
     List<TransactionDTO> getAllTransactions();
 
     List<TransactionDTO> getTransactionsByUserId(Long userId);
 
+    TransactionPageDTO getTransactionPage(TransactionFilter filter, String cursor, Integer size);
+
+    void streamTransactions(TransactionFilter filter, Consumer<TransactionDTO> sink);
+
     TransactionDTO getTransactionById(Long id);
 
     TransactionDTO createTransaction(Transaction transaction);
 
+    TransactionBatchResultDTO createTransactions(List<TransactionDTO> transactions);
+
     TransactionDTO updateTransaction(Long id, Transaction transactionDetails);
 
     void deleteTransaction(Long id);
@@ -2,14 +2,17 @@ package com.proxym.recommendation.service;
 
 import com.proxym.recommendation.dto.UserDTO;
 import com.proxym.recommendation.model.User;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
     List<UserDTO> getAllUsers();
     UserDTO getUserById(Long id);
-    UserDTO createUser(User user);
-    UserDTO updateUser(Long id, User userDetails);
+    List<UserDTO> getUsersByIds(Collection<Long> ids); // Missing ids are simply absent
+    CompletableFuture<UserDTO> createUser(User user); // Completes once the password is hashed and saved
+    CompletableFuture<UserDTO> updateUser(Long id, User userDetails); // Completes once a new password is hashed and saved
     void deleteUser(Long id);
-    UserDTO login(String email, String password);
+    CompletableFuture<UserDTO> login(String email, String password);
     User getUserEntityById(Long id); // Hidden from API, used by other services
 }
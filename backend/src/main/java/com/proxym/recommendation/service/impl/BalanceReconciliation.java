@@ -0,0 +1,194 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.datasource.DataSourceRouting;
+import com.proxym.recommendation.dto.BalanceReconciliationProgressDTO;
+import com.proxym.recommendation.model.JobCheckpoint;
+import com.proxym.recommendation.repository.BalanceDelta;
+import com.proxym.recommendation.repository.JobCheckpointRepository;
+import com.proxym.recommendation.service.BalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One-time catch-up for transactions whose amount never reached
+ * {@code users.balance}: rows recorded before balances followed
+ * transactions ({@code balance_applied} is null). Each page of such rows is
+ * locked, marked applied and taken from the balances in one transaction,
+ * so an edit or delete running at the same time either sees the row
+ * unapplied and leaves the balance alone, or waits and retracts it. Once a
+ * pass completes, startups skip the job; every writer sets the flag itself
+ * since.
+ */
+@Component
+public class BalanceReconciliation {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceReconciliation.class);
+    static final String JOB_NAME = "balance-reconciliation";
+
+    private static final String PAGE_SQL = "SELECT id, user_id, amount FROM transactions "
+            + "WHERE id > ? AND balance_applied IS NULL ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String MARK_SQL = "UPDATE transactions SET balance_applied = TRUE WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BalanceService balanceService;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor taskExecutor;
+    private final boolean enabled;
+    private final int pageSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String status = "IDLE";
+    private volatile Long lastId;
+    private volatile long applied;
+    private volatile long users;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public BalanceReconciliation(JdbcTemplate jdbcTemplate, BalanceService balanceService,
+            JobCheckpointRepository checkpointRepository, TransactionTemplate transactionTemplate,
+            @Qualifier("balanceReconciliationExecutor") Executor taskExecutor,
+            @Value("${maintenance.balance-reconciliation.enabled:true}") boolean enabled,
+            @Value("${maintenance.balance-reconciliation.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.balanceService = balanceService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAfterReady() {
+        if (!enabled) return;
+        boolean done = checkpointRepository.findById(JOB_NAME)
+                .map(c -> "COMPLETED".equals(c.getStatus()))
+                .orElse(false);
+        if (!done) start();
+    }
+
+    /**
+     * @return false when a run is already in progress.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) return false;
+        taskExecutor.execute(this::runGuarded);
+        return true;
+    }
+
+    public BalanceReconciliationProgressDTO progress() {
+        return BalanceReconciliationProgressDTO.builder()
+                .status(status)
+                .lastId(lastId)
+                .applied(applied)
+                .users(users)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+
+    private void runGuarded() {
+        JobCheckpoint checkpoint = null;
+        try {
+            checkpoint = resumeOrStartPass();
+            for (JobCheckpoint next; (next = reconcilePage(checkpoint)) != null; ) {
+                checkpoint = next;
+            }
+            finish(checkpoint, "COMPLETED", null);
+            if (applied > 0) {
+                log.info("Balance reconciliation finished, {} transactions applied to {} balances", applied, users);
+            }
+        } catch (Exception e) {
+            log.error("Balance reconciliation stopped at id {}", lastId, e);
+            if (checkpoint != null) {
+                finish(checkpoint, "FAILED", e.getMessage());
+            } else {
+                status = "FAILED";
+                error = e.getMessage();
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * An unfinished pass continues from its checkpoint; a new one starts
+     * from the first row, since unapplied rows cannot appear behind it.
+     */
+    private JobCheckpoint resumeOrStartPass() {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .filter(c -> !"COMPLETED".equals(c.getStatus()))
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME, 0L, null, 0L, 0L, null));
+        checkpoint.setStatus("RUNNING");
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        status = "RUNNING";
+        lastId = checkpoint.getLastId();
+        applied = checkpoint.getProcessed();
+        users = checkpoint.getUpdated();
+        startedAt = LocalDateTime.now();
+        finishedAt = null;
+        error = null;
+        return checkpoint;
+    }
+
+    /**
+     * The rows, their balances and the next checkpoint commit together; the
+     * checkpoint passed in is left as it was if the page fails.
+     *
+     * @return the next checkpoint, or null once no unapplied row is left after it.
+     */
+    private JobCheckpoint reconcilePage(JobCheckpoint checkpoint) {
+        JobCheckpoint next = transactionTemplate.execute(tx -> {
+            List<Object[]> marks = new ArrayList<>();
+            List<BalanceDelta> deltas = new ArrayList<>();
+            jdbcTemplate.query(PAGE_SQL, rs -> {
+                marks.add(new Object[] { rs.getLong("id") });
+                double amount = rs.getDouble("amount"); // A null amount reads as 0 and moves nothing
+                deltas.add(new BalanceDelta(rs.getLong("user_id"), -amount));
+            }, checkpoint.getLastId(), pageSize);
+            if (marks.isEmpty()) return null;
+
+            jdbcTemplate.batchUpdate(MARK_SQL, marks);
+            balanceService.applyHistoricalDeltas(deltas);
+            List<Long> userIds = deltas.stream().map(BalanceDelta::userId).distinct().toList();
+            DataSourceRouting.recordWrites(userIds);
+            long balances = userIds.size();
+            return checkpointRepository.save(new JobCheckpoint(JOB_NAME, (Long) marks.get(marks.size() - 1)[0],
+                    "RUNNING", checkpoint.getProcessed() + marks.size(), checkpoint.getUpdated() + balances,
+                    LocalDateTime.now()));
+        });
+        if (next != null) {
+            lastId = next.getLastId();
+            applied = next.getProcessed();
+            users = next.getUpdated();
+        }
+        return next;
+    }
+
+    private void finish(JobCheckpoint checkpoint, String finalStatus, String failure) {
+        checkpoint.setStatus(finalStatus);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        status = finalStatus;
+        error = failure;
+        finishedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,181 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.exception.InsufficientFundsException;
+import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.repository.BalanceDelta;
+import com.proxym.recommendation.repository.UserRepository;
+import com.proxym.recommendation.service.BalanceService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code users.balance} in step with recorded transactions.
+ * <p>
+ * In {@code immediate} mode each posting updates the balance with one
+ * relative UPDATE inside the posting's own transaction, so both commit or
+ * roll back together. In {@code coalesced} mode, meant for hot accounts
+ * receiving thousands of postings per second, committed deltas are summed
+ * per user in memory and written in one batch every flush interval: one
+ * row update per user instead of one per posting. Balances then trail by up
+ * to an interval, overdraft checks are not applied, and deltas not yet
+ * flushed when the process dies are lost; a clean shutdown flushes them.
+ */
+@Service
+public class BalanceServiceImpl implements BalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceServiceImpl.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeatureStore featureStore; // Balance is a model input
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${transactions.balance.mode:immediate}")
+    private String mode;
+
+    @Value("${transactions.balance.overdraft-check:false}")
+    private boolean overdraftCheck;
+
+    @Value("${transactions.balance.overdraft-limit:0}")
+    private double overdraftLimit;
+
+    private final Map<Long, Double> pending = new ConcurrentHashMap<>();
+
+    private boolean coalesced;
+
+    @PostConstruct
+    void init() {
+        coalesced = switch (mode) {
+            case "immediate" -> false;
+            case "coalesced" -> true;
+            default -> throw new IllegalStateException("Unknown transactions.balance.mode: " + mode);
+        };
+        if (coalesced && overdraftCheck) {
+            log.warn("transactions.balance.overdraft-check is not applied in coalesced mode");
+        }
+        Gauge.builder("balance.pending.users", pending, Map::size)
+                .description("Users with balance deltas waiting for the next coalesced flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Merges the deltas per user and applies them in user id order, so
+     * concurrent batches lock rows in the same order. A refused debit fails
+     * the whole caller transaction.
+     */
+    @Override
+    @Transactional
+    public void applyDeltas(List<BalanceDelta> deltas) {
+        apply(deltas, overdraftCheck);
+    }
+
+    /**
+     * Past transactions already happened; refusing them would only leave
+     * the balance out of step with the rows.
+     */
+    @Override
+    @Transactional
+    public void applyHistoricalDeltas(List<BalanceDelta> deltas) {
+        apply(deltas, false);
+    }
+
+    private void apply(List<BalanceDelta> deltas, boolean checkOverdraft) {
+        List<BalanceDelta> merged = merge(deltas);
+        if (merged.isEmpty()) return;
+        if (coalesced) {
+            afterCommit(() -> merged.forEach(delta -> pending.merge(delta.userId(), delta.amount(), Double::sum)));
+            return;
+        }
+        int[] updated = userRepository.applyBalanceDeltas(merged, checkOverdraft ? -overdraftLimit : null);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) throw refused(merged.get(i));
+        }
+        featureStore.invalidate(merged.stream().map(BalanceDelta::userId).toList());
+    }
+
+    /**
+     * Takes each user's sum out of the map atomically, so postings that
+     * commit during the flush start a new sum for the next one. A failed
+     * write puts the sums back.
+     */
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${transactions.balance.flush-interval-ms:100}")
+    public int flushPending() {
+        if (pending.isEmpty()) return 0;
+        List<BalanceDelta> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            Double amount = pending.remove(userId);
+            if (amount != null && amount != 0) batch.add(new BalanceDelta(userId, amount));
+        }
+        batch.sort(Comparator.comparingLong(BalanceDelta::userId));
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.applyBalanceDeltas(batch, null));
+        } catch (RuntimeException e) {
+            batch.forEach(delta -> pending.merge(delta.userId(), delta.amount(), Double::sum));
+            log.atError().addKeyValue("users", batch.size()).setCause(e).log("Balance flush failed, will retry");
+            return 0;
+        }
+        featureStore.invalidate(batch.stream().map(BalanceDelta::userId).toList());
+        return batch.size();
+    }
+
+    private static List<BalanceDelta> merge(List<BalanceDelta> deltas) {
+        Map<Long, Double> byUser = new TreeMap<>();
+        for (BalanceDelta delta : deltas) {
+            byUser.merge(delta.userId(), delta.amount(), Double::sum);
+        }
+        List<BalanceDelta> merged = new ArrayList<>(byUser.size());
+        byUser.forEach((userId, amount) -> {
+            if (amount != 0) merged.add(new BalanceDelta(userId, amount));
+        });
+        return merged;
+    }
+
+    private RuntimeException refused(BalanceDelta delta) {
+        if (!userRepository.existsById(delta.userId())) {
+            return new ResourceNotFoundException("User not found with id: " + delta.userId());
+        }
+        return new InsufficientFundsException("Insufficient funds for user " + delta.userId());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
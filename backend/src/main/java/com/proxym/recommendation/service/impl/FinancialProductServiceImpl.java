@@ -1,5 +1,9 @@
 package com.proxym.recommendation.service.impl;
 
+import com.proxym.recommendation.cache.ProductCatalog;
+import com.proxym.recommendation.cache.SerializedBody;
+import com.proxym.recommendation.cache.SerializedCatalog;
+import com.proxym.recommendation.datasource.DataSourceRouting;
 import com.proxym.recommendation.dto.FinancialProductDTO;
 import com.proxym.recommendation.exception.ResourceNotFoundException;
 import com.proxym.recommendation.model.FinancialProduct;
@@ -9,10 +13,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
- * Service managing the financial product catalog.
+ * Service managing the financial product catalog. Reads are served from the
+ * in-memory {@link ProductCatalog}; writes go to the database first and then
+ * swap the catalog snapshot.
  */
 @Service
 public class FinancialProductServiceImpl implements FinancialProductService {
@@ -20,40 +25,61 @@ public class FinancialProductServiceImpl implements FinancialProductService {
     @Autowired
     private FinancialProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    @Autowired
+    private SerializedCatalog serializedCatalog;
+
     @Override
     public List<FinancialProductDTO> getAllProducts() {
-        return productRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return productCatalog.all();
     }
 
     @Override
     public FinancialProductDTO getProductById(Long id) {
-        return mapToDTO(getProductEntityById(id));
+        return productCatalog.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Financial Product not found with id: " + id));
+    }
+
+    @Override
+    public SerializedBody getAllProductsSerialized() {
+        return serializedCatalog.all();
+    }
+
+    @Override
+    public SerializedBody getProductSerializedById(Long id) {
+        return serializedCatalog.find(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Financial Product not found with id: " + id));
     }
 
     @Override
     public FinancialProduct getProductEntityById(Long id) {
-        return productRepository.findById(id)
+        return DataSourceRouting.primary(() -> productRepository.findById(id)) // Loaded to be modified
                 .orElseThrow(() -> new ResourceNotFoundException("Financial Product not found with id: " + id));
     }
 
     @Override
     public FinancialProductDTO createProduct(FinancialProduct product) {
-        return mapToDTO(productRepository.save(product));
+        FinancialProductDTO created = mapToDTO(productRepository.save(product));
+        productCatalog.upsert(created);
+        return created;
     }
 
     @Override
     public FinancialProductDTO updateProduct(Long id, FinancialProduct productDetails) {
         FinancialProduct product = getProductEntityById(id);
         copyProductDetails(product, productDetails);
-        return mapToDTO(productRepository.save(product));
+        FinancialProductDTO updated = mapToDTO(productRepository.save(product));
+        productCatalog.upsert(updated);
+        return updated;
     }
 
     @Override
     public void deleteProduct(Long id) {
         FinancialProduct product = getProductEntityById(id);
         productRepository.delete(product);
+        productCatalog.remove(id);
     }
 
     private FinancialProductDTO mapToDTO(FinancialProduct product) {
@@ -63,7 +89,8 @@ public class FinancialProductServiceImpl implements FinancialProductService {
                 product.getType(),
                 product.getDescription(),
                 product.getInterestRate(),
-                product.getMinimumEntry());
+                product.getMinimumEntry(),
+                product.getRiskLevel());
     }
 
     private void copyProductDetails(FinancialProduct target, FinancialProduct source) {
@@ -72,5 +99,6 @@ public class FinancialProductServiceImpl implements FinancialProductService {
         target.setDescription(source.getDescription());
         target.setInterestRate(source.getInterestRate());
         target.setMinimumEntry(source.getMinimumEntry());
+        target.setRiskLevel(source.getRiskLevel());
     }
 }
@@ -1,19 +1,52 @@
 package com.proxym.recommendation.service.impl;
 
+import com.proxym.recommendation.ai.AbortableCall;
+import com.proxym.recommendation.ai.AiModuleClient;
+import com.proxym.recommendation.ai.AiPrediction;
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.ai.FeatureVector;
+import com.proxym.recommendation.ai.StrategyScorer;
+import com.proxym.recommendation.cache.CachedRecommendation;
+import com.proxym.recommendation.cache.PrecomputedRecommendations;
+import com.proxym.recommendation.cache.RecommendationCache;
+import com.proxym.recommendation.dto.AiClientStatusDTO;
+import com.proxym.recommendation.dto.CacheStatsDTO;
+import com.proxym.recommendation.dto.FeatureVectorDTO;
 import com.proxym.recommendation.dto.FinancialProductDTO;
-import com.proxym.recommendation.model.FinancialProduct;
-import com.proxym.recommendation.model.User;
-import com.proxym.recommendation.repository.FinancialProductRepository;
+import com.proxym.recommendation.dto.RecommendationPageDTO;
+import com.proxym.recommendation.dto.RecommendationResultDTO;
+import com.proxym.recommendation.dto.ScoredProductDTO;
+import com.proxym.recommendation.exception.InvalidRequestException;
+import com.proxym.recommendation.ranking.ProductRanker;
+import com.proxym.recommendation.ranking.RankedProduct;
 import com.proxym.recommendation.service.RecommendationService;
-import com.proxym.recommendation.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -22,58 +55,345 @@ import java.util.stream.Collectors;
 @Service
 public class RecommendationServiceImpl implements RecommendationService {
 
+    private static final Logger log = LoggerFactory.getLogger(RecommendationServiceImpl.class);
+
+    @Autowired
+    private FeatureStore featureStore;
+
+    @Autowired
+    private AiModuleClient aiModuleClient;
+
+    @Autowired
+    private StrategyScorer strategyScorer;
+
+    @Autowired
+    private RecommendationCache recommendationCache;
+
     @Autowired
-    private FinancialProductRepository productRepository;
+    private PrecomputedRecommendations precomputedRecommendations;
 
     @Autowired
-    private UserService userService;
+    private ProductRanker productRanker;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private MeterRegistry meterRegistry;
 
-    @Value("${ai.module.url:http://localhost:8005/recommend}")
-    private String aiModuleUrl;
+    @Autowired
+    @Qualifier("batchRecommendationExecutor")
+    private ThreadPoolTaskExecutor batchExecutor;
+
+    @Autowired
+    @Qualifier("recommendationExecutor")
+    private ThreadPoolTaskExecutor recommendationExecutor;
+
+    @Value("${recommendation.batch.micro-batch-size:256}")
+    private int microBatchSize;
+
+    @Value("${recommendation.batch.parallelism:4}")
+    private int batchParallelism;
+
+    @Value("${recommendation.batch.max-users:500000}")
+    private int maxBatchUsers;
+
+    @Value("${recommendation.async.user-timeout-ms:500}")
+    private long userLoadTimeoutMs;
+
+    @Value("${recommendation.async.ai-timeout-ms:1500}")
+    private long aiTimeoutMs;
+
+    @Value("${recommendation.ranking.default-limit:10}")
+    private int defaultLimit;
+
+    @Value("${recommendation.ranking.max-results:50}")
+    private int maxResults;
+
+    private Counter aiStrategies;
+    private Counter fallbackStrategies;
+
+    @PostConstruct
+    void registerMeters() {
+        aiStrategies = strategyCounter("ai");
+        fallbackStrategies = strategyCounter("fallback");
+    }
 
     @Override
     public List<FinancialProductDTO> getRecommendations(Long userId) {
-        User user = userService.getUserEntityById(userId);
+        // 0. Unchanged profile since the last request: no feature lookup, no AI call
+        return recommendationCache.findByUser(userId)
+                .orElseGet(() -> recommendForProfile(featureStore.get(userId)))
+                .products(defaultLimit);
+    }
 
-        // 1. Get raw strategic advice from AI Module
-        String suggestedType = callAiForStrategy(user);
-        System.out.println("🤖 AI Suggested Strategy for " + user.getName() + ": " + suggestedType);
+    @Override
+    public CompletableFuture<List<FinancialProductDTO>> getRecommendationsAsync(Long userId) {
+        return getRecommendationsAsync(userId, null);
+    }
+
+    /**
+     * Same pipeline as {@link #getRecommendations}, but every blocking stage
+     * runs on the recommendation executor with its own deadline: a slow
+     * feature load fails the request, a slow AI call degrades to the fallback rule.
+     */
+    @Override
+    public CompletableFuture<List<FinancialProductDTO>> getRecommendationsAsync(Long userId, Integer limit) {
+        int resolvedLimit = resolveLimit(limit);
+        return recommendAsync(userId).thenApply(recommendation -> recommendation.products(resolvedLimit));
+    }
 
-        // 2. Map AI category to real database products
-        return productRepository.findByType(suggestedType).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+    /**
+     * A window of the ranked list with scores. The list is ranked once per
+     * profile and cached, so later pages cost a slice.
+     */
+    @Override
+    public CompletableFuture<RecommendationPageDTO> getRankedRecommendationsAsync(Long userId, Integer offset,
+            Integer limit) {
+        int from = offset == null || offset < 0 ? 0 : offset;
+        int resolvedLimit = resolveLimit(limit);
+        return recommendAsync(userId).thenApply(recommendation -> {
+            List<RankedProduct> ranked = recommendation.ranked();
+            int to = (int) Math.min(ranked.size(), (long) from + resolvedLimit);
+            List<ScoredProductDTO> items = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                items.add(new ScoredProductDTO(i + 1, ranked.get(i).score(), ranked.get(i).product()));
+            }
+            return new RecommendationPageDTO(recommendation.strategy(), items, from, ranked.size(), to < ranked.size());
+        });
+    }
+
+    private CompletableFuture<CachedRecommendation> recommendAsync(Long userId) {
+        Optional<CachedRecommendation> cached = recommendationCache.findByUser(userId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return CompletableFuture.supplyAsync(() -> featureStore.get(userId), recommendationExecutor)
+                .orTimeout(userLoadTimeoutMs, TimeUnit.MILLISECONDS)
+                .thenCompose(this::recommendForProfileAsync);
     }
 
-    private String callAiForStrategy(User user) {
+    @Override
+    public void validateBatchRequest(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidRequestException("At least one user id is required");
+        }
+        if (userIds.size() > maxBatchUsers) {
+            throw new InvalidRequestException("Batch exceeds the limit of " + maxBatchUsers + " users");
+        }
+    }
+
+    /**
+     * Splits the ids into micro-batches and keeps at most {@code parallelism}
+     * of them in flight; each finished micro-batch is handed to the sink
+     * immediately, so memory is bounded by the in-flight window, not the
+     * request size. Results therefore arrive in completion order.
+     */
+    @Override
+    public void streamBatchRecommendations(List<Long> userIds, Consumer<RecommendationResultDTO> sink) {
+        validateBatchRequest(userIds);
+        Queue<List<Long>> pending = new ArrayDeque<>();
+        for (int from = 0; from < userIds.size(); from += microBatchSize) {
+            pending.add(userIds.subList(from, Math.min(from + microBatchSize, userIds.size())));
+        }
+
+        CompletionService<List<RecommendationResultDTO>> completion = new ExecutorCompletionService<>(batchExecutor);
+        List<Future<List<RecommendationResultDTO>>> submitted = new ArrayList<>();
+        int inFlight = 0;
         try {
-            Map<String, Object> req = new HashMap<>();
-            req.put("credit_score", 700); // Default if not in user model
-            req.put("age", user.getAge());
-            req.put("tenure", 5);
-            req.put("balance", user.getBalance());
-            req.put("num_products", 2);
-            req.put("has_crcard", 1);
-            req.put("is_active", 1);
-            req.put("salary", user.getMonthlyIncome());
-            req.put("satisfaction", 5);
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = restTemplate.postForObject(aiModuleUrl, req, Map.class);
-            if (response != null && response.containsKey("prediction")) {
-                return (String) response.get("prediction");
+            while (inFlight < batchParallelism && !pending.isEmpty()) {
+                List<Long> chunk = pending.poll();
+                submitted.add(completion.submit(() -> recommendForChunk(chunk)));
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                List<RecommendationResultDTO> results = completion.take().get();
+                inFlight--;
+                if (!pending.isEmpty()) {
+                    List<Long> chunk = pending.poll();
+                    submitted.add(completion.submit(() -> recommendForChunk(chunk)));
+                    inFlight++;
+                }
+                results.forEach(sink);
             }
-        } catch (Exception e) {
-            System.err.println("⚠️ AI Strategic Module unreachable, using fallback. Error: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch recommendation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch recommendation failed", e.getCause());
+        } finally {
+            submitted.forEach(future -> future.cancel(true)); // No-op for completed work; stops the rest on abort
         }
-        return user.getBalance() > 5000 ? "INVESTMENT" : "SAVINGS"; // Hard fallback
     }
 
-    private FinancialProductDTO mapToDTO(FinancialProduct p) {
-        return new FinancialProductDTO(p.getId(), p.getName(), p.getType(), p.getDescription(), p.getInterestRate(),
-                p.getMinimumEntry());
+    @Override
+    public FeatureVectorDTO getFeatures(Long userId) {
+        return featureStore.describe(userId);
+    }
+
+    @Override
+    public CacheStatsDTO getCacheStats() {
+        return recommendationCache.stats();
+    }
+
+    @Override
+    public AiClientStatusDTO getAiStatus() {
+        return aiModuleClient.status();
+    }
+
+    private CachedRecommendation recommendForProfile(FeatureVector features) {
+        Optional<CachedRecommendation> cached = reuseProfileRecommendation(features)
+                .or(() -> reuseStoredRecommendation(features));
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // 1. Get raw strategic advice from AI Module
+        return toRecommendation(features, callAiForStrategy(features.values()));
+    }
+
+    private CompletableFuture<CachedRecommendation> recommendForProfileAsync(FeatureVector features) {
+        Optional<CachedRecommendation> cached = reuseProfileRecommendation(features)
+                .or(() -> reuseStoredRecommendation(features));
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        AbortableCall call = new AbortableCall();
+        return CompletableFuture.supplyAsync(() -> call.run(() -> callAiForStrategy(features.values())),
+                        recommendationExecutor)
+                .orTimeout(aiTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    // Past the deadline the answer is the fallback; stop the call holding a bulkhead slot and connection
+                    if (ex instanceof TimeoutException) call.abort();
+                    return null; // Any AI failure degrades to the fallback, like the sync path
+                })
+                .thenApply(aiStrategy -> toRecommendation(features, aiStrategy));
+    }
+
+    /**
+     * Another user with an identical feature vector was scored recently.
+     */
+    private Optional<CachedRecommendation> reuseProfileRecommendation(FeatureVector features) {
+        Optional<CachedRecommendation> cached = recommendationCache.findByFingerprint(features.fingerprint());
+        cached.ifPresent(recommendation -> remember(features, recommendation));
+        return cached;
+    }
+
+    /**
+     * The precompute job already scored these exact features; served from
+     * memory next time.
+     */
+    private Optional<CachedRecommendation> reuseStoredRecommendation(FeatureVector features) {
+        Optional<CachedRecommendation> stored = precomputedRecommendations.find(features);
+        stored.ifPresent(recommendation -> remember(features, recommendation));
+        return stored;
+    }
+
+    private CachedRecommendation toRecommendation(FeatureVector features, String aiStrategy) {
+        String suggestedType = aiStrategy != null ? aiStrategy : fallbackStrategy(features);
+        (aiStrategy != null ? aiStrategies : fallbackStrategies).increment();
+        log.atDebug().addKeyValue("userId", features.userId()).addKeyValue("strategy", suggestedType)
+                .addKeyValue("fallback", aiStrategy == null).log("Strategy selected");
+
+        // 2. Rank the eligible products of that type (in-memory catalog, no query)
+        CachedRecommendation recommendation = new CachedRecommendation(suggestedType,
+                productRanker.rank(suggestedType, features));
+        if (aiStrategy != null) {
+            remember(features, recommendation); // Never pin a fallback answer
+        }
+        return recommendation;
+    }
+
+    /**
+     * Caches the result and points the user at it, unless the vector it was
+     * computed from was invalidated meanwhile: a scoring call that finishes
+     * after the commit's eviction must not pin the old profile until the TTL.
+     * The mapping is written first and checked after, so an invalidation
+     * racing with this either is seen here or evicts the mapping itself.
+     */
+    private void remember(FeatureVector features, CachedRecommendation recommendation) {
+        recommendationCache.put(features.userId(), features.fingerprint(), recommendation);
+        if (!featureStore.isCurrent(features)) {
+            recommendationCache.forgetUser(features.userId(), features.fingerprint());
+        }
+    }
+
+    /**
+     * One micro-batch: bulk feature lookup, cache lookups, a single AI round
+     * trip for the distinct uncached profiles, then an in-memory product join.
+     */
+    private List<RecommendationResultDTO> recommendForChunk(List<Long> userIds) {
+        Map<Long, FeatureVector> users = featureStore.getAll(userIds);
+        RecommendationResultDTO[] results = new RecommendationResultDTO[userIds.size()];
+
+        Map<Long, List<Integer>> uncached = new HashMap<>(); // fingerprint -> positions
+        Map<Long, double[]> uncachedFeatures = new HashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            FeatureVector features = users.get(userIds.get(i));
+            if (features == null) {
+                results[i] = RecommendationResultDTO.failed(userIds.get(i), "User not found with id: " + userIds.get(i));
+                continue;
+            }
+            Optional<CachedRecommendation> cached = reuseProfileRecommendation(features);
+            if (cached.isPresent()) {
+                results[i] = toResult(features.userId(), cached.get(), false);
+            } else {
+                uncached.computeIfAbsent(features.fingerprint(), key -> new ArrayList<>()).add(i);
+                uncachedFeatures.putIfAbsent(features.fingerprint(), features.values());
+            }
+        }
+
+        List<Long> fingerprints = new ArrayList<>(uncached.keySet());
+        List<double[]> rows = fingerprints.stream().map(uncachedFeatures::get).collect(Collectors.toList());
+        Optional<List<AiPrediction>> predictions = rows.isEmpty()
+                ? Optional.of(List.of())
+                : strategyScorer.scoreBatch(rows);
+
+        for (int row = 0; row < fingerprints.size(); row++) {
+            long fingerprint = fingerprints.get(row);
+            CachedRecommendation shared = null;
+            if (predictions.isPresent()) {
+                // Equal fingerprints mean equal balance and risk profile, so one ranking serves all
+                String strategy = predictions.get().get(row).prediction();
+                FeatureVector profile = users.get(userIds.get(uncached.get(fingerprint).get(0)));
+                shared = new CachedRecommendation(strategy, productRanker.rank(strategy, profile));
+            }
+            (shared != null ? aiStrategies : fallbackStrategies).increment(uncached.get(fingerprint).size());
+            for (int position : uncached.get(fingerprint)) {
+                FeatureVector features = users.get(userIds.get(position));
+                if (shared != null) {
+                    remember(features, shared);
+                    results[position] = toResult(features.userId(), shared, false);
+                } else {
+                    String strategy = fallbackStrategy(features);
+                    results[position] = toResult(features.userId(),
+                            new CachedRecommendation(strategy, productRanker.rank(strategy, features)), true);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private RecommendationResultDTO toResult(Long userId, CachedRecommendation recommendation, boolean fallback) {
+        return new RecommendationResultDTO(userId, recommendation.strategy(), fallback,
+                recommendation.products(defaultLimit), null);
+    }
+
+    private int resolveLimit(Integer requested) {
+        if (requested == null || requested <= 0) return defaultLimit;
+        return Math.min(requested, maxResults);
+    }
+
+    private String callAiForStrategy(double[] features) {
+        return strategyScorer.score(features).map(AiPrediction::prediction).orElse(null);
+    }
+
+    private Counter strategyCounter(String source) {
+        return Counter.builder("recommendation.strategies")
+                .description("Recommendations computed from a model prediction or the fallback rule (cache hits excluded)")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private String fallbackStrategy(FeatureVector features) {
+        return features.balance() > 5000 ? "INVESTMENT" : "SAVINGS"; // Hard fallback
     }
 }
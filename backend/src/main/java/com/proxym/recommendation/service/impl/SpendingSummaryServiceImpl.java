@@ -0,0 +1,128 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.datasource.DataSourceRouting;
+import com.proxym.recommendation.datasource.ReadYourWrites;
+import com.proxym.recommendation.dto.RebuildResultDTO;
+import com.proxym.recommendation.dto.SpendingBucketDTO;
+import com.proxym.recommendation.dto.SpendingSummaryDTO;
+import com.proxym.recommendation.exception.InvalidRequestException;
+import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.repository.SpendingAggregateRepository;
+import com.proxym.recommendation.repository.SpendingDelta;
+import com.proxym.recommendation.repository.UserRepository;
+import com.proxym.recommendation.service.SpendingSummaryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Spending summaries served from the per-(user, category, month) aggregate
+ * table, so a summary costs O(categories x months), never O(transactions).
+ */
+@Service
+public class SpendingSummaryServiceImpl implements SpendingSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendingSummaryServiceImpl.class);
+    private static final String OPEN_FROM = "0000-01";
+    private static final String OPEN_TO = "9999-12";
+
+    @Autowired
+    private SpendingAggregateRepository spendingAggregateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FeatureStore featureStore;
+
+    @Override
+    @Transactional(readOnly = true)
+    @ReadYourWrites
+    public SpendingSummaryDTO getSummary(Long userId, String from, String to) {
+        ensureUserExists(userId);
+        String lower = from == null ? OPEN_FROM : parsePeriod(from);
+        String upper = to == null ? OPEN_TO : parsePeriod(to);
+        if (lower.compareTo(upper) > 0) {
+            throw new InvalidRequestException("Period from " + from + " is after to " + to);
+        }
+
+        List<SpendingBucketDTO> byCategory = spendingAggregateRepository.sumByCategory(userId, lower, upper);
+        List<SpendingBucketDTO> byMonth = spendingAggregateRepository.sumByMonth(userId, lower, upper);
+        double total = 0;
+        long count = 0;
+        for (SpendingBucketDTO bucket : byCategory) {
+            total += bucket.getTotal();
+            count += bucket.getCount();
+        }
+        return new SpendingSummaryDTO(userId, from, to, total, count, byCategory, byMonth);
+    }
+
+    /**
+     * Sorts and merges the deltas first: one statement per key, and every
+     * writer touches rows in the same order, so concurrent batches cannot
+     * deadlock on each other. Feature vectors derive from the aggregates, so
+     * the affected users' vectors are dropped once this commits.
+     */
+    @Override
+    @Transactional
+    public void applyDeltas(List<SpendingDelta> deltas) {
+        List<SpendingDelta> sorted = new ArrayList<>(deltas);
+        sorted.sort(Comparator.naturalOrder());
+        List<SpendingDelta> merged = new ArrayList<>(sorted.size());
+        for (SpendingDelta delta : sorted) {
+            int last = merged.size() - 1;
+            if (last >= 0 && merged.get(last).sameKey(delta)) {
+                merged.set(last, merged.get(last).plus(delta));
+            } else {
+                merged.add(delta);
+            }
+        }
+        merged.removeIf(SpendingDelta::isNoOp);
+        spendingAggregateRepository.applyDeltas(merged);
+        featureStore.invalidate(merged.stream().map(SpendingDelta::userId).distinct().toList());
+    }
+
+    @Override
+    @Transactional
+    public RebuildResultDTO rebuildForUser(Long userId) {
+        ensureUserExists(userId);
+        long start = System.currentTimeMillis();
+        int rows = spendingAggregateRepository.rebuildForUser(userId);
+        featureStore.invalidate(List.of(userId));
+        DataSourceRouting.recordWrites(List.of(userId));
+        return new RebuildResultDTO(rows, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    @Transactional
+    public RebuildResultDTO rebuildAll() {
+        long start = System.currentTimeMillis();
+        int rows = spendingAggregateRepository.rebuildAll();
+        featureStore.invalidateAll();
+        log.info("Rebuilt {} spending aggregate rows from transactions", rows);
+        return new RebuildResultDTO(rows, System.currentTimeMillis() - start);
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+    }
+
+    private String parsePeriod(String period) {
+        try {
+            return YearMonth.parse(period).toString();
+        } catch (DateTimeParseException e) {
+            throw new InvalidRequestException("Period must be formatted as yyyy-MM: " + period);
+        }
+    }
+}
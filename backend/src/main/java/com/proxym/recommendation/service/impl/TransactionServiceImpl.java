@@ -1,16 +1,44 @@
 package com.proxym.recommendation.service.impl;
 
+import com.proxym.recommendation.datasource.DataSourceRouting;
+import com.proxym.recommendation.datasource.ReadYourWrites;
+import com.proxym.recommendation.dto.TransactionBatchItemDTO;
+import com.proxym.recommendation.dto.TransactionBatchResultDTO;
+import com.proxym.recommendation.dto.TransactionCursor;
 import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.TransactionFilter;
+import com.proxym.recommendation.dto.TransactionPageDTO;
+import com.proxym.recommendation.event.TransactionsChangedEvent;
+import com.proxym.recommendation.event.TransactionsChangedEvent.ChangeType;
+import com.proxym.recommendation.exception.InvalidRequestException;
 import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.mapper.DtoMapper;
+import com.proxym.recommendation.model.SpendingAggregate;
 import com.proxym.recommendation.model.Transaction;
+import com.proxym.recommendation.repository.BalanceDelta;
+import com.proxym.recommendation.repository.SpendingDelta;
 import com.proxym.recommendation.repository.TransactionRepository;
+import com.proxym.recommendation.repository.UserRepository;
+import com.proxym.recommendation.service.BalanceService;
+import com.proxym.recommendation.service.SpendingSummaryService;
 import com.proxym.recommendation.service.TransactionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service for managing financial transactions.
@@ -21,55 +49,278 @@ public class TransactionServiceImpl implements TransactionService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${transactions.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int jdbcBatchSize;
+
+    @Value("${transactions.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${transactions.page.max-size:500}")
+    private int maxPageSize;
+
     @Override
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getAllTransactions() {
-        return transactionRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findAllAsDTO();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @ReadYourWrites
     public List<TransactionDTO> getTransactionsByUserId(Long userId) {
-        return transactionRepository.findByUserId(userId).stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return transactionRepository.findDTOsByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionPage(TransactionFilter filter, String cursor, Integer size) {
+        int limit = resolvePageSize(size);
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT.
+        List<TransactionDTO> rows = transactionRepository.findPage(filter, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<TransactionDTO> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? TransactionCursor.of(items.get(limit - 1)).encode() : null;
+        return new TransactionPageDTO(items, nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTransactions(TransactionFilter filter, Consumer<TransactionDTO> sink) {
+        try (Stream<TransactionDTO> rows = transactionRepository.streamAll(filter)) {
+            rows.forEach(sink);
+        }
     }
 
+    /**
+     * The owner is only known once the row is read, so the row is read again
+     * on the primary when the replica misses it or its user has a write the
+     * replica may not have applied yet.
+     */
     @Override
     public TransactionDTO getTransactionById(Long id) {
-        return mapToDTO(transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id)));
+        Optional<TransactionDTO> found = transactionRepository.findDTOById(id);
+        if (found.isEmpty() || DataSourceRouting.wroteRecently(found.get().getUserId())) {
+            found = DataSourceRouting.primary(() -> transactionRepository.findDTOById(id));
+        }
+        return found.orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
     }
 
     @Override
+    @Transactional
     public TransactionDTO createTransaction(Transaction transaction) {
         ensureTimestamp(transaction);
-        return mapToDTO(transactionRepository.save(transaction));
+        transaction.setBalanceApplied(true);
+        Transaction saved = transactionRepository.save(transaction);
+        List<SpendingDelta> deltas = new ArrayList<>(1);
+        List<BalanceDelta> balanceDeltas = new ArrayList<>(1);
+        addSpendingDelta(deltas, saved, 1);
+        addBalanceDelta(balanceDeltas, saved, 1);
+        spendingSummaryService.applyDeltas(deltas);
+        balanceService.applyDeltas(balanceDeltas);
+        TransactionDTO created = DtoMapper.toDTO(saved);
+        publish(ChangeType.CREATED, List.of(created));
+        return created;
+    }
+
+    /**
+     * Validates the whole batch up front (including one bulk user-existence
+     * check), then persists the valid rows in a single database transaction,
+     * flushing every JDBC batch so the persistence context stays small.
+     * Spending aggregates are updated once for the whole batch, merged per
+     * (user, category, month), and so are balances, per user. A debit the
+     * overdraft check refuses fails the whole batch.
+     */
+    @Override
+    @Transactional
+    public TransactionBatchResultDTO createTransactions(List<TransactionDTO> transactions) {
+        validateBatchSize(transactions);
+        Set<Long> knownUserIds = findKnownUserIds(transactions);
+
+        List<TransactionBatchItemDTO> results = new ArrayList<>(transactions.size());
+        List<Transaction> pending = new ArrayList<>(jdbcBatchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(jdbcBatchSize);
+        List<SpendingDelta> spendingDeltas = new ArrayList<>();
+        List<BalanceDelta> balanceDeltas = new ArrayList<>();
+        List<TransactionDTO> createdRows = new ArrayList<>();
+        int created = 0;
+
+        for (int i = 0; i < transactions.size(); i++) {
+            TransactionDTO item = transactions.get(i);
+            String error = validateBatchItem(item, knownUserIds);
+            if (error != null) {
+                results.add(TransactionBatchItemDTO.rejected(i, error));
+                continue;
+            }
+            Transaction transaction = toEntity(item);
+            entityManager.persist(transaction);
+            addSpendingDelta(spendingDeltas, transaction, 1);
+            addBalanceDelta(balanceDeltas, transaction, 1);
+            pending.add(transaction);
+            pendingIndexes.add(i);
+            results.add(null); // Filled in once the id is assigned and flushed
+
+            if (pending.size() == jdbcBatchSize) {
+                created += flushBatch(pending, pendingIndexes, results, createdRows);
+            }
+        }
+        created += flushBatch(pending, pendingIndexes, results, createdRows);
+        spendingSummaryService.applyDeltas(spendingDeltas);
+        balanceService.applyDeltas(balanceDeltas);
+        publish(ChangeType.CREATED, createdRows);
+        return new TransactionBatchResultDTO(transactions.size(), created, transactions.size() - created, results);
     }
 
     @Override
+    @Transactional
     public TransactionDTO updateTransaction(Long id, Transaction transactionDetails) {
-        Transaction existing = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+        Transaction existing = findForUpdate(id);
+        List<SpendingDelta> deltas = new ArrayList<>(2);
+        List<BalanceDelta> balanceDeltas = new ArrayList<>(2);
+        addSpendingDelta(deltas, existing, -1); // Retract the old values, then add the new ones
+        addBalanceDelta(balanceDeltas, existing, -1);
         copyDetails(existing, transactionDetails);
-        return mapToDTO(transactionRepository.save(existing));
+        addSpendingDelta(deltas, existing, 1);
+        addBalanceDelta(balanceDeltas, existing, 1);
+        TransactionDTO updated = DtoMapper.toDTO(transactionRepository.save(existing));
+        spendingSummaryService.applyDeltas(deltas);
+        balanceService.applyDeltas(balanceDeltas);
+        publish(ChangeType.UPDATED, List.of(updated));
+        return updated;
     }
 
     @Override
+    @Transactional
     public void deleteTransaction(Long id) {
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+        Transaction transaction = findForUpdate(id);
+        List<SpendingDelta> deltas = new ArrayList<>(1);
+        List<BalanceDelta> balanceDeltas = new ArrayList<>(1);
+        addSpendingDelta(deltas, transaction, -1);
+        addBalanceDelta(balanceDeltas, transaction, -1);
+        TransactionDTO deleted = DtoMapper.toDTO(transaction);
         transactionRepository.delete(transaction);
+        spendingSummaryService.applyDeltas(deltas);
+        balanceService.applyDeltas(balanceDeltas);
+        publish(ChangeType.DELETED, List.of(deleted));
+    }
+
+    private Transaction findForUpdate(Long id) {
+        return transactionRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+    }
+
+    /**
+     * Published last, so after-commit listeners run after the cache evictions
+     * registered by the summary and balance updates.
+     */
+    private void publish(ChangeType type, List<TransactionDTO> transactions) {
+        if (!transactions.isEmpty()) {
+            DataSourceRouting.recordWrites(transactions.stream().map(TransactionDTO::getUserId).distinct().toList());
+            eventPublisher.publishEvent(new TransactionsChangedEvent(type, transactions));
+        }
+    }
+
+    private void validateBatchSize(List<TransactionDTO> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            throw new InvalidRequestException("Transaction batch must not be empty");
+        }
+        if (transactions.size() > maxBatchItems) {
+            throw new InvalidRequestException("Transaction batch exceeds the limit of " + maxBatchItems + " items");
+        }
+    }
+
+    private Set<Long> findKnownUserIds(List<TransactionDTO> transactions) {
+        Set<Long> requested = new HashSet<>();
+        for (TransactionDTO item : transactions) {
+            if (item != null && item.getUserId() != null) requested.add(item.getUserId());
+        }
+        return requested.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(requested));
+    }
+
+    private String validateBatchItem(TransactionDTO item, Set<Long> knownUserIds) {
+        if (item == null) return "Item is empty";
+        if (item.getUserId() == null) return "userId is required";
+        if (!knownUserIds.contains(item.getUserId())) return "User not found with id: " + item.getUserId();
+        if (item.getAmount() == null || !Double.isFinite(item.getAmount())) return "amount is required";
+        if (item.getCategory() == null || item.getCategory().isBlank()) return "category is required";
+        return null;
+    }
+
+    private Transaction toEntity(TransactionDTO item) {
+        Transaction transaction = new Transaction();
+        // Reference proxy: sets the FK without selecting the user row.
+        transaction.setUser(userRepository.getReferenceById(item.getUserId()));
+        transaction.setAmount(item.getAmount());
+        transaction.setCategory(item.getCategory());
+        transaction.setDate(item.getDate());
+        transaction.setDescription(item.getDescription());
+        transaction.setBalanceApplied(true);
+        ensureTimestamp(transaction);
+        return transaction;
+    }
+
+    private int flushBatch(List<Transaction> pending, List<Integer> pendingIndexes,
+            List<TransactionBatchItemDTO> results, List<TransactionDTO> createdRows) {
+        if (pending.isEmpty()) return 0;
+        entityManager.flush();
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results.set(index, TransactionBatchItemDTO.created(index, pending.get(i).getId()));
+            createdRows.add(DtoMapper.toDTO(pending.get(i)));
+        }
+        int flushed = pending.size();
+        pending.clear();
+        pendingIndexes.clear();
+        entityManager.clear(); // Keep memory flat across thousands of rows
+        return flushed;
+    }
+
+    /**
+     * sign is +1 to count the transaction, -1 to retract it. Transactions
+     * without a user or a date are not aggregated (the rebuild skips them too).
+     */
+    private void addSpendingDelta(List<SpendingDelta> deltas, Transaction t, int sign) {
+        if (t.getUser() == null || t.getUser().getId() == null || t.getDate() == null) return;
+        String category = t.getCategory() != null ? t.getCategory() : SpendingAggregate.UNCATEGORIZED;
+        double amount = t.getAmount() != null ? t.getAmount() : 0;
+        deltas.add(new SpendingDelta(t.getUser().getId(), category, YearMonth.from(t.getDate()).toString(),
+                sign * amount, sign));
+    }
+
+    /**
+     * Amounts are spending: recording one lowers the balance, retracting it
+     * ({@code sign = -1}) gives the amount back. Rows whose amount never
+     * reached the balance are left out both ways; the reconciliation applies
+     * their current amount.
+     */
+    private void addBalanceDelta(List<BalanceDelta> deltas, Transaction t, int sign) {
+        if (!Boolean.TRUE.equals(t.getBalanceApplied())) return;
+        if (t.getUser() == null || t.getUser().getId() == null || t.getAmount() == null) return;
+        deltas.add(new BalanceDelta(t.getUser().getId(), -sign * t.getAmount()));
     }
 
-    private TransactionDTO mapToDTO(Transaction t) {
-        return new TransactionDTO(
-                t.getId(),
-                t.getUser().getId(),
-                t.getAmount(),
-                t.getCategory(),
-                t.getDate(),
-                t.getDescription());
+    private int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) return defaultPageSize;
+        return Math.min(requested, maxPageSize);
     }
 
     private void ensureTimestamp(Transaction transaction) {
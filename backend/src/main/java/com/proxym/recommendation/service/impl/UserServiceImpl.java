@@ -1,17 +1,30 @@
 package com.proxym.recommendation.service.impl;
 
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.cache.EmailBloomFilter;
+import com.proxym.recommendation.datasource.DataSourceRouting;
+import com.proxym.recommendation.datasource.ReadYourWrites;
 import com.proxym.recommendation.dto.UserDTO;
 import com.proxym.recommendation.exception.EmailAlreadyInUseException;
 import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.exception.TooManyRequestsException;
+import com.proxym.recommendation.mapper.DtoMapper;
 import com.proxym.recommendation.model.User;
+import com.proxym.recommendation.repository.RecommendationRepository;
 import com.proxym.recommendation.repository.UserRepository;
+import com.proxym.recommendation.security.PasswordHasher;
 import com.proxym.recommendation.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Enterprise implementation of the UserService.
@@ -24,85 +37,163 @@ public class UserServiceImpl implements UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    @Qualifier("userWriteExecutor")
+    private Executor writeExecutor; // Database work after a hash never runs on the BCrypt pool
+
+    @Autowired
+    private FeatureStore featureStore; // Also drops the user's cached recommendation profile
+
+    @Autowired
+    private EmailBloomFilter emailFilter;
+
+    @Autowired
+    private RecommendationRepository recommendationRepository;
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return userRepository.findAllAsDTO();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @ReadYourWrites("id")
     public UserDTO getUserById(Long id) {
-        return mapToDTO(getUserEntityById(id));
+        return userRepository.findDTOById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersByIds(Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : userRepository.findDTOsByIds(ids);
     }
 
     @Override
     public User getUserEntityById(Long id) {
-        return userRepository.findById(id)
+        return DataSourceRouting.primary(() -> userRepository.findById(id)) // Loaded to be modified
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
     @Override
-    public UserDTO createUser(User user) {
+    public CompletableFuture<UserDTO> createUser(User user) {
         validateEmailUniqueness(user.getEmail());
         applyUserDefaults(user);
-        hashPassword(user);
-        return mapToDTO(userRepository.save(user));
+        return hashPassword(user)
+                .thenApplyAsync(hashed -> DtoMapper.toDTO(saveUser(hashed)), writeExecutor);
     }
 
+    /**
+     * Like {@link #createUser}: a new password is hashed on the BCrypt pool,
+     * and the user is loaded and saved on the write pool only once the hash
+     * is ready, so no request thread waits and the row is read right before
+     * it is written.
+     */
     @Override
-    public UserDTO updateUser(Long id, User userDetails) {
-        User existingUser = getUserEntityById(id);
-        performUpdate(existingUser, userDetails);
-        return mapToDTO(userRepository.save(existingUser));
+    public CompletableFuture<UserDTO> updateUser(Long id, User userDetails) {
+        return hashPassword(userDetails).thenApplyAsync(details -> {
+            User existingUser = getUserEntityById(id);
+            performUpdate(existingUser, details);
+            UserDTO updated = DtoMapper.toDTO(saveUser(existingUser));
+            featureStore.invalidate(List.of(id));
+            DataSourceRouting.recordWrites(List.of(id));
+            return updated;
+        }, writeExecutor);
     }
 
     @Override
     public void deleteUser(Long id) {
         User user = getUserEntityById(id);
+        recommendationRepository.deleteByUserId(id);
         userRepository.delete(user);
+        featureStore.invalidate(List.of(id));
+        DataSourceRouting.recordWrites(List.of(id));
+        emailFilter.recordDeletion();
     }
 
     @Override
-    public UserDTO login(String email, String password) {
-        return userRepository.findByEmail(email)
-                .filter(u -> isPasswordCorrect(u, password))
-                .map(this::mapToDTO)
-                .orElseThrow(() -> new ResourceNotFoundException("Invalid email or password"));
+    public CompletableFuture<UserDTO> login(String email, String password) {
+        // The primary: a user who just signed up or changed password may not be on the replica yet
+        User user = DataSourceRouting.primary(() -> userRepository.findByEmail(email))
+                .filter(u -> password != null)
+                .orElseThrow(this::invalidCredentials);
+        return passwordHasher.matches(password, user.getPassword())
+                .thenApply(matched -> {
+                    if (!matched) throw invalidCredentials();
+                    upgradeHashIfNeeded(user, password);
+                    return DtoMapper.toDTO(user);
+                });
     }
 
     // --- Enterprise Mapping and Logic ---
 
-    private UserDTO mapToDTO(User user) {
-        return UserDTO.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .age(user.getAge())
-                .monthlyIncome(user.getMonthlyIncome())
-                .balance(user.getBalance())
-                .riskProfile(user.getRiskProfile())
-                .financialGoals(user.getFinancialGoals())
-                .build();
-    }
-
-    private void hashPassword(User user) {
-        if (user.getPassword() != null) {
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
+    private CompletableFuture<User> hashPassword(User user) {
+        if (user.getPassword() == null) {
+            return CompletableFuture.completedFuture(user);
         }
+        return passwordHasher.encode(user.getPassword()).thenApply(hash -> {
+            user.setPassword(hash);
+            return user;
+        });
     }
 
+    /**
+     * Fast pre-check for a friendly error. Definitely-new emails skip the
+     * query; concurrent signups are still caught by the unique index in
+     * {@link #saveUser(User)}.
+     */
     private void validateEmailUniqueness(String email) {
-        if (userRepository.findByEmail(email).isPresent()) {
-            throw new EmailAlreadyInUseException("Email " + email + " is already in use!");
+        if (!emailFilter.mightContain(email)) return;
+        if (userRepository.existsByEmail(email)) {
+            throw emailInUse(email);
+        }
+        emailFilter.recordFalsePositive();
+    }
+
+    private User saveUser(User user) {
+        try {
+            User saved = userRepository.save(user);
+            emailFilter.add(saved.getEmail());
+            DataSourceRouting.recordWrites(List.of(saved.getId()));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) throw emailInUse(user.getEmail());
+            throw e;
         }
     }
 
-    private boolean isPasswordCorrect(User user, String password) {
-        return passwordEncoder.matches(password, user.getPassword());
+    private boolean isEmailConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+    }
+
+    private EmailAlreadyInUseException emailInUse(String email) {
+        return new EmailAlreadyInUseException("Email " + email + " is already in use!");
+    }
+
+    private ResourceNotFoundException invalidCredentials() {
+        return new ResourceNotFoundException("Invalid email or password");
+    }
+
+    /**
+     * The plain password is only known right after a successful login, so
+     * that is when hashes from a lower work factor are re-encoded. Best
+     * effort: skipped under load, the next login tries again.
+     */
+    private void upgradeHashIfNeeded(User user, String password) {
+        if (!passwordHasher.needsUpgrade(user.getPassword())) return;
+        try {
+            passwordHasher.encode(password)
+                    .thenAcceptAsync(hash -> {
+                        userRepository.updatePassword(user.getId(), hash);
+                        passwordHasher.recordUpgrade();
+                    }, writeExecutor);
+        } catch (TooManyRequestsException e) {
+            // Pool saturated; leave the old hash in place (a rejected write is dropped the same way)
+        }
     }
 
     private void applyUserDefaults(User user) {
@@ -128,6 +219,9 @@ public class UserServiceImpl implements UserService {
         if (user.getFinancialGoals() == null) user.setFinancialGoals("Savings");
     }
 
+    /**
+     * {@code source} carries the already hashed password, if one was given.
+     */
     private void performUpdate(User target, User source) {
         target.setName(source.getName());
         target.setEmail(source.getEmail());
@@ -135,14 +229,14 @@ public class UserServiceImpl implements UserService {
         target.setRole(source.getRole());
         target.setAge(source.getAge());
         target.setMonthlyIncome(source.getMonthlyIncome());
-        target.setBalance(source.getBalance());
+        // No balance: the column is not updatable, so saving the profile cannot undo concurrent postings
         target.setRiskProfile(source.getRiskProfile());
         target.setFinancialGoals(source.getFinancialGoals());
     }
 
-    private void updatePasswordIfProvided(User target, String newPassword) {
-        if (newPassword != null) {
-            target.setPassword(passwordEncoder.encode(newPassword));
+    private void updatePasswordIfProvided(User target, String newHash) {
+        if (newHash != null) {
+            target.setPassword(newHash);
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.proxym.recommendation.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbortableCallTest {
+
+    private final AbortableCall call = new AbortableCall();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+
+    @Test
+    void abortCancelsTheRequestOfTheRunningCall() {
+        String result = call.run(() -> {
+            AbortableCall.attach(this::cancel);
+            call.abort();
+            return "answered";
+        });
+
+        assertThat(result).isEqualTo("answered");
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void callAbortedBeforeItStartsNeverRuns() {
+        call.abort();
+
+        assertThat(call.<String>run(() -> {
+            throw new AssertionError("should not run");
+        })).isNull();
+    }
+
+    @Test
+    void requestsOutsideACallAreNotTracked() {
+        AbortableCall.attach(this::cancel);
+        call.abort();
+
+        assertThat(cancelled).isFalse();
+    }
+
+    private boolean cancel() {
+        cancelled.set(true);
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package com.proxym.recommendation.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    // Window of 4, opens at 50% after 2 calls, re-admits immediately, 2 trial calls
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, 0, 2);
+
+    @Test
+    void slowCallAdmittedWhileClosedIsNotCountedAsATrial() {
+        long slow = breaker.tryAcquirePermission();
+        openBreaker();
+
+        long trial = breaker.tryAcquirePermission();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(slow);
+        breaker.onSuccess(trial);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(breaker.tryAcquirePermission());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void lateFailureFromAnEarlierGenerationDoesNotReopen() {
+        long slow = breaker.tryAcquirePermission();
+        openBreaker();
+        long trial = breaker.tryAcquirePermission();
+
+        breaker.onError(slow);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onError(trial);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void releasedPermissionOfAnEarlierGenerationAddsNoTrial() {
+        long slow = breaker.tryAcquirePermission();
+        openBreaker();
+        breaker.tryAcquirePermission();
+        breaker.tryAcquirePermission();
+
+        breaker.releasePermission(slow);
+
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NOT_PERMITTED);
+    }
+
+    private void openBreaker() {
+        breaker.onError(breaker.tryAcquirePermission());
+        breaker.onError(breaker.tryAcquirePermission());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,147 @@
+package com.proxym.recommendation.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Replays the predictions recorded in a small export of the strategy model
+ * (the first stages only; {@code AI_Model/export_model.py --fixture}
+ * regenerates it with scikit-learn's predict_proba, and the file names its
+ * generator). Hand-built models check the tree walk, the threshold tie and
+ * the link functions against closed-form values, independent of any
+ * recorded evaluator.
+ */
+class GradientBoostedModelTest {
+
+    private static final Resource FIXTURE = new ClassPathResource("ai/strategy_model_fixture.json");
+    private static final double PROBABILITY_TOLERANCE = 1e-6;
+
+    private static GradientBoostedModel.Export export;
+
+    @BeforeAll
+    static void loadFixture() throws IOException {
+        try (InputStream in = FIXTURE.getInputStream()) {
+            export = new ObjectMapper().readValue(in, GradientBoostedModel.Export.class);
+        }
+        assertThat(export.samples()).isNotEmpty();
+    }
+
+    @Test
+    void modelMatchesRecordedPredictions() {
+        GradientBoostedModel model = GradientBoostedModel.from(export);
+        double[] scaled = new double[StrategyFeatures.SIZE];
+        double[] raw = new double[model.outputs()];
+        double[] probabilities = new double[export.classes().size()];
+
+        for (GradientBoostedModel.Sample sample : export.samples()) {
+            int predicted = model.predict(sample.features(), scaled, raw, probabilities);
+
+            assertThat(model.className(predicted)).isEqualTo(sample.prediction());
+            for (int k = 0; k < probabilities.length; k++) {
+                assertThat(probabilities[k]).as("probability of %s", export.classes().get(k))
+                        .isCloseTo(sample.probabilities()[k], within(PROBABILITY_TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void scorerReturnsRecordedTypeAndScore() throws IOException {
+        NativeStrategyScorer scorer = new NativeStrategyScorer(new ObjectMapper(), FIXTURE);
+
+        for (GradientBoostedModel.Sample sample : export.samples()) {
+            AiPrediction prediction = scorer.score(sample.features()).orElseThrow();
+
+            assertThat(prediction.prediction()).isEqualTo(sample.prediction());
+            int index = export.classes().indexOf(sample.prediction());
+            assertThat(prediction.confidence()).isCloseTo(sample.probabilities()[index], within(PROBABILITY_TOLERANCE));
+        }
+    }
+
+    @Test
+    void batchScoresKeepInputOrder() throws IOException {
+        NativeStrategyScorer scorer = new NativeStrategyScorer(new ObjectMapper(), FIXTURE);
+        List<double[]> rows = export.samples().stream().map(GradientBoostedModel.Sample::features).toList();
+
+        List<AiPrediction> predictions = scorer.scoreBatch(rows).orElseThrow();
+
+        assertThat(predictions).extracting(AiPrediction::prediction)
+                .containsExactlyElementsOf(export.samples().stream().map(GradientBoostedModel.Sample::prediction).toList());
+    }
+
+    @Test
+    void rejectsOtherFormats() {
+        GradientBoostedModel.Export other = new GradientBoostedModel.Export("other-format", export.generator(),
+                export.features(), export.scaler(), export.classes(), export.learningRate(), export.initRaw(),
+                export.stages(), List.of());
+
+        assertThatThrownBy(() -> GradientBoostedModel.from(other)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void multinomialStumpsGiveTheSoftmaxOfTheirLeaves() {
+        // One stage, one stump per class on feature 0: raw scores (1, 0, -1) on the left, reversed on the right
+        GradientBoostedModel model = GradientBoostedModel.from(handBuilt(List.of("A", "B", "C"), List.of(0.0, 0.0, 0.0),
+                List.of(stump(1.0, -1.0), stump(0.0, 0.0), stump(-1.0, 1.0))));
+        double[] probabilities = new double[3];
+
+        // exp(1) / (exp(1) + 1 + exp(-1)), 1 / (...), exp(-1) / (...)
+        assertThat(model.className(predict(model, 0.0, probabilities))).isEqualTo("A");
+        assertThat(probabilities).containsExactly(new double[] {0.6652409557748219, 0.24472847105479767,
+                0.09003057317038046}, within(1e-12));
+
+        assertThat(model.className(predict(model, 2.0, probabilities))).isEqualTo("C");
+        assertThat(probabilities).containsExactly(new double[] {0.09003057317038046, 0.24472847105479767,
+                0.6652409557748219}, within(1e-12));
+    }
+
+    @Test
+    void binomialStumpGivesTheSigmoidOfItsLeafAndTiesGoLeft() {
+        // Leaves of +-ln 3 give probabilities of exactly 3/4 and 1/4
+        GradientBoostedModel model = GradientBoostedModel.from(handBuilt(List.of("NO", "YES"), List.of(0.0),
+                List.of(stump(Math.log(3), -Math.log(3)))));
+        double[] probabilities = new double[2];
+
+        assertThat(model.className(predict(model, 0.5, probabilities))).isEqualTo("YES"); // On the threshold
+        assertThat(probabilities).containsExactly(new double[] {0.25, 0.75}, within(1e-12));
+
+        assertThat(model.className(predict(model, 0.75, probabilities))).isEqualTo("NO");
+        assertThat(probabilities).containsExactly(new double[] {0.75, 0.25}, within(1e-12));
+    }
+
+    private static int predict(GradientBoostedModel model, double firstFeature, double[] probabilities) {
+        double[] features = new double[StrategyFeatures.SIZE];
+        features[0] = firstFeature;
+        return model.predict(features, new double[StrategyFeatures.SIZE], new double[model.outputs()], probabilities);
+    }
+
+    /**
+     * Identity scaler and a learning rate of 1, so leaf values are raw scores.
+     */
+    private static GradientBoostedModel.Export handBuilt(List<String> classes, List<Double> initRaw,
+            List<GradientBoostedModel.Tree> stage) {
+        List<Double> zeros = Collections.nCopies(StrategyFeatures.SIZE, 0.0);
+        List<Double> ones = Collections.nCopies(StrategyFeatures.SIZE, 1.0);
+        return new GradientBoostedModel.Export(GradientBoostedModel.FORMAT, "hand-built", export.features(),
+                new GradientBoostedModel.Scaler(zeros, ones), classes, 1.0, initRaw, List.of(stage), List.of());
+    }
+
+    /**
+     * Splits on feature 0 at 0.5: {@code leftValue} when it is at most 0.5.
+     */
+    private static GradientBoostedModel.Tree stump(double leftValue, double rightValue) {
+        return new GradientBoostedModel.Tree(List.of(1, -1, -1), List.of(2, -1, -1), List.of(0, -2, -2),
+                List.of(0.5, -2.0, -2.0), List.of(0.0, leftValue, rightValue));
+    }
+}
@@ -0,0 +1,93 @@
+package com.proxym.recommendation.cache;
+
+import com.proxym.recommendation.ai.AiPrediction;
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.ai.StrategyScorer;
+import com.proxym.recommendation.dto.PrecomputeProgressDTO;
+import com.proxym.recommendation.model.Recommendation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PrecomputedRecommendationsTest {
+
+    @MockBean
+    private StrategyScorer strategyScorer;
+
+    @Autowired
+    private PrecomputedRecommendations precomputedRecommendations;
+
+    @Autowired
+    private FeatureStore featureStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, financial_goals) "
+                + "VALUES ('Empty', 'empty@precompute.test', 'x', 'USER', 0, 'Medium', 'Savings')");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'empty@precompute.test'", Long.class);
+        // No product of this type exists, so nothing is eligible
+        when(strategyScorer.scoreBatch(anyList()))
+                .thenAnswer(call -> Optional.of(((List<?>) call.getArgument(0)).stream()
+                        .map(row -> new AiPrediction("Unknown product type", 0.9)).toList()));
+    }
+
+    @Test
+    void emptyResultIsStoredAndNotScoredAgain() throws InterruptedException {
+        PrecomputeProgressDTO first = run();
+        assertThat(first.getRescored()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM recommendations WHERE user_id = ?",
+                String.class, userId)).containsExactly(Recommendation.EMPTY);
+
+        Optional<CachedRecommendation> stored = precomputedRecommendations.find(featureStore.get(userId));
+        assertThat(stored).isPresent();
+        assertThat(stored.get().strategy()).isEqualTo("Unknown product type");
+        assertThat(stored.get().ranked()).isEmpty();
+
+        clearInvocations(strategyScorer);
+        PrecomputeProgressDTO second = run();
+        assertThat(second.getRescored()).isZero();
+        assertThat(second.getUnchanged()).isEqualTo(1);
+        verify(strategyScorer, never()).scoreBatch(anyList());
+    }
+
+    private PrecomputeProgressDTO run() throws InterruptedException {
+        LocalDateTime previousFinish = precomputedRecommendations.progress().getFinishedAt();
+        assertThat(precomputedRecommendations.start()).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        PrecomputeProgressDTO progress = precomputedRecommendations.progress();
+        while ((progress.getFinishedAt() == null || progress.getFinishedAt().equals(previousFinish))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            progress = precomputedRecommendations.progress();
+        }
+        assertThat(progress.getStatus()).isEqualTo("COMPLETED");
+        return progress;
+    }
+}
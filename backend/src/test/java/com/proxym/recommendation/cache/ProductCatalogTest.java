@@ -0,0 +1,69 @@
+package com.proxym.recommendation.cache;
+
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.repository.FinancialProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductCatalogTest {
+
+    private ProductCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        FinancialProductRepository repository = mock(FinancialProductRepository.class);
+        when(repository.findAllAsDTO()).thenReturn(List.of(
+                product(1L, "SAVINGS", 500.0),
+                product(2L, "SAVINGS", 100.0),
+                product(3L, "SAVINGS", null),
+                product(4L, "SAVINGS", 1000.0),
+                product(5L, "SAVINGS", 100.0),
+                product(6L, "INVESTMENT", 50.0)));
+        catalog = new ProductCatalog(repository, mock(RecommendationCache.class), new SimpleMeterRegistry());
+        catalog.reload();
+    }
+
+    @Test
+    void affordablePrefixIsCheapestFirstWithIdsBreakingTies() {
+        assertThat(ids(catalog.byTypeWithin("SAVINGS", 499.99))).containsExactly(3L, 2L, 5L);
+    }
+
+    @Test
+    void budgetEqualToTheEntryIsAffordable() {
+        assertThat(ids(catalog.byTypeWithin("SAVINGS", 500))).containsExactly(3L, 2L, 5L, 1L);
+        assertThat(ids(catalog.byTypeWithin("SAVINGS", 1000))).containsExactly(3L, 2L, 5L, 1L, 4L);
+    }
+
+    @Test
+    void missingEntryCountsAsZero() {
+        assertThat(ids(catalog.byTypeWithin("SAVINGS", 0))).containsExactly(3L);
+        assertThat(catalog.byTypeWithin("SAVINGS", -0.01)).isEmpty();
+    }
+
+    @Test
+    void unknownTypeHasNoProducts() {
+        assertThat(catalog.byTypeWithin("LOAN", 1_000_000)).isEmpty();
+    }
+
+    @Test
+    void indexFollowsUpserts() {
+        catalog.upsert(product(7L, "SAVINGS", 200.0));
+
+        assertThat(ids(catalog.byTypeWithin("SAVINGS", 200))).containsExactly(3L, 2L, 5L, 7L);
+    }
+
+    private static List<Long> ids(List<FinancialProductDTO> products) {
+        return products.stream().map(FinancialProductDTO::getId).toList();
+    }
+
+    private static FinancialProductDTO product(Long id, String type, Double minimumEntry) {
+        return new FinancialProductDTO(id, "Product " + id, type, null, 2.0, minimumEntry, null);
+    }
+}
@@ -0,0 +1,167 @@
+package com.proxym.recommendation.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two embedded databases that answer "which one am I", behind the routing
+ * data source as ReadReplicaConfig wires it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofMillis(300);
+
+    private ReplicaRoutingDataSource routing;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = database("replica");
+        routing = new ReplicaRoutingDataSource(primary, replica, MAX_LAG, new SimpleMeterRegistry());
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(readOnlyWhich()).isEqualTo("replica");
+        assertThat(readWriteWhich()).isEqualTo("primary");
+        assertThat(DataSourceRouting.primary(this::readOnlyWhich)).isEqualTo("primary");
+    }
+
+    @Test
+    void readYourWritesUsesThePrimaryForTheWrittenUserWithinMaxLag() throws InterruptedException {
+        long writer = newUserId();
+        long other = newUserId();
+        write(writer);
+
+        assertThat(readYourWrites(writer)).isEqualTo("primary");
+        assertThat(readYourWrites(other)).isEqualTo("replica");
+        assertThat(DataSourceRouting.readYourWrites(List.of(other, writer), this::readOnlyWhich))
+                .isEqualTo("primary");
+        assertThat(readOnlyWhich()).isEqualTo("replica");
+
+        Thread.sleep(MAX_LAG.toMillis() + 50);
+        assertThat(readYourWrites(writer)).isEqualTo("replica");
+    }
+
+    @Test
+    void annotatedReadsFollowTheirUserParameter() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Reader(readOnly, jdbcTemplate));
+        factory.addAspect(new ReadYourWritesAspect());
+        Reader reader = factory.getProxy();
+        long writer = newUserId();
+        write(writer);
+
+        assertThat(reader.read(writer)).isEqualTo("primary");
+        assertThat(reader.read(newUserId())).isEqualTo("replica");
+    }
+
+    @Test
+    void writesRolledBackAreNotTracked() {
+        long userId = newUserId();
+        readWrite.executeWithoutResult(status -> {
+            DataSourceRouting.recordWrites(List.of(userId));
+            which();
+            status.setRollbackOnly();
+        });
+
+        assertThat(readYourWrites(userId)).isEqualTo("replica");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        new ReplicaLagMonitor(replica, "SELECT 10", routing, new SimpleMeterRegistry()).check();
+        assertThat(routing.isReplicaInSync()).isFalse();
+        assertThat(readOnlyWhich()).isEqualTo("primary");
+        assertThat(readYourWrites(newUserId())).isEqualTo("primary");
+
+        new ReplicaLagMonitor(replica, "SELECT 0", routing, new SimpleMeterRegistry()).check();
+        assertThat(routing.isReplicaInSync()).isTrue();
+        assertThat(readOnlyWhich()).isEqualTo("replica");
+    }
+
+    @Test
+    void failingLagProbeFallsBackToThePrimary() {
+        new ReplicaLagMonitor(replica, "SELECT missing_column FROM whoami", routing, new SimpleMeterRegistry()).check();
+
+        assertThat(routing.isReplicaInSync()).isFalse();
+        assertThat(readOnlyWhich()).isEqualTo("primary");
+    }
+
+    private void write(long userId) {
+        readWrite.executeWithoutResult(status -> {
+            DataSourceRouting.recordWrites(List.of(userId));
+            jdbcTemplate.update("UPDATE whoami SET name = name");
+        });
+    }
+
+    private String readYourWrites(long userId) {
+        return DataSourceRouting.readYourWrites(userId, this::readOnlyWhich);
+    }
+
+    private String readOnlyWhich() {
+        return readOnly.execute(status -> which());
+    }
+
+    private String readWriteWhich() {
+        return readWrite.execute(status -> which());
+    }
+
+    private String which() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static long newUserId() {
+        return ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE); // The write log is shared by the JVM
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        setup.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+
+    public static class Reader {
+
+        private final TransactionTemplate readOnly;
+        private final JdbcTemplate jdbcTemplate;
+
+        Reader(TransactionTemplate readOnly, JdbcTemplate jdbcTemplate) {
+            this.readOnly = readOnly;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @ReadYourWrites
+        public String read(Long userId) {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.proxym.recommendation.event;
+
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.event.TransactionsChangedEvent.ChangeType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams over a real connector. A client that opens a stream and then never
+ * reads: once its socket buffers are full the write blocks, and the
+ * connector's write timeout must end the stream and free the dispatch
+ * thread. Clients that do read must all get the same, well-formed events.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.connection-timeout=1s")
+@ActiveProfiles("test")
+class UserEventHubTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserEventHub userEventHub;
+
+    @Autowired
+    @Qualifier("userEventExecutor")
+    private ThreadPoolTaskExecutor userEventExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, financial_goals) "
+                + "VALUES ('Silent', 'silent@events.test', 'x', 'USER', 0, 'Medium', 'Savings')");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'silent@events.test'", Long.class);
+    }
+
+    @Test
+    void subscriberThatStopsReadingIsDisconnectedAndFreesTheDispatchThread() throws Exception {
+        try (Socket socket = new Socket()) {
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress("127.0.0.1", port));
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/users/" + userId + "/events HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            awaitSubscribers(1);
+
+            // Large events, paced so the buffer never overflows: only the write timeout can end the stream
+            TransactionDTO transaction = new TransactionDTO(1L, userId, 5.0, "Food",
+                    LocalDateTime.of(2024, 3, 5, 0, 0), "x".repeat(512 * 1024));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            for (int i = 0; i < 40 && subscribers() > 0 && System.nanoTime() < deadline; i++) {
+                userEventHub.onTransactionsChanged(new TransactionsChangedEvent(ChangeType.CREATED,
+                        List.of(transaction)));
+                Thread.sleep(100);
+            }
+            awaitSubscribers(0);
+
+            assertThat(meterRegistry.counter("events.subscribers.dropped").count()).isZero();
+            while (userEventExecutor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(userEventExecutor.getActiveCount()).isZero();
+        }
+    }
+
+    @Test
+    void everySubscriberReceivesTheSameWellFormedEvents() throws Exception {
+        int streams = 3;
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/users/"
+                + userId + "/events")).header("Accept", "text/event-stream").build();
+        List<CompletableFuture<HttpResponse<Stream<String>>>> responses = new ArrayList<>();
+        for (int i = 0; i < streams; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofLines()));
+        }
+        awaitSubscribers(streams);
+
+        for (int i = 0; i < 3; i++) {
+            userEventHub.heartbeat();
+        }
+
+        List<String> expected = List.of("retry:3000", ":connected", "",
+                ":heartbeat", "", ":heartbeat", "", ":heartbeat", "");
+        for (CompletableFuture<HttpResponse<Stream<String>>> response : responses) {
+            Stream<String> lines = response.get(10, TimeUnit.SECONDS).body();
+            List<String> received = CompletableFuture.supplyAsync(() -> lines.limit(expected.size()).toList())
+                    .get(10, TimeUnit.SECONDS);
+            assertThat(received).isEqualTo(expected);
+            lines.close();
+        }
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("events.subscribers").gauge().value();
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (subscribers() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(subscribers()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,62 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsQuotedCommasDoubledQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = reader("userId,amount,category,date,description\r\n"
+                + "1,10.5,Food,2024-01-02,\"Lunch, with \"\"friends\"\"\"\r\n"
+                + "2,3,Rent,2024-01-03,\"two\nlines\"\n"
+                + "3,4,Food,2024-01-04,plain\n");
+
+        ImportRecord first = reader.next();
+        assertThat(first.line()).isEqualTo(2);
+        assertThat(first.get(ImportRecordReader.DESCRIPTION)).isEqualTo("Lunch, with \"friends\"");
+        assertThat(first.raw()).isEqualTo("1,10.5,Food,2024-01-02,\"Lunch, with \"\"friends\"\"\"");
+
+        ImportRecord second = reader.next();
+        assertThat(second.line()).isEqualTo(3);
+        assertThat(second.get(ImportRecordReader.DESCRIPTION)).isEqualTo("two\nlines");
+
+        ImportRecord third = reader.next();
+        assertThat(third.line()).isEqualTo(5); // The quoted line break took up line 4
+        assertThat(third.get(ImportRecordReader.USER_ID)).isEqualTo("3");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void mapsColumnsByHeaderNameAndSkipsUnknownOnes() throws IOException {
+        CsvRecordReader reader = reader("\uFEFFDate,note,Amount,E-mail,category\n2024-02-01,x,7,a@b.c,Food\n\n");
+
+        ImportRecord record = reader.next();
+        assertThat(record.get(ImportRecordReader.EMAIL)).isEqualTo("a@b.c");
+        assertThat(record.get(ImportRecordReader.AMOUNT)).isEqualTo("7");
+        assertThat(record.get(ImportRecordReader.DATE)).isEqualTo("2024-02-01");
+        assertThat(record.get(ImportRecordReader.USER_ID)).isNull();
+        assertThat(reader.next()).isNull(); // Blank lines are skipped
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> reader("userId,amount,date\n"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("category");
+        assertThatThrownBy(() -> reader("amount,category,date\n"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("userId or an email");
+    }
+
+    private static CsvRecordReader reader(String csv) throws IOException {
+        return new CsvRecordReader(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,169 @@
+package com.proxym.recommendation.importer;
+
+import com.proxym.recommendation.dto.ImportReportDTO;
+import com.proxym.recommendation.dto.SpendingBucketDTO;
+import com.proxym.recommendation.dto.SpendingSummaryDTO;
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.model.Transaction;
+import com.proxym.recommendation.model.User;
+import com.proxym.recommendation.service.SpendingSummaryService;
+import com.proxym.recommendation.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Runs the JDBC-batch writer, the path taken on H2; the chunk size is 40
+ * (application-test.properties), so the files below span several chunks.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionImporterTest {
+
+    @Autowired
+    private TransactionImporter importer;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long alice;
+    private long bob;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        alice = insertUser("alice@import.test");
+        bob = insertUser("bob@import.test");
+    }
+
+    @Test
+    void storesQuotedFieldsAsWritten() {
+        ImportReportDTO report = importCsv("userId,amount,category,date,description\n"
+                + alice + ",12.5,Food,2024-03-01,\"Lunch, with \"\"friends\"\"\"\n"
+                + alice + ",8,Food,2024-03-02T18:30:00,\"first line\nsecond line\"\n");
+
+        assertThat(report.getStatus()).isEqualTo("COMPLETED");
+        assertThat(report.getWriteMode()).isEqualTo("JDBC_BATCH");
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(transactionService.getTransactionsByUserId(alice))
+                .extracting(TransactionDTO::getDescription)
+                .containsExactlyInAnyOrder("Lunch, with \"friends\"", "first line\nsecond line");
+    }
+
+    @Test
+    void writesRejectedRowsWithTheirReasons() throws IOException {
+        ImportReportDTO report = importCsv("userId,email,amount,category,date\n"
+                + alice + ",,10,Food,2024-03-01\n"
+                + ",bob@import.test,20,Rent,2024-03-01\n"
+                + alice + ",,,Food,2024-03-01\n"
+                + "999999,,5,Food,2024-03-01\n"
+                + ",nobody@import.test,5,Food,2024-03-01\n"
+                + alice + ",,5,Food,\"not, a date\"\n");
+
+        assertThat(report.getRowsRead()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.getLastCommittedLine()).isEqualTo(7);
+
+        List<String> lines = Files.readAllLines(Path.of(report.getRejectedFile()));
+        assertThat(lines).containsExactlyInAnyOrder(
+                "line,reason,record",
+                "4,\"amount is required\",\"" + alice + ",,,Food,2024-03-01\"",
+                "5,\"User not found with id: 999999\",\"999999,,5,Food,2024-03-01\"",
+                "6,\"User not found with email: nobody@import.test\",\",nobody@import.test,5,Food,2024-03-01\"",
+                "7,\"date is required (ISO date or date-time)\",\"" + alice + ",,5,Food,\"\"not, a date\"\"\"");
+        assertThat(transactionService.getTransactionsByUserId(bob)).hasSize(1);
+    }
+
+    @Test
+    void allocatesIdsThatNeverCollideWithApplicationInserts() {
+        Transaction before = newTransaction(alice);
+        long firstId = transactionService.createTransaction(before).getId();
+
+        int rows = 3 * Transaction.ID_ALLOCATION_SIZE + 7;
+        StringBuilder csv = new StringBuilder("userId,amount,category,date\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(i % 2 == 0 ? alice : bob).append(",1,Food,2024-03-01\n");
+        }
+        assertThat(importCsv(csv.toString()).getImported()).isEqualTo(rows);
+        long lastId = transactionService.createTransaction(newTransaction(bob)).getId();
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM transactions", Long.class);
+        assertThat(ids).hasSize(rows + 2);
+        assertThat(new HashSet<>(ids)).hasSize(rows + 2);
+        assertThat(ids).contains(firstId, lastId);
+    }
+
+    @Test
+    void appliesSpendingAggregateDeltas() {
+        transactionService.createTransaction(newTransaction(alice)); // 5.0 Food in 2024-03
+
+        StringBuilder csv = new StringBuilder("email,amount,category,date\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("alice@import.test,").append(i % 2 == 0 ? "1.5,Food" : "2,Rent")
+                    .append(i < 60 ? ",2024-03-10\n" : ",2024-04-10\n");
+        }
+        importCsv(csv.toString());
+
+        SpendingSummaryDTO summary = spendingSummaryService.getSummary(alice, null, null);
+        assertThat(summary.getCount()).isEqualTo(101);
+        assertThat(summary.getTotal()).isCloseTo(5 + 50 * 1.5 + 50 * 2, within(1e-9));
+        Map<String, Double> byMonth = summary.getByMonth().stream()
+                .collect(Collectors.toMap(SpendingBucketDTO::getKey, SpendingBucketDTO::getTotal));
+        assertThat(byMonth).containsOnlyKeys("2024-03", "2024-04");
+        assertThat(byMonth.get("2024-03")).isCloseTo(5 + 30 * 1.5 + 30 * 2, within(1e-9));
+        assertThat(byMonth.get("2024-04")).isCloseTo(20 * 1.5 + 20 * 2, within(1e-9));
+
+        // The deltas match a rebuild from the rows themselves
+        spendingSummaryService.rebuildForUser(alice);
+        assertThat(spendingSummaryService.getSummary(alice, null, null)).isEqualTo(summary);
+    }
+
+    private ImportReportDTO importCsv(String csv) {
+        return importer.importFrom(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                ImportFormat.CSV, "test", 0);
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, financial_goals) "
+                + "VALUES (?, ?, 'x', 'USER', 0, 'Medium', 'Savings')", email, email);
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private static Transaction newTransaction(long userId) {
+        User user = new User();
+        user.setId(userId);
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(5.0);
+        transaction.setCategory("Food");
+        transaction.setDate(LocalDateTime.of(2024, 3, 5, 12, 0));
+        return transaction;
+    }
+}
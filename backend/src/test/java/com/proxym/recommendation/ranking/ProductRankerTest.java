@@ -0,0 +1,108 @@
+package com.proxym.recommendation.ranking;
+
+import com.proxym.recommendation.ai.FeatureVector;
+import com.proxym.recommendation.ai.StrategyFeatures;
+import com.proxym.recommendation.cache.ProductCatalog;
+import com.proxym.recommendation.cache.RecommendationCache;
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.repository.FinancialProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductRankerTest {
+
+    @Test
+    void productsAboveTheBalanceAreNotEligible() {
+        ProductRanker ranker = ranker(50, List.of(
+                product(1L, "SAVINGS", 3.0, 100.0, "Low"),
+                product(2L, "SAVINGS", 2.0, 1000.0, "Low"),
+                product(3L, "SAVINGS", 1.0, 1000.01, "Low")));
+
+        assertThat(ids(ranker.rank("SAVINGS", user(1000, "Low")))).containsExactly(1L, 2L);
+        assertThat(ranker.rank("SAVINGS", user(99, "Low"))).isEmpty();
+    }
+
+    @Test
+    void loansSkipTheBalanceCheckAndRankTheLowestRateFirst() {
+        ProductRanker ranker = ranker(50, List.of(
+                product(1L, "LOAN", 7.5, 5000.0, "Low"),
+                product(2L, "LOAN", 4.0, 20000.0, "Low"),
+                product(3L, "LOAN", 6.0, 1000.0, "Low")));
+
+        List<RankedProduct> ranked = ranker.rank("LOAN", user(0, "Low"));
+
+        assertThat(ids(ranked)).containsExactly(2L, 3L, 1L);
+        assertThat(ranked.get(0).score()).isEqualTo(-4.0);
+    }
+
+    @Test
+    void productsRiskierThanTheProfileAreFiltered() {
+        ProductRanker ranker = ranker(50, List.of(
+                product(1L, "INVESTMENT", 1.0, 0.0, "Low"),
+                product(2L, "INVESTMENT", 2.0, 0.0, "Medium"),
+                product(3L, "INVESTMENT", 3.0, 0.0, "High"),
+                product(4L, "INVESTMENT", 4.0, 0.0, null),
+                product(5L, "INVESTMENT", 5.0, 0.0, "Speculative")));
+
+        assertThat(ids(ranker.rank("INVESTMENT", user(100, "Low")))).containsExactly(4L, 1L);
+        assertThat(ids(ranker.rank("INVESTMENT", user(100, "medium")))).containsExactly(4L, 2L, 1L);
+        assertThat(ids(ranker.rank("INVESTMENT", user(100, "High")))).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(ids(ranker.rank("INVESTMENT", user(100, null)))).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void equalRatesGoToTheLowerEntryThenTheLowerId() {
+        ProductRanker ranker = ranker(50, List.of(
+                product(4L, "SAVINGS", 2.5, 300.0, "Low"),
+                product(2L, "SAVINGS", 2.5, 300.0, "Low"),
+                product(3L, "SAVINGS", 2.5, 100.0, "Low"),
+                product(1L, "SAVINGS", 1.0, 0.0, "Low")));
+
+        assertThat(ids(ranker.rank("SAVINGS", user(1000, "Low")))).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    @Test
+    void onlyTheBestMaxResultsAreKept() {
+        List<FinancialProductDTO> products = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            products.add(product(id, "SAVINGS", (double) ((id * 7) % 20), 0.0, "Low")); // Rates 0..19, shuffled
+        }
+        ProductRanker ranker = ranker(3, products);
+
+        List<RankedProduct> ranked = ranker.rank("SAVINGS", user(0, "Low"));
+
+        assertThat(ranked).extracting(RankedProduct::score).containsExactly(19.0, 18.0, 17.0);
+    }
+
+    private static ProductRanker ranker(int maxResults, List<FinancialProductDTO> products) {
+        FinancialProductRepository repository = mock(FinancialProductRepository.class);
+        when(repository.findAllAsDTO()).thenReturn(products);
+        ProductCatalog catalog = new ProductCatalog(repository, mock(RecommendationCache.class),
+                new SimpleMeterRegistry());
+        catalog.reload();
+        return new ProductRanker(catalog, maxResults);
+    }
+
+    private static FeatureVector user(double balance, String riskProfile) {
+        double[] values = new double[StrategyFeatures.SIZE];
+        values[StrategyFeatures.BALANCE] = balance;
+        return new FeatureVector(1L, values, riskProfile, 0, 1, Instant.EPOCH);
+    }
+
+    private static List<Long> ids(List<RankedProduct> ranked) {
+        return ranked.stream().map(product -> product.product().getId()).toList();
+    }
+
+    private static FinancialProductDTO product(Long id, String type, Double interestRate, Double minimumEntry,
+            String riskLevel) {
+        return new FinancialProductDTO(id, "Product " + id, type, null, interestRate, minimumEntry, riskLevel);
+    }
+}
@@ -0,0 +1,355 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.dto.BalanceReconciliationProgressDTO;
+import com.proxym.recommendation.dto.TransactionBatchItemDTO;
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.exception.InsufficientFundsException;
+import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.importer.ImportFormat;
+import com.proxym.recommendation.importer.TransactionImporter;
+import com.proxym.recommendation.model.Transaction;
+import com.proxym.recommendation.model.User;
+import com.proxym.recommendation.service.BalanceService;
+import com.proxym.recommendation.service.TransactionService;
+import com.proxym.recommendation.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * balance = opening balance - SUM(amount) for every user, whatever mix of
+ * writers runs at the same time. Amounts are multiples of 0.25, so the sums
+ * are exact in floating point.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BalanceInvariantTest {
+
+    private static final int USERS = 4;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 60;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionImporter importer;
+
+    @Autowired
+    private BalanceReconciliation balanceReconciliation;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> transactionIds = new CopyOnWriteArrayList<>();
+    private final AtomicInteger refused = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        for (int i = 0; i < USERS; i++) {
+            String email = "balance" + i + "@invariant.test";
+            jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, "
+                    + "financial_goals) VALUES (?, ?, 'x', 'USER', 0, 'Medium', 'Savings')", email, email);
+            userIds.add(jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email));
+        }
+    }
+
+    @AfterEach
+    void restoreBalanceMode() {
+        ReflectionTestUtils.setField(balanceTarget(), "coalesced", false);
+        ReflectionTestUtils.setField(balanceTarget(), "overdraftCheck", false);
+        balanceService.flushPending();
+    }
+
+    @Test
+    void concurrentCreatesBatchesUpdatesAndDeletesKeepBalances() throws Exception {
+        runConcurrently(THREADS, this::randomWrite);
+
+        assertThat(transactionIds).isNotEmpty();
+        assertBalancesMatchTransactions(Map.of());
+    }
+
+    @Test
+    void importsRunningAlongsideWritesKeepBalances() throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            StringBuilder csv = new StringBuilder("userId,amount,category,date\n");
+            for (int i = 0; i < 500; i++) {
+                csv.append(randomUser()).append(',').append(randomAmount()).append(",Food,2024-05-01\n");
+            }
+            importer.importFrom(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)),
+                    ImportFormat.CSV, "invariant test", 0);
+            // Imported rows are now fair game for edits and deletes too
+            transactionIds.addAll(jdbcTemplate.queryForList("SELECT id FROM transactions", Long.class));
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) randomWrite();
+            return null;
+        });
+        for (int i = 1; i < THREADS; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) randomWrite();
+                return null;
+            });
+        }
+        runAll(tasks);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isGreaterThan(500);
+        assertBalancesMatchTransactions(Map.of());
+    }
+
+    @Test
+    void reconciliationAppliesLegacyRowsOnceWhileTheyAreEdited() throws Exception {
+        long opening = 100;
+        jdbcTemplate.update("UPDATE users SET balance = ?", (double) opening);
+        List<Long> legacy = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            long id = jdbcTemplate.queryForObject("SELECT nextval('" + Transaction.ID_SEQUENCE + "')", Long.class);
+            jdbcTemplate.update("INSERT INTO transactions (id, user_id, amount, category, date) VALUES (?, ?, ?, "
+                    + "'Food', ?)", id, randomUser(), randomAmount(), LocalDateTime.of(2023, 1, 1, 0, 0));
+            legacy.add(id);
+        }
+
+        // Before reconciliation, editing or deleting a legacy row gives nothing back
+        transactionService.deleteTransaction(legacy.remove(0));
+        transactionService.updateTransaction(legacy.get(0), details(7.5));
+        assertThat(jdbcTemplate.queryForList("SELECT balance FROM users", Double.class)).containsOnly((double) opening);
+
+        transactionIds.addAll(legacy);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        tasks.add(() -> {
+            assertThat(balanceReconciliation.start()).isTrue();
+            return null;
+        });
+        for (int i = 1; i < THREADS; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) randomWrite();
+                return null;
+            });
+        }
+        runAll(tasks);
+        BalanceReconciliationProgressDTO progress = awaitReconciliation();
+
+        assertThat(progress.getStatus()).isEqualTo("COMPLETED");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE balance_applied IS NULL",
+                Long.class)).isZero();
+        Map<Long, Double> openings = new HashMap<>();
+        userIds.forEach(userId -> openings.put(userId, (double) opening));
+        assertBalancesMatchTransactions(openings);
+    }
+
+    @Test
+    void profileUpdatesAlongsidePostingsKeepBalances() throws Exception {
+        runAll(writersAndProfileEditors());
+
+        assertBalancesMatchTransactions(Map.of());
+    }
+
+    @Test
+    void coalescedPostingsAlongsideProfileUpdatesKeepBalances() throws Exception {
+        ReflectionTestUtils.setField(balanceTarget(), "coalesced", true);
+
+        runAll(writersAndProfileEditors());
+        balanceService.flushPending();
+
+        assertBalancesMatchTransactions(Map.of());
+    }
+
+    @Test
+    void refusedDebitsLeaveNoTraceAndNoBalanceGoesNegative() throws Exception {
+        long opening = 500;
+        jdbcTemplate.update("UPDATE users SET balance = ?", (double) opening);
+        ReflectionTestUtils.setField(balanceTarget(), "overdraftCheck", true);
+
+        runAll(writersAndProfileEditors());
+
+        assertThat(refused).as("refused debits").hasPositiveValue();
+        assertThat(jdbcTemplate.queryForList("SELECT balance FROM users", Double.class)).allMatch(b -> b >= 0);
+        Map<Long, Double> openings = new HashMap<>();
+        userIds.forEach(userId -> openings.put(userId, (double) opening));
+        assertBalancesMatchTransactions(openings);
+    }
+
+    /**
+     * Transaction writers, plus threads saving profile edits of the same
+     * users from entities loaded before the postings.
+     */
+    private List<Callable<Void>> writersAndProfileEditors() {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean editor = i % 4 == 0;
+            tasks.add(() -> {
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) {
+                    if (editor) editProfile(); else randomWrite();
+                }
+                return null;
+            });
+        }
+        return tasks;
+    }
+
+    private void editProfile() {
+        Long userId = randomUser();
+        User details = new User();
+        details.setName("edited " + ThreadLocalRandom.current().nextInt(1000));
+        details.setEmail(jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, userId));
+        details.setRole("USER");
+        details.setRiskProfile("High");
+        details.setFinancialGoals("Investment");
+        userService.updateUser(userId, details).join();
+    }
+
+    /**
+     * One of: a single create, a batch of three, an update or a delete of a
+     * transaction another thread may be editing or deleting at the same time.
+     */
+    private void randomWrite() {
+        try {
+            write();
+        } catch (InsufficientFundsException e) {
+            refused.incrementAndGet(); // Only with the overdraft check; the whole write rolled back
+        }
+    }
+
+    private void write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int choice = random.nextInt(10);
+        if (choice < 3 || transactionIds.size() < 5) {
+            Transaction transaction = details(randomAmount());
+            User user = new User();
+            user.setId(randomUser());
+            transaction.setUser(user);
+            transactionIds.add(transactionService.createTransaction(transaction).getId());
+        } else if (choice < 5) {
+            List<TransactionDTO> batch = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                batch.add(new TransactionDTO(null, randomUser(), randomAmount(), "Rent",
+                        LocalDateTime.of(2024, 6, 1, 0, 0), null));
+            }
+            transactionService.createTransactions(batch).getItems().stream()
+                    .filter(item -> TransactionBatchItemDTO.CREATED.equals(item.getStatus()))
+                    .forEach(item -> transactionIds.add(item.getId()));
+        } else {
+            Long id = transactionIds.get(random.nextInt(transactionIds.size()));
+            try {
+                if (choice < 8) {
+                    transactionService.updateTransaction(id, details(randomAmount()));
+                } else {
+                    transactionService.deleteTransaction(id);
+                    transactionIds.remove(id);
+                }
+            } catch (ResourceNotFoundException e) {
+                // Deleted by another thread meanwhile
+            }
+        }
+    }
+
+    private void runConcurrently(int threads, Runnable operation) throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < OPERATIONS_PER_THREAD; j++) operation.run();
+                return null;
+            });
+        }
+        runAll(tasks);
+    }
+
+    /**
+     * Starts all tasks at once and rethrows the first failure.
+     */
+    private static void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private BalanceReconciliationProgressDTO awaitReconciliation() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        BalanceReconciliationProgressDTO progress = balanceReconciliation.progress();
+        while ("RUNNING".equals(progress.getStatus()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            progress = balanceReconciliation.progress();
+        }
+        return progress;
+    }
+
+    private void assertBalancesMatchTransactions(Map<Long, Double> openings) {
+        for (Long userId : userIds) {
+            double balance = jdbcTemplate.queryForObject("SELECT balance FROM users WHERE id = ?", Double.class, userId);
+            double spent = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE user_id = ?", Double.class, userId);
+            assertThat(balance).as("balance of user %d", userId)
+                    .isCloseTo(openings.getOrDefault(userId, 0.0) - spent, within(1e-9));
+        }
+    }
+
+    private BalanceServiceImpl balanceTarget() {
+        return AopTestUtils.getTargetObject(balanceService);
+    }
+
+    private Long randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private static double randomAmount() {
+        return ThreadLocalRandom.current().nextInt(1, 400) * 0.25;
+    }
+
+    private static Transaction details(double amount) {
+        Transaction transaction = new Transaction();
+        transaction.setAmount(amount);
+        transaction.setCategory("Food");
+        transaction.setDate(LocalDateTime.of(2024, 6, 1, 12, 0));
+        return transaction;
+    }
+}
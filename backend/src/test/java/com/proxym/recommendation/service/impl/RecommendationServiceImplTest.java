@@ -0,0 +1,109 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.ai.AbortableCall;
+import com.proxym.recommendation.ai.AiPrediction;
+import com.proxym.recommendation.ai.FeatureStore;
+import com.proxym.recommendation.ai.StrategyScorer;
+import com.proxym.recommendation.cache.RecommendationCache;
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.service.RecommendationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RecommendationServiceImplTest {
+
+    @MockBean
+    private StrategyScorer strategyScorer;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private RecommendationCache recommendationCache;
+
+    @Autowired
+    private FeatureStore featureStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, financial_goals) "
+                + "VALUES ('Scored', 'scored@recommendation.test', 'x', 'USER', 1200, 'Medium', 'Savings')");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'scored@recommendation.test'",
+                Long.class);
+        recommendationCache.evictAllUsers();
+    }
+
+    @Test
+    void scoredProfileIsPinnedToTheUser() {
+        when(strategyScorer.score(any())).thenReturn(Optional.of(new AiPrediction("SAVINGS", 0.8)));
+
+        recommendationService.getRecommendations(userId);
+
+        assertThat(recommendationCache.findByUser(userId)).isPresent();
+    }
+
+    @Test
+    void scoringThatOverlapsAnInvalidationDoesNotPinTheOldProfile() {
+        // The user's change commits while the model is still scoring the old vector
+        when(strategyScorer.score(any())).thenAnswer(call -> {
+            featureStore.invalidate(List.of(userId));
+            return Optional.of(new AiPrediction("SAVINGS", 0.8));
+        });
+
+        recommendationService.getRecommendations(userId);
+
+        assertThat(recommendationCache.findByUser(userId)).isEmpty();
+    }
+
+    @Test
+    void aiCallPastTheDeadlineIsAbortedAndAnsweredWithTheFallback() throws Exception {
+        Object target = AopTestUtils.getTargetObject(recommendationService);
+        Object timeout = ReflectionTestUtils.getField(target, "aiTimeoutMs");
+        ReflectionTestUtils.setField(target, "aiTimeoutMs", 100L);
+        CountDownLatch aborted = new CountDownLatch(1);
+        when(strategyScorer.score(any())).thenAnswer(call -> {
+            AbortableCall.attach(() -> {
+                aborted.countDown();
+                return true;
+            });
+            aborted.await(10, TimeUnit.SECONDS); // Stands in for a blocked read that only the abort ends
+            return Optional.empty();
+        });
+        try {
+            List<FinancialProductDTO> products = recommendationService.getRecommendationsAsync(userId)
+                    .get(10, TimeUnit.SECONDS);
+
+            assertThat(products).isNotNull();
+            assertThat(aborted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            ReflectionTestUtils.setField(target, "aiTimeoutMs", timeout);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.exception.InvalidRequestException;
+import com.proxym.recommendation.repository.SpendingDelta;
+import com.proxym.recommendation.service.SpendingSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SpendingSummaryServiceImplTest {
+
+    private static final String[] CATEGORIES = { "Food", "Rent", "Leisure", "Transport", "Health", "Travel", "Gifts" };
+
+    @Autowired
+    private SpendingSummaryService spendingSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, financial_goals) "
+                + "VALUES ('Spender', 'spender@summary.test', 'x', 'USER', 0, 'Medium', 'Savings')");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'spender@summary.test'", Long.class);
+    }
+
+    @Test
+    void deltasSpanningSeveralKeyLookupsUpdateEveryExistingRowOnce() {
+        List<SpendingDelta> deltas = new ArrayList<>();
+        for (int month = 0; month < 100; month++) {
+            String period = YearMonth.of(2000, 1).plusMonths(month).toString();
+            for (String category : CATEGORIES) {
+                jdbcTemplate.update("INSERT INTO spending_aggregates (user_id, category, period, total, tx_count) "
+                        + "VALUES (?, ?, ?, 1, 1)", userId, category, period);
+                deltas.add(new SpendingDelta(userId, category, period, 2.5, 1));
+            }
+        }
+        for (int month = 0; month < 5; month++) {
+            deltas.add(new SpendingDelta(userId, "New", YearMonth.of(2020, 1).plusMonths(month).toString(), 4, 1));
+        }
+
+        spendingSummaryService.applyDeltas(deltas);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM spending_aggregates", Long.class))
+                .isEqualTo(705);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(tx_count) FROM spending_aggregates", Long.class))
+                .isEqualTo(700 * 2 + 5);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(total) FROM spending_aggregates", Double.class))
+                .isEqualTo(700 * 3.5 + 5 * 4);
+    }
+
+    @Test
+    void retractionFromMissingRowIsSkipped() {
+        spendingSummaryService.applyDeltas(List.of(
+                new SpendingDelta(userId, "Food", "2024-05", -12.5, -1),
+                new SpendingDelta(userId, "Rent", "2024-05", 3.0, 0)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM spending_aggregates", Long.class)).isZero();
+    }
+
+    @Test
+    void summaryRejectsFromAfterTo() {
+        assertThatThrownBy(() -> spendingSummaryService.getSummary(userId, "2024-05", "2024-04"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThat(spendingSummaryService.getSummary(userId, "2024-05", "2024-05").getCount()).isZero();
+    }
+}
@@ -0,0 +1,86 @@
+package com.proxym.recommendation.service.impl;
+
+import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.exception.ResourceNotFoundException;
+import com.proxym.recommendation.model.User;
+import com.proxym.recommendation.security.PasswordHasher;
+import com.proxym.recommendation.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceImplTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM spending_aggregates");
+        jdbcTemplate.update("DELETE FROM recommendations");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (name, email, password, role, balance, risk_profile, financial_goals) "
+                + "VALUES ('Before', 'update@users.test', 'x', 'USER', 250, 'Medium', 'Savings')");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'update@users.test'", Long.class);
+    }
+
+    @Test
+    void updateHashesTheNewPasswordAndSavesOnceItIsReady() throws Exception {
+        CompletableFuture<UserDTO> update = userService.updateUser(userId, details("After", "new secret"));
+
+        UserDTO updated = update.get(10, TimeUnit.SECONDS);
+        assertThat(updated.getName()).isEqualTo("After");
+        assertThat(updated.getBalance()).isEqualTo(250.0);
+        String stored = jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, userId);
+        assertThat(stored).isNotEqualTo("new secret");
+        assertThat(passwordHasher.matches("new secret", stored).get(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void updateWithoutPasswordKeepsTheStoredHash() throws Exception {
+        userService.updateUser(userId, details("After", null)).get(10, TimeUnit.SECONDS);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT password FROM users WHERE id = ?", String.class, userId))
+                .isEqualTo("x");
+    }
+
+    @Test
+    void updateOfUnknownUserFailsTheFuture() {
+        CompletableFuture<UserDTO> update = userService.updateUser(userId + 1000, details("Nobody", null));
+
+        assertThatThrownBy(update::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static User details(String name, String password) {
+        User details = new User();
+        details.setName(name);
+        details.setEmail("update@users.test");
+        details.setPassword(password);
+        details.setRole("USER");
+        details.setRiskProfile("Medium");
+        details.setFinancialGoals("Savings");
+        return details;
+    }
+}
@@ -0,0 +1,86 @@
+package com.proxym.recommendation.benchmarks;
+
+import com.proxym.recommendation.RecommendationApplication;
+import com.proxym.recommendation.importer.ImportFormat;
+import com.proxym.recommendation.importer.TransactionImporter;
+import com.proxym.recommendation.model.User;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the backend without a web server on an in-memory H2 database and
+ * seeds it with {@link Datasets}, for benchmarks that go through the real
+ * services.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(List<String> extraArgs, Class<?>... extraSources) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--strategy.scorer=stub",
+                "--maintenance.password-migration.enabled=false",
+                "--recommendation.precompute.enabled=false"));
+        args.addAll(extraArgs);
+        List<Class<?>> sources = new ArrayList<>(List.of(RecommendationApplication.class));
+        sources.addAll(List.of(extraSources));
+        return new SpringApplicationBuilder(sources.toArray(Class<?>[]::new))
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * @return the generated ids, ascending.
+     */
+    public static long[] seedUsers(ConfigurableApplicationContext context, int count) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> userRows = new ArrayList<>(count);
+        for (User user : Datasets.users(count)) {
+            userRows.add(new Object[] { user.getName(), user.getEmail(), user.getPassword(), user.getRole(),
+                    user.getAge(), user.getMonthlyIncome(), user.getBalance(), user.getRiskProfile(),
+                    user.getFinancialGoals() });
+        }
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, role, age, monthly_income, balance, "
+                + "risk_profile, financial_goals) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", userRows);
+        return jdbc.queryForList("SELECT id FROM users ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Imports {@code perUser} transactions for every user, spread over three
+     * years so tenure and activity differ between users.
+     */
+    public static void seedTransactions(ConfigurableApplicationContext context, long[] userIds, int perUser) {
+        Random random = new Random(11);
+        LocalDate today = LocalDate.now();
+        StringBuilder csv = new StringBuilder("userId,amount,category,date\n");
+        for (long userId : userIds) {
+            for (int i = 0; i < perUser; i++) {
+                csv.append(userId).append(',')
+                        .append(random.nextInt(50_000) / 100.0).append(',')
+                        .append(Datasets.CATEGORIES[random.nextInt(Datasets.CATEGORIES.length)]).append(',')
+                        .append(today.minusDays(random.nextInt(3 * 365))).append('\n');
+            }
+        }
+        context.getBean(TransactionImporter.class).importFrom(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV,
+                "benchmark seed", 0);
+    }
+}
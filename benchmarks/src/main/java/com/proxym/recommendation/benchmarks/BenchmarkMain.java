@@ -0,0 +1,35 @@
+package com.proxym.recommendation.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH entry point with this project's defaults: the GC profiler is always
+ * on (allocation rate and bytes per operation next to every score) and
+ * results are written as JSON to {@code target/jmh-result.json}, so runs on
+ * different commits can be compared. Any standard JMH option overrides them.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp()) {
+            cli.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli).addProfiler(GCProfiler.class);
+        if (!cli.getResult().hasValue()) options.result("target/jmh-result.json");
+        if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+
+        Runner runner = new Runner(options.build());
+        if (cli.shouldList()) {
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
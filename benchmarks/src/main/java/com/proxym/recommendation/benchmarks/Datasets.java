@@ -0,0 +1,74 @@
+package com.proxym.recommendation.benchmarks;
+
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.model.Transaction;
+import com.proxym.recommendation.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data, so every run and every commit measures the
+ * same inputs.
+ */
+public final class Datasets {
+
+    static final String[] CATEGORIES = { "Food", "Rent", "Investment", "Insurance", "Transport", "Leisure" };
+    static final String[] RISK_PROFILES = { "Low", "Medium", "High" };
+    static final String[] GOALS = { "Savings", "Investment", "Loan" };
+
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private Datasets() {
+    }
+
+    public static List<User> users(int count) {
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(User.builder()
+                    .id((long) i)
+                    .name("User " + i)
+                    .email("user" + i + "@bench.local")
+                    .password("$2a$10$abcdefghijklmnopqrstuuJ0p9E6Qk7Q0yq7Q0yq7Q0yq7Q0yq7Q0y")
+                    .role("USER")
+                    .age(20 + random.nextInt(50))
+                    .monthlyIncome(1000 + random.nextInt(9000) * 1.0)
+                    .balance(random.nextInt(200_000) / 10.0)
+                    .riskProfile(RISK_PROFILES[random.nextInt(RISK_PROFILES.length)])
+                    .financialGoals(GOALS[random.nextInt(GOALS.length)])
+                    .build());
+        }
+        return users;
+    }
+
+    public static List<UserDTO> userDTOs(int count) {
+        return users(count).stream()
+                .map(u -> new UserDTO(u.getId(), u.getName(), u.getEmail(), u.getRole(), u.getAge(),
+                        u.getMonthlyIncome(), u.getBalance(), u.getRiskProfile(), u.getFinancialGoals()))
+                .toList();
+    }
+
+    public static List<Transaction> transactions(int count, int users) {
+        Random random = new Random(7);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId((long) (1 + random.nextInt(users)));
+            transactions.add(new Transaction((long) i, user, random.nextInt(50_000) / 100.0,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], START.plusMinutes(random.nextInt(1_500_000)),
+                    "Card payment " + i, true));
+        }
+        return transactions;
+    }
+
+    public static List<TransactionDTO> transactionDTOs(int count, int users) {
+        return transactions(count, users).stream()
+                .map(t -> new TransactionDTO(t.getId(), t.getUser().getId(), t.getAmount(), t.getCategory(),
+                        t.getDate(), t.getDescription()))
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.proxym.recommendation.benchmarks;
+
+import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.mapper.DtoMapper;
+import com.proxym.recommendation.model.Transaction;
+import com.proxym.recommendation.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping alone, on entities built before the measurement, so
+ * no query or transaction hides its cost (DtoReadBenchmark measures the
+ * whole read). The all-args constructor variant is the baseline for
+ * {@code UserDTO.builder()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({ "100", "10000" })
+    private int size;
+
+    private List<Transaction> transactions;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        transactions = Datasets.transactions(size, 1000);
+        users = Datasets.users(size);
+    }
+
+    @Benchmark
+    public void transactionToDTO(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(DtoMapper.toDTO(transaction));
+        }
+    }
+
+    @Benchmark
+    public void userToDTO(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(DtoMapper.toDTO(user));
+        }
+    }
+
+    @Benchmark
+    public void userAllArgsConstructor(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(new UserDTO(user.getId(), user.getName(), user.getEmail(), user.getRole(),
+                    user.getAge(), user.getMonthlyIncome(), user.getBalance(), user.getRiskProfile(),
+                    user.getFinancialGoals()));
+        }
+    }
+}
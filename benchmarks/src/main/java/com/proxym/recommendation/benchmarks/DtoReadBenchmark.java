@@ -0,0 +1,85 @@
+package com.proxym.recommendation.benchmarks;
+
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.UserDTO;
+import com.proxym.recommendation.service.TransactionService;
+import com.proxym.recommendation.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO reads through the public services on an in-memory H2 database: the
+ * projection queries plus the transaction and mapping around them, as a
+ * controller sees them. {@code size} is the number of users fetched by id
+ * and the number of transactions per user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoReadBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({ "10", "100" })
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private TransactionService transactionService;
+    private long[] userIds;
+    private List<Long> userIdList;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start(List.of());
+        userService = context.getBean(UserService.class);
+        transactionService = context.getBean(TransactionService.class);
+        userIds = BenchmarkApplication.seedUsers(context, USERS);
+        BenchmarkApplication.seedTransactions(context, userIds, size);
+        userIdList = Arrays.stream(userIds).limit(size).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDTO userById() {
+        return userService.getUserById(randomUserId());
+    }
+
+    @Benchmark
+    public List<UserDTO> usersByIds() {
+        return userService.getUsersByIds(userIdList);
+    }
+
+    @Benchmark
+    public List<TransactionDTO> transactionsOfUser() {
+        return transactionService.getTransactionsByUserId(randomUserId());
+    }
+
+    private long randomUserId() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+}
@@ -0,0 +1,74 @@
+package com.proxym.recommendation.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.proxym.recommendation.dto.TransactionDTO;
+import com.proxym.recommendation.dto.UserDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON bodies of the list endpoints ({@code GET /api/transactions},
+ * {@code GET /api/users}) with the ObjectMapper settings Spring Boot uses.
+ * {@code toBytes} buffers the whole document like a materialized response;
+ * {@code toStream} writes through, like the message converter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({ "100", "10000" })
+    private int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    private List<TransactionDTO> transactions;
+    private List<UserDTO> users;
+
+    @Setup
+    public void setUp() {
+        transactions = Datasets.transactionDTOs(size, 1000);
+        users = Datasets.userDTOs(size);
+    }
+
+    @Benchmark
+    public byte[] transactionsToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public void transactionsToStream() throws IOException {
+        objectMapper.writeValue(sink, transactions);
+    }
+
+    @Benchmark
+    public byte[] usersToBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public void usersToStream() throws IOException {
+        objectMapper.writeValue(sink, users);
+    }
+}
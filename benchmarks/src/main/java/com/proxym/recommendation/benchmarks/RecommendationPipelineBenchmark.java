@@ -0,0 +1,127 @@
+package com.proxym.recommendation.benchmarks;
+
+import com.proxym.recommendation.ai.AiPrediction;
+import com.proxym.recommendation.ai.StrategyFeatures;
+import com.proxym.recommendation.ai.StrategyScorer;
+import com.proxym.recommendation.cache.ProductCatalog;
+import com.proxym.recommendation.dto.FinancialProductDTO;
+import com.proxym.recommendation.service.RecommendationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole recommendation path through the real Spring context: feature
+ * store (user row plus spending aggregates in an in-memory H2 database),
+ * strategy scorer, product catalog and recommendation cache. The AI module
+ * is replaced by a constant-time stub so the numbers reflect this service.
+ * {@code caches=cold} sizes the feature and recommendation caches to zero,
+ * so every call runs the database queries and the scorer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class RecommendationPipelineBenchmark {
+
+    private static final String[] PRODUCT_TYPES = { "SAVINGS", "INVESTMENT", "LOAN", "INSURANCE" };
+    private static final int TRANSACTIONS_PER_USER = 5;
+    private static final int BATCH_SIZE = 256;
+
+    @Param({ "1000", "10000" })
+    private int users;
+
+    @Param({ "warm", "cold" })
+    private String caches;
+
+    private ConfigurableApplicationContext context;
+    private RecommendationService recommendationService;
+    private long[] userIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        List<String> args = new ArrayList<>();
+        if ("cold".equals(caches)) {
+            args.add("--recommendation.cache.max-size=0");
+            args.add("--features.store.max-size=0");
+        }
+        context = BenchmarkApplication.start(args, StubScorerConfig.class);
+        recommendationService = context.getBean(RecommendationService.class);
+        seed();
+        if ("warm".equals(caches)) {
+            for (long userId : userIds) recommendationService.getRecommendations(userId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FinancialProductDTO> singleUser() {
+        return recommendationService.getRecommendations(userIds[ThreadLocalRandom.current().nextInt(userIds.length)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batchOf256(Blackhole blackhole) {
+        int from = ThreadLocalRandom.current().nextInt(userIds.length - BATCH_SIZE);
+        List<Long> ids = new ArrayList<>(BATCH_SIZE);
+        for (int i = from; i < from + BATCH_SIZE; i++) ids.add(userIds[i]);
+        recommendationService.streamBatchRecommendations(ids, blackhole::consume);
+    }
+
+    private void seed() {
+        userIds = BenchmarkApplication.seedUsers(context, users);
+        List<Object[]> productRows = new ArrayList<>();
+        for (String type : PRODUCT_TYPES) {
+            for (int i = 1; i <= 5; i++) {
+                productRows.add(new Object[] { type + " " + i, type, "Benchmark product", 1.0 + i, 100.0 * i });
+            }
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO financial_products (name, type, description, "
+                + "interest_rate, minimum_entry) VALUES (?, ?, ?, ?, ?)", productRows);
+        context.getBean(ProductCatalog.class).reload();
+        BenchmarkApplication.seedTransactions(context, userIds, TRANSACTIONS_PER_USER);
+    }
+
+    /**
+     * Stands in for the AI module: a deterministic product type per balance,
+     * at no I/O cost.
+     */
+    @Configuration(proxyBeanMethods = false)
+    public static class StubScorerConfig {
+
+        @Bean
+        public StrategyScorer strategyScorer() {
+            return features -> Optional.of(new AiPrediction(
+                    PRODUCT_TYPES[(int) (Math.abs((long) features[StrategyFeatures.BALANCE]) % PRODUCT_TYPES.length)],
+                    0.8));
+        }
+    }
+}
@@ -63,6 +63,11 @@ const SmartChat = ({ user, transactions }) => {
     setIsTyping(true);
 
     try {
+      // Totals come pre-aggregated from the backend; the chat no longer sums raw rows
+      const summary = await axios.get(`${API_BASE}/users/${user.id}/spending-summary`)
+        .then(r => r.data)
+        .catch(() => null);
+
       const context = {
         name: user.name,
         balance: user.balance,
@@ -70,7 +75,8 @@ const SmartChat = ({ user, transactions }) => {
         age: user.age,
         risk_profile: user.riskProfile,
         num_products: transactions.length,
-        transactions: transactions.slice(0, 5)
+        transactions: transactions.slice(0, 5),
+        spending_summary: summary
       };
 
       const res = await axios.post(`${AI_BASE_URL}/chat`, {
@@ -273,28 +279,42 @@ const Dashboard = ({ user, onLogout, theme, setTheme }) => {
     fetchData();
   }, [user.id]);
 
+  // Live updates; after a reconnect, reload to catch up on events missed while disconnected
+  useEffect(() => {
+    const events = new EventSource(`${API_BASE}/users/${user.id}/events`);
+    let opened = false;
+    events.onopen = () => {
+      if (opened) fetchData();
+      opened = true;
+    };
+    events.addEventListener('transaction', (e) => {
+      const { type, transaction } = JSON.parse(e.data);
+      setTransactions(prev => {
+        const others = prev.filter(t => t.id !== transaction.id);
+        return type === 'DELETED' ? others : [transaction, ...others].sort((a, b) => b.id - a.id);
+      });
+      axios.get(`${API_BASE}/users/${user.id}`).then(res => setCurrentUser(res.data)).catch(() => {});
+    });
+    events.addEventListener('recommendation', (e) => setRecs(JSON.parse(e.data)));
+    return () => events.close();
+  }, [user.id]);
+
   const handleAddTx = async (e) => {
     e.preventDefault();
     try {
       const amount = parseFloat(txData.amount);
-      const res = await axios.post(`${API_BASE}/transactions`, {
+      // The server debits the balance in the same database transaction
+      await axios.post(`${API_BASE}/transactions`, {
         ...txData,
         amount: amount,
         user: { id: user.id }
       });
 
-      // Update balance locally and on server
-      const newBalance = (currentUser.balance || 0) - amount;
-      await axios.put(`${API_BASE}/users/${user.id}`, {
-        ...currentUser,
-        balance: newBalance
-      });
-
+      // The new row, balance and recommendations arrive on the event stream
       setShowAddTx(false);
       setTxData({ amount: '', category: 'Food', description: '' });
-      fetchData();
     } catch (err) {
-      alert('Failed to add transaction');
+      alert('Failed to add transaction: ' + (err.response?.data?.message || err.message));
     }
   };
 
@@ -750,6 +770,12 @@ const AdminPanel = ({ onLogout, theme, setTheme }) => {
                       </select>
                       <input className="input-field" type="number" step="0.1" placeholder="Interest Rate %" value={formData.interestRate || ''} onChange={e => setFormData({ ...formData, interestRate: parseFloat(e.target.value) })} required />
                       <input className="input-field" type="number" placeholder="Min. Entry ($)" value={formData.minimumEntry || ''} onChange={e => setFormData({ ...formData, minimumEntry: parseFloat(e.target.value) })} required />
+                      <select className="input-field" value={formData.riskLevel || ''} onChange={e => setFormData({ ...formData, riskLevel: e.target.value || null })}>
+                        <option value="">Any Risk Profile</option>
+                        <option value="Low">Low Risk</option>
+                        <option value="Medium">Medium Risk</option>
+                        <option value="High">High Risk</option>
+                      </select>
                     </div>
                   </>
                 )}
@@ -759,7 +785,7 @@ const AdminPanel = ({ onLogout, theme, setTheme }) => {
                     <input className="input-field" placeholder="Full Name" value={formData.name || ''} onChange={e => setFormData({ ...formData, name: e.target.value })} required />
                     <input className="input-field" type="email" placeholder="Email" value={formData.email || ''} onChange={e => setFormData({ ...formData, email: e.target.value })} required />
                     <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '10px' }}>
-                      <input className="input-field" type="number" placeholder="Balance ($)" value={formData.balance || 0} onChange={e => setFormData({ ...formData, balance: parseFloat(e.target.value) })} />
+                      <input className="input-field" type="number" placeholder="Balance ($)" value={formData.balance || 0} onChange={e => setFormData({ ...formData, balance: parseFloat(e.target.value) })} disabled={!!editingItem} title={editingItem ? 'Opening balance only; it then moves with transactions' : undefined} />
                       <input className="input-field" type="number" placeholder="Income ($)" value={formData.monthlyIncome || 0} onChange={e => setFormData({ ...formData, monthlyIncome: parseFloat(e.target.value) })} />
                       <select className="input-field" value={formData.role || 'USER'} onChange={e => setFormData({ ...formData, role: e.target.value })}>
                         <option value="USER">User</option>
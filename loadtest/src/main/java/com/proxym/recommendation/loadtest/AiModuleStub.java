@@ -0,0 +1,131 @@
+package com.proxym.recommendation.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * In-process stand-in for the Python AI module, with the same contracts and
+ * labelling rules as {@code ai_module/stub_server.py}. Responses are delayed
+ * by a fixed latency plus uniform jitter; the delay is a scheduled send, not
+ * a sleeping thread, so the stub itself never becomes the bottleneck.
+ */
+final class AiModuleStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newFixedThreadPool(4);
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(2);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int latencyMs;
+    private final int jitterMs;
+
+    private AiModuleStub(int latencyMs, int jitterMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(handlers);
+        server.createContext("/recommend", exchange -> respond(exchange, AiModuleStub::recommend));
+        server.createContext("/recommend/batch", exchange -> respond(exchange, AiModuleStub::recommendBatch));
+        server.createContext("/chat", exchange -> respond(exchange,
+                request -> Map.of("response", "[stub] " + request.get("message"))));
+    }
+
+    static AiModuleStub start(int latencyMs, int jitterMs) throws IOException {
+        AiModuleStub stub = new AiModuleStub(latencyMs, jitterMs);
+        stub.server.start();
+        return stub;
+    }
+
+    URI baseUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, Function<Map<String, Object>, Object> handler) throws IOException {
+        byte[] body;
+        int status = 200;
+        try (InputStream in = exchange.getRequestBody()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> request = objectMapper.readValue(in, Map.class);
+            body = objectMapper.writeValueAsBytes(handler.apply(request));
+        } catch (RuntimeException | IOException e) {
+            status = 400;
+            body = objectMapper.writeValueAsBytes(Map.of("detail", String.valueOf(e.getMessage())));
+        }
+        int delayMs = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextInt(jitterMs + 1) : 0);
+        int code = status;
+        byte[] payload = body;
+        if (delayMs == 0) {
+            send(exchange, code, payload);
+        } else {
+            responder.schedule(() -> send(exchange, code, payload), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) {
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            out.write(body);
+        } catch (IOException e) {
+            exchange.close(); // Client gave up (read timeout); nothing left to do
+        }
+    }
+
+    private static Map<String, Object> recommend(Map<String, Object> user) {
+        return Map.of("prediction", determineTarget(user), "confidence", 1.0);
+    }
+
+    private static Map<String, Object> recommendBatch(Map<String, Object> request) {
+        List<Map<String, Object>> predictions = new ArrayList<>();
+        for (Object row : (List<?>) request.get("rows")) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> user = (Map<String, Object>) row;
+            predictions.add(recommend(user));
+        }
+        return Map.of("predictions", predictions);
+    }
+
+    private static String determineTarget(Map<String, Object> user) {
+        double balance = number(user, "balance");
+        if (balance > 50000 && number(user, "salary") > 80000 && number(user, "is_active") == 1) {
+            return "INVESTMENT";
+        }
+        if (balance < 5000 && number(user, "num_products") >= 2) {
+            return "LOAN";
+        }
+        if (balance > 20000 && balance < 50000) {
+            return "SAVINGS";
+        }
+        return "INSURANCE";
+    }
+
+    private static double number(Map<String, Object> user, String field) {
+        if (!(user.get(field) instanceof Number value)) {
+            throw new IllegalArgumentException("Missing numeric field: " + field);
+        }
+        return value.doubleValue();
+    }
+}
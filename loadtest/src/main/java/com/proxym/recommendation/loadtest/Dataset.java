@@ -0,0 +1,111 @@
+package com.proxym.recommendation.loadtest;
+
+import com.proxym.recommendation.cache.ProductCatalog;
+import com.proxym.recommendation.dto.ImportReportDTO;
+import com.proxym.recommendation.importer.ImportFormat;
+import com.proxym.recommendation.importer.TransactionImporter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic users, products and transaction history, written straight into
+ * the backend's database before the run. Every user shares one password so
+ * only a single BCrypt hash has to be computed.
+ */
+public record Dataset(long[] userIds, int hotUsers) {
+
+    static final String PASSWORD = "load-test-password";
+    static final String[] CATEGORIES = { "Food", "Rent", "Investment", "Insurance", "Transport", "Leisure" };
+
+    private static final String[] PRODUCT_TYPES = { "SAVINGS", "INVESTMENT", "LOAN", "INSURANCE" };
+    private static final String[] RISK_PROFILES = { "Low", "Medium", "High" };
+    private static final String[] GOALS = { "Savings", "Investment", "Loan" };
+    private static final int BATCH_SIZE = 1000;
+
+    static String email(int index) {
+        return "user" + index + "@load.test";
+    }
+
+    long randomUserId(Random random) {
+        return userIds[random.nextInt(userIds.length)];
+    }
+
+    /**
+     * Target of a transaction write: any user, or one of the first
+     * {@code --hot-users} to concentrate postings on a few balances.
+     */
+    long writeUserId(Random random) {
+        if (hotUsers <= 0) return randomUserId(random);
+        return userIds[random.nextInt(Math.min(hotUsers, userIds.length))];
+    }
+
+    static Dataset seed(ConfigurableApplicationContext context, LoadTestConfig config) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(config.seed());
+        seedUsers(jdbc, context.getBean(PasswordEncoder.class).encode(PASSWORD), config.users(), random);
+        seedProducts(jdbc, config.products());
+        context.getBean(ProductCatalog.class).reload();
+
+        long[] userIds = jdbc.queryForList("SELECT id FROM users ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+        seedTransactions(context.getBean(TransactionImporter.class), userIds, config.transactionsPerUser(), random);
+        return new Dataset(userIds, config.hotUsers());
+    }
+
+    private static void seedUsers(JdbcTemplate jdbc, String passwordHash, int count, Random random) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] { "Load User " + i, email(i), passwordHash, "USER", 20 + random.nextInt(50),
+                    1000 + random.nextInt(11_000) * 1.0, random.nextInt(1_000_000) / 10.0,
+                    RISK_PROFILES[random.nextInt(RISK_PROFILES.length)], GOALS[random.nextInt(GOALS.length)] });
+            if (rows.size() == BATCH_SIZE || i == count - 1) {
+                jdbc.batchUpdate("INSERT INTO users (name, email, password, role, age, monthly_income, balance, "
+                        + "risk_profile, financial_goals) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static void seedProducts(JdbcTemplate jdbc, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String type = PRODUCT_TYPES[i % PRODUCT_TYPES.length];
+            rows.add(new Object[] { type + " " + (i / PRODUCT_TYPES.length + 1), type, "Load test product",
+                    1.0 + i % 7, 100.0 * (1 + i % 10) });
+        }
+        jdbc.batchUpdate("INSERT INTO financial_products (name, type, description, interest_rate, minimum_entry) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Goes through the bulk importer so spending aggregates are maintained
+     * exactly as in production. Dates are spread over three years.
+     */
+    private static void seedTransactions(TransactionImporter importer, long[] userIds, int perUser, Random random) {
+        if (perUser <= 0) return;
+        LocalDate today = LocalDate.now();
+        StringBuilder csv = new StringBuilder("userId,amount,category,date\n");
+        for (long userId : userIds) {
+            for (int i = 0; i < perUser; i++) {
+                csv.append(userId).append(',')
+                        .append(random.nextInt(50_000) / 100.0).append(',')
+                        .append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append(',')
+                        .append(today.minusDays(random.nextInt(3 * 365))).append('\n');
+            }
+        }
+        ImportReportDTO report = importer.importFrom(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), ImportFormat.CSV,
+                "load test seed", 0);
+        if (!"COMPLETED".equals(report.getStatus())) {
+            throw new IllegalStateException("Seeding transactions failed: " + report.getError());
+        }
+    }
+}
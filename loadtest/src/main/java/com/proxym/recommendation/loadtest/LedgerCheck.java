@@ -0,0 +1,65 @@
+package com.proxym.recommendation.loadtest;
+
+import com.proxym.recommendation.service.BalanceService;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Balance ledger invariant: a posting lowers the balance by exactly the
+ * amount it adds to the user's transactions, so per user the balance plus the
+ * sum of their transaction amounts never changes. Captured after seeding and
+ * compared once the load has drained; a difference is a lost or doubled
+ * balance update.
+ */
+final class LedgerCheck {
+
+    private static final String QUERY = "SELECT u.id, COALESCE(u.balance, 0) + COALESCE("
+            + "(SELECT SUM(t.amount) FROM transactions t WHERE t.user_id = u.id), 0) FROM users u";
+    private static final double TOLERANCE = 0.005; // Balances are doubles; cents must still match
+    private static final int MAX_REPORTED = 10;
+
+    private final ConfigurableApplicationContext backend;
+    private final Map<Long, Double> before;
+
+    private LedgerCheck(ConfigurableApplicationContext backend, Map<Long, Double> before) {
+        this.backend = backend;
+        this.before = before;
+    }
+
+    static LedgerCheck capture(ConfigurableApplicationContext backend) {
+        return new LedgerCheck(backend, read(backend.getBean(JdbcTemplate.class)));
+    }
+
+    /**
+     * Flushes coalesced balance deltas first, then compares every user.
+     */
+    boolean verify(PrintStream out) {
+        backend.getBean(BalanceService.class).flushPending();
+        Map<Long, Double> after = read(backend.getBean(JdbcTemplate.class));
+        int mismatches = 0;
+        for (Map.Entry<Long, Double> entry : before.entrySet()) {
+            double expected = entry.getValue();
+            double actual = after.getOrDefault(entry.getKey(), Double.NaN);
+            if (!(Math.abs(actual - expected) <= TOLERANCE)) {
+                if (mismatches < MAX_REPORTED) {
+                    out.printf("  user %d: balance + spending was %.2f, now %.2f%n", entry.getKey(), expected, actual);
+                }
+                mismatches++;
+            }
+        }
+        out.printf("%nBalance ledger: %d users checked, %d mismatches%n", before.size(), mismatches);
+        return mismatches == 0;
+    }
+
+    private static Map<Long, Double> read(JdbcTemplate jdbc) {
+        Map<Long, Double> values = new HashMap<>();
+        jdbc.query(QUERY, rs -> {
+            values.put(rs.getLong(1), rs.getDouble(2));
+        });
+        return values;
+    }
+}
@@ -0,0 +1,112 @@
+package com.proxym.recommendation.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}. Options this class
+ * does not know are handed to the backend as Spring properties, so e.g.
+ * {@code --recommendation.cache.max-size=0} works as expected.
+ */
+public record LoadTestConfig(
+        List<Integer> rates,
+        int durationSeconds,
+        int warmupSeconds,
+        Map<Scenario, Integer> mix,
+        int users,
+        int transactionsPerUser,
+        int products,
+        int hotUsers,
+        int aiLatencyMs,
+        int aiJitterMs,
+        int maxInFlight,
+        long seed,
+        String label,
+        Path outputDir,
+        List<String> backendArgs) {
+
+    static final String USAGE = """
+            Options (defaults in brackets):
+              --rates=50,100,200      arrival rates in requests/s, one measured step each [50,100,200,400]
+              --duration=30           seconds per step [30]
+              --warmup=15             seconds at the first rate before measuring [15]
+              --mix=login:5,recommendation:50,transaction-write:15,transaction-list:30
+                                      relative weight of each scenario
+              --users=10000           seeded users [10000]
+              --transactions-per-user=20  seeded history per user [20]
+              --products=40           seeded products [40]
+              --hot-users=0           aim transaction writes at the first N users only, 0 for all [0]
+              --ai-latency-ms=20      stub AI module response time [20]
+              --ai-jitter-ms=10       extra uniform random delay on top [10]
+              --max-in-flight=2000    outstanding requests before arrivals are dropped [2000]
+              --seed=1                random seed for data and arrivals [1]
+              --label=dev             free text stored with the results, e.g. a release [dev]
+              --output=target/loadtest  results directory [target/loadtest]
+            Any other --name=value is passed to the backend as a Spring property.
+            """;
+
+    private static final List<String> KNOWN = List.of("rates", "duration", "warmup", "mix", "users",
+            "transactions-per-user", "products", "hot-users", "ai-latency-ms", "ai-jitter-ms", "max-in-flight", "seed", "label",
+            "output");
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> backendArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (KNOWN.contains(name)) {
+                options.put(name, arg.substring(eq + 1));
+            } else {
+                backendArgs.add(arg);
+            }
+        }
+        return new LoadTestConfig(
+                Arrays.stream(options.getOrDefault("rates", "50,100,200,400").split(","))
+                        .map(String::trim).map(Integer::parseInt).toList(),
+                intOption(options, "duration", 30),
+                intOption(options, "warmup", 15),
+                parseMix(options.getOrDefault("mix",
+                        "login:5,recommendation:50,transaction-write:15,transaction-list:30")),
+                intOption(options, "users", 10_000),
+                intOption(options, "transactions-per-user", 20),
+                intOption(options, "products", 40),
+                intOption(options, "hot-users", 0),
+                intOption(options, "ai-latency-ms", 20),
+                intOption(options, "ai-jitter-ms", 10),
+                intOption(options, "max-in-flight", 2000),
+                Long.parseLong(options.getOrDefault("seed", "1")),
+                options.getOrDefault("label", "dev"),
+                Path.of(options.getOrDefault("output", "target/loadtest")),
+                List.copyOf(backendArgs));
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static Map<Scenario, Integer> parseMix(String value) {
+        Map<Scenario, Integer> mix = new EnumMap<>(Scenario.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected scenario:weight in --mix but got: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) mix.put(Scenario.fromName(pair[0].trim()), weight);
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one scenario with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,90 @@
+package com.proxym.recommendation.loadtest;
+
+import com.proxym.recommendation.RecommendationApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the backend in this JVM against an in-memory H2 database and an
+ * in-process AI module stub, seeds it, then offers each configured arrival
+ * rate in turn. Run with {@code mvn exec:exec -Dloadtest.args="..."};
+ * {@code --help} lists the options.
+ * <p>
+ * Generator and server share the machine, so absolute numbers are only
+ * comparable between runs on the same hardware; the saturation point (the
+ * step where ok/s stops following the offered rate and p99 climbs) is the
+ * number to track from release to release.
+ * <p>
+ * After the last step the balance ledger invariant is checked (see
+ * {@link LedgerCheck}); a violation makes the run exit with status 1.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && List.of("help", "--help", "-h").contains(args[0])) {
+            System.out.print(LoadTestConfig.USAGE);
+            return;
+        }
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        boolean ledgerConsistent;
+
+        try (AiModuleStub stub = AiModuleStub.start(config.aiLatencyMs(), config.aiJitterMs());
+                ConfigurableApplicationContext backend = startBackend(config, stub)) {
+            System.out.printf("Seeding %d users, %d transactions, %d products...%n", config.users(),
+                    (long) config.users() * config.transactionsPerUser(), config.products());
+            Dataset data = Dataset.seed(backend, config);
+            LedgerCheck ledger = LedgerCheck.capture(backend);
+            URI baseUri = URI.create("http://127.0.0.1:"
+                    + backend.getEnvironment().getRequiredProperty("local.server.port"));
+
+            LoadTestReport report = new LoadTestReport(config, System.out);
+            try (OpenLoadGenerator generator = new OpenLoadGenerator(baseUri, data, config.mix(),
+                    config.maxInFlight(), config.seed())) {
+                if (config.warmupSeconds() > 0) {
+                    System.out.printf("Warming up at %d req/s for %d s...%n", config.rates().get(0),
+                            config.warmupSeconds());
+                    generator.run(config.rates().get(0), Duration.ofSeconds(config.warmupSeconds()));
+                }
+                for (int rate : config.rates()) {
+                    report.add(generator.run(rate, Duration.ofSeconds(config.durationSeconds())));
+                }
+            }
+            report.write();
+            ledgerConsistent = ledger.verify(System.out);
+        }
+        if (!ledgerConsistent) System.exit(1);
+    }
+
+    private static ConfigurableApplicationContext startBackend(LoadTestConfig config, AiModuleStub stub) {
+        // Defaults first, then the caller's overrides; Spring would join repeated options into a list
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("spring.profiles.active", "plain-logs");
+        properties.put("logging.level.root", "WARN");
+        properties.put("maintenance.password-migration.enabled", "false");
+        properties.put("ai.module.url", stub.baseUri().resolve("/recommend").toString());
+        properties.put("ai.module.batch-url", stub.baseUri().resolve("/recommend/batch").toString());
+        for (String arg : config.backendArgs()) {
+            int eq = arg.indexOf('=');
+            properties.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new SpringApplicationBuilder(RecommendationApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                        .toArray(String[]::new));
+    }
+}
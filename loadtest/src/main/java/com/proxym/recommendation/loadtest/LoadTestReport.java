@@ -0,0 +1,123 @@
+package com.proxym.recommendation.loadtest;
+
+import com.proxym.recommendation.loadtest.OpenLoadGenerator.StepResult;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints one table per step and writes, per run:
+ * <ul>
+ *   <li>{@code summary.csv}: one row per step and scenario (plus an "all"
+ *   row), labelled with {@code --label} so releases can be compared;</li>
+ *   <li>{@code latency.hlog}: the full HdrHistogram of every step and
+ *   scenario, tagged {@code <rate>/<scenario>}, for HistogramLogProcessor
+ *   or the HdrHistogram plotter.</li>
+ * </ul>
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String ALL = "all";
+
+    private final LoadTestConfig config;
+    private final PrintStream out;
+    private final List<StepResult> steps = new ArrayList<>();
+
+    LoadTestReport(LoadTestConfig config, PrintStream out) {
+        this.config = config;
+        this.out = out;
+    }
+
+    void add(StepResult step) {
+        steps.add(step);
+        out.printf(Locale.ROOT, "%nOffered %d req/s for %d s%n", step.ratePerSecond(), step.duration().toSeconds());
+        out.printf(Locale.ROOT, "%-18s %10s %10s %8s %8s %9s %9s %9s %9s%n",
+                "scenario", "offered/s", "ok/s", "errors", "dropped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Row row : rows(step)) {
+            out.printf(Locale.ROOT, "%-18s %10.1f %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f%n",
+                    row.scenario, row.offered, row.achieved, row.errors, row.dropped,
+                    millis(row.latency, 50), millis(row.latency, 99), millis(row.latency, 99.9),
+                    row.latency.getMaxValue() / MICROS_PER_MILLI);
+        }
+        step.scenarios().forEach((scenario, result) -> {
+            if (!result.errorsByCause().isEmpty()) {
+                out.printf("  %s errors: %s%n", scenario.displayName(), result.errorsByCause());
+            }
+        });
+    }
+
+    void write() throws IOException {
+        Files.createDirectories(config.outputDir());
+        Path summary = config.outputDir().resolve("summary.csv");
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(summary))) {
+            csv.println("label,rate,scenario,offered_per_s,ok_per_s,ok,errors,dropped,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+            for (StepResult step : steps) {
+                for (Row row : rows(step)) {
+                    csv.printf(Locale.ROOT, "%s,%d,%s,%.2f,%.2f,%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                            config.label(), step.ratePerSecond(), row.scenario, row.offered, row.achieved,
+                            row.latency.getTotalCount(), row.errors, row.dropped, millis(row.latency, 50),
+                            millis(row.latency, 90), millis(row.latency, 99), millis(row.latency, 99.9),
+                            row.latency.getMaxValue() / MICROS_PER_MILLI);
+                }
+            }
+        }
+
+        Path hlog = config.outputDir().resolve("latency.hlog");
+        try (PrintStream file = new PrintStream(Files.newOutputStream(hlog), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(file);
+            writer.outputComment("label=" + config.label() + ", values in microseconds");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (StepResult step : steps) {
+                step.scenarios().forEach((scenario, result) -> {
+                    result.latency().setTag(step.ratePerSecond() + "/" + scenario.displayName());
+                    writer.outputIntervalHistogram(result.latency());
+                });
+            }
+        }
+        out.printf("%nResults written to %s and %s%n", summary.toAbsolutePath(), hlog.toAbsolutePath());
+    }
+
+    private List<Row> rows(StepResult step) {
+        double seconds = step.duration().toMillis() / 1000.0;
+        int totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        List<Row> rows = new ArrayList<>();
+        Histogram all = null;
+        long allErrors = 0;
+        long allDropped = 0;
+        for (Map.Entry<Scenario, StepResult.ScenarioResult> entry : step.scenarios().entrySet()) {
+            StepResult.ScenarioResult result = entry.getValue();
+            double offered = step.ratePerSecond() * (double) config.mix().get(entry.getKey()) / totalWeight;
+            rows.add(new Row(entry.getKey().displayName(), offered, result.latency().getTotalCount() / seconds,
+                    result.errors(), result.dropped(), result.latency()));
+            if (all == null) {
+                all = result.latency().copy();
+            } else {
+                all.add(result.latency());
+            }
+            allErrors += result.errors();
+            allDropped += result.dropped();
+        }
+        rows.add(new Row(ALL, step.ratePerSecond(), all.getTotalCount() / seconds, allErrors, allDropped, all));
+        return rows;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private record Row(String scenario, double offered, double achieved, long errors, long dropped,
+            Histogram latency) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.proxym.recommendation.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive as a Poisson process at the given rate
+ * whether or not earlier ones have completed, as real clients do. Latency is
+ * measured from the scheduled arrival time, not from when the request was
+ * actually sent, so a stalled generator or server cannot hide queueing delay
+ * (no coordinated omission). Arrivals beyond {@code maxInFlight} outstanding
+ * requests are counted as dropped instead of being queued.
+ */
+final class OpenLoadGenerator implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(35);
+
+    private final ExecutorService clientExecutor = Executors.newFixedThreadPool(8);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+    private final URI baseUri;
+    private final Dataset data;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    private final int maxInFlight;
+    private final Random random;
+    private final Map<Scenario, Stats> stats = new EnumMap<>(Scenario.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoadGenerator(URI baseUri, Dataset data, Map<Scenario, Integer> mix, int maxInFlight, long seed) {
+        this.baseUri = baseUri;
+        this.data = data;
+        this.maxInFlight = maxInFlight;
+        this.random = new Random(seed);
+        this.scenarios = mix.keySet().toArray(Scenario[]::new);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += mix.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+            stats.put(scenarios[i], new Stats());
+        }
+    }
+
+    /**
+     * Offers {@code ratePerSecond} for {@code duration}, then waits for the
+     * outstanding requests so every arrival of the step is accounted for.
+     */
+    StepResult run(int ratePerSecond, Duration duration) throws InterruptedException {
+        stats.values().forEach(Stats::reset);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / (double) ratePerSecond;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long arrival = start;
+        while (true) {
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (arrival >= end) break;
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            issue(pickScenario(), arrival);
+        }
+        drain();
+
+        Map<Scenario, StepResult.ScenarioResult> results = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : scenarios) {
+            Stats s = stats.get(scenario);
+            Map<String, Long> errors = new TreeMap<>();
+            s.errors.forEach((cause, count) -> errors.put(cause, count.sum()));
+            results.put(scenario, new StepResult.ScenarioResult(s.latency.getIntervalHistogram(), errors,
+                    s.dropped.sum()));
+        }
+        return new StepResult(ratePerSecond, duration, results);
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    private void issue(Scenario scenario, long intendedNanos) {
+        Stats s = stats.get(scenario);
+        if (inFlight.get() >= maxInFlight) {
+            s.dropped.increment();
+            return;
+        }
+        HttpRequest request = scenario.request(baseUri, data, random);
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+            if (error != null) {
+                s.recordError(cause(error));
+            } else if (response.statusCode() >= 400) {
+                s.recordError(String.valueOf(response.statusCode()));
+            } else {
+                s.latency.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private Scenario pickScenario() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) return scenarios[i];
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private static String cause(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName();
+    }
+
+    private void drain() throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class Stats {
+        final Recorder latency = new Recorder(1, HIGHEST_TRACKABLE_MICROS, 3);
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>(); // By status code or exception
+        final LongAdder dropped = new LongAdder();
+
+        void recordError(String cause) {
+            errors.computeIfAbsent(cause, key -> new LongAdder()).increment();
+        }
+
+        void reset() {
+            latency.getIntervalHistogram(); // Discards what was recorded so far
+            errors.clear();
+            dropped.reset();
+        }
+    }
+
+    /**
+     * Outcome of one rate step; latencies of successful requests in microseconds.
+     */
+    record StepResult(int ratePerSecond, Duration duration, Map<Scenario, ScenarioResult> scenarios) {
+
+        record ScenarioResult(Histogram latency, Map<String, Long> errorsByCause, long dropped) {
+
+            long errors() {
+                return errorsByCause.values().stream().mapToLong(Long::longValue).sum();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.proxym.recommendation.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * One request type of the mixed workload, aimed at a uniformly random seeded user.
+ */
+public enum Scenario {
+
+    /** {@code POST /api/auth/login}: one BCrypt verification on the hashing pool. */
+    LOGIN {
+        @Override
+        HttpRequest request(URI base, Dataset data, Random random) {
+            int user = random.nextInt(data.userIds().length);
+            return json(base.resolve("/api/auth/login"), "{\"email\":\"" + Dataset.email(user)
+                    + "\",\"password\":\"" + Dataset.PASSWORD + "\"}");
+        }
+    },
+
+    /** {@code GET /api/recommendations/{userId}}: feature store, caches and the stub AI module. */
+    RECOMMENDATION {
+        @Override
+        HttpRequest request(URI base, Dataset data, Random random) {
+            return get(base.resolve("/api/recommendations/" + data.randomUserId(random)));
+        }
+    },
+
+    /** {@code POST /api/transactions}: insert, spending aggregate upsert and balance update. */
+    TRANSACTION_WRITE {
+        @Override
+        HttpRequest request(URI base, Dataset data, Random random) {
+            String body = String.format(Locale.ROOT,
+                    "{\"user\":{\"id\":%d},\"amount\":%.2f,\"category\":\"%s\",\"date\":\"%s\",\"description\":\"Load test\"}",
+                    data.writeUserId(random), random.nextInt(50_000) / 100.0,
+                    Dataset.CATEGORIES[random.nextInt(Dataset.CATEGORIES.length)],
+                    LocalDateTime.now().withNano(0));
+            return json(base.resolve("/api/transactions"), body);
+        }
+    },
+
+    /** {@code GET /api/transactions/user/{userId}/page}: first keyset page of a user's history. */
+    TRANSACTION_LIST {
+        @Override
+        HttpRequest request(URI base, Dataset data, Random random) {
+            return get(base.resolve("/api/transactions/user/" + data.randomUserId(random) + "/page?size=20"));
+        }
+    };
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    abstract HttpRequest request(URI base, Dataset data, Random random);
+
+    /**
+     * Accepts the names used on the command line, e.g. {@code transaction-write}.
+     */
+    public static Scenario fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown scenario: " + name);
+        }
+    }
+
+    public String displayName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+    }
+
+    private static HttpRequest json(URI uri, String body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}